@@ -0,0 +1,69 @@
+package db.migration;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+/**
+ * Adds the organization indexes used by the sector lookup and the active and
+ * per-creator list queries. Databases that ran with ddl-auto=update may
+ * already have the list indexes from the entity mapping, and MySQL has no
+ * CREATE INDEX IF NOT EXISTS, so each index is created only when no index of
+ * that name is present on the table.
+ */
+public class V3__organization_query_indexes extends BaseJavaMigration {
+
+	private static final String TABLE = "organization";
+
+	private static final Map<String, String> INDEXES = new LinkedHashMap<>();
+
+	static {
+		// Bulk reassignment by current sector: WHERE sector_id = ?.
+		INDEXES.put("idx_organization_sector", "sector_id");
+		// Active organization list, its count and the streamed export:
+		// WHERE is_active = ? ORDER BY organization_name.
+		INDEXES.put("idx_organization_active_name", "is_active, organization_name, organization_id");
+		// Organizations created by a user: WHERE created_by = ? AND is_active = ?.
+		INDEXES.put("idx_organization_creator_active_name",
+				"created_by, is_active, organization_name, organization_id");
+	}
+
+	@Override
+	public void migrate(Context context) throws SQLException {
+		Connection connection = context.getConnection();
+		Set<String> existing = indexNames(connection);
+		try (Statement statement = connection.createStatement()) {
+			for (Map.Entry<String, String> index : INDEXES.entrySet()) {
+				if (!existing.contains(index.getKey())) {
+					statement.execute("CREATE INDEX " + index.getKey() + " ON " + TABLE + " (" + index.getValue() + ")");
+				}
+			}
+		}
+	}
+
+	private static Set<String> indexNames(Connection connection) throws SQLException {
+		DatabaseMetaData metaData = connection.getMetaData();
+		String table = metaData.storesUpperCaseIdentifiers() ? TABLE.toUpperCase(Locale.ROOT) : TABLE;
+		Set<String> names = new HashSet<>();
+		try (ResultSet indexes = metaData.getIndexInfo(connection.getCatalog(), connection.getSchema(), table, false,
+				true)) {
+			while (indexes.next()) {
+				String name = indexes.getString("INDEX_NAME");
+				if (name != null) {
+					names.add(name.toLowerCase(Locale.ROOT));
+				}
+			}
+		}
+		return names;
+	}
+}
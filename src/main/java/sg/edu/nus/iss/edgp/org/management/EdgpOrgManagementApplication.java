@@ -2,8 +2,10 @@ package sg.edu.nus.iss.edgp.org.management;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class EdgpOrgManagementApplication {
 
 	public static void main(String[] args) {
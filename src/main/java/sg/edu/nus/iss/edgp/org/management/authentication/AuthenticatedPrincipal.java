@@ -0,0 +1,69 @@
+package sg.edu.nus.iss.edgp.org.management.authentication;
+
+import java.security.Principal;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import io.jsonwebtoken.Claims;
+import lombok.Builder;
+import lombok.Getter;
+import sg.edu.nus.iss.edgp.org.management.service.impl.JwtService;
+
+/**
+ * Claims of the verified bearer token, built once by {@link JwtFilter} and
+ * stored as a request attribute for controllers, validation and audit.
+ */
+@Getter
+@Builder
+public class AuthenticatedPrincipal implements Principal {
+
+	public static final String REQUEST_ATTRIBUTE = "authenticatedPrincipal";
+
+	private final String userId;
+	private final String email;
+	private final String userName;
+	private final String orgId;
+	@Builder.Default
+	private final Set<String> scopes = Collections.emptySet();
+	private final Date expiration;
+
+	public static AuthenticatedPrincipal fromClaims(Claims claims) {
+		return AuthenticatedPrincipal.builder().userId(claims.getSubject())
+				.email(claims.get(JwtService.USER_EMAIL, String.class))
+				.userName(claims.get(JwtService.USER_NAME, String.class))
+				.orgId(claims.get(JwtService.ORG_ID, String.class))
+				.scopes(parseScopes(claims.get(JwtService.SCOPE, String.class)))
+				.expiration(claims.getExpiration()).build();
+	}
+
+	public static AuthenticatedPrincipal current() {
+		RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+		if (attributes == null) {
+			return null;
+		}
+		return (AuthenticatedPrincipal) attributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+	}
+
+	@Override
+	public String getName() {
+		return userId;
+	}
+
+	public boolean hasScopeContaining(String value) {
+		String lowerCaseValue = value.toLowerCase();
+		return scopes.stream().anyMatch(scope -> scope.toLowerCase().contains(lowerCaseValue));
+	}
+
+	private static Set<String> parseScopes(String scope) {
+		if (scope == null || scope.isBlank()) {
+			return Collections.emptySet();
+		}
+		return Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(scope.trim().split("\\s+"))));
+	}
+}
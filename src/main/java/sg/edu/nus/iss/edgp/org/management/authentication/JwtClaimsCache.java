@@ -0,0 +1,81 @@
+package sg.edu.nus.iss.edgp.org.management.authentication;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Caches the verified claims of a bearer token so the RSA signature is checked
+ * once per token instead of once per claim lookup. Entries are keyed by the
+ * SHA-256 digest of the token and are evicted at the token's expiry.
+ */
+@Component
+public class JwtClaimsCache {
+
+	public static final String CACHE_NAME = "jwtClaims";
+	private static final long MAX_TTL_NANOS = TimeUnit.HOURS.toNanos(1);
+
+	private final Cache<String, Claims> cache;
+
+	public JwtClaimsCache(@Value("${jwt.claims.cache.max-size}") long maxSize, MeterRegistry meterRegistry) {
+		this.cache = Caffeine.newBuilder().maximumSize(maxSize).expireAfter(new ClaimsExpiry()).recordStats()
+				.build();
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+	}
+
+	public Claims get(String token, Function<String, Claims> verifier) {
+		return cache.get(digest(token), key -> verifier.apply(token));
+	}
+
+	public void invalidateAll() {
+		cache.invalidateAll();
+	}
+
+	private static String digest(String token) {
+		try {
+			MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+			byte[] hash = messageDigest.digest(token.getBytes(StandardCharsets.UTF_8));
+			return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+
+	private static class ClaimsExpiry implements Expiry<String, Claims> {
+
+		@Override
+		public long expireAfterCreate(String key, Claims claims, long currentTime) {
+			Date expiration = claims.getExpiration();
+			if (expiration == null) {
+				return MAX_TTL_NANOS;
+			}
+			long remainingMillis = expiration.getTime() - System.currentTimeMillis();
+			return Math.max(0, Math.min(TimeUnit.MILLISECONDS.toNanos(remainingMillis), MAX_TTL_NANOS));
+		}
+
+		@Override
+		public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
+
+		@Override
+		public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
+	}
+}
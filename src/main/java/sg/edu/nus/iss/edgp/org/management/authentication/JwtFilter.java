@@ -1,8 +1,12 @@
 package sg.edu.nus.iss.edgp.org.management.authentication;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -17,6 +21,7 @@ import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import sg.edu.nus.iss.edgp.org.management.dto.AuditDTO;
+import sg.edu.nus.iss.edgp.org.management.exception.AdminServiceUnavailableException;
 import sg.edu.nus.iss.edgp.org.management.service.impl.AuditService;
 import sg.edu.nus.iss.edgp.org.management.service.impl.JwtService;
 import sg.edu.nus.iss.edgp.org.management.utility.JwtTokenErrorResponse;
@@ -25,21 +30,22 @@ import sg.edu.nus.iss.edgp.org.management.utility.JwtTokenErrorResponse;
 @RequiredArgsConstructor
 public class JwtFilter extends OncePerRequestFilter {
 
+	private static final String SCOPE_AUTHORITY_PREFIX = "SCOPE_";
+
 	private final JwtService jwtService;
 	private final AuditService auditLogService;
-	private String authorizationHeader;
 
 	@Override
 	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
 			throws ServletException, IOException {
 
-		 authorizationHeader = request.getHeader("Authorization");
+		 String authorizationHeader = request.getHeader("Authorization");
 		 AuditDTO auditDTO = auditLogService.createAuditDTO("", request.getRequestURI(), request.getMethod());
 
 
 		if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
 			handleErrorResponse(response, "Authorization header is missing or invalid.",
-					HttpServletResponse.SC_UNAUTHORIZED, auditDTO);
+					HttpServletResponse.SC_UNAUTHORIZED, auditDTO, authorizationHeader);
 			return;
 		}
 
@@ -47,22 +53,27 @@ public class JwtFilter extends OncePerRequestFilter {
 		try {
 			UserDetails userDetails = jwtService.getUserDetail(authorizationHeader, jwtToken);
 			if (jwtService.validateToken(jwtToken, userDetails)) {
+				AuthenticatedPrincipal principal = AuthenticatedPrincipal.fromClaims(jwtService.extractAllClaims(jwtToken));
 				UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
-						userDetails, null, userDetails.getAuthorities());
+						principal, null, buildAuthorities(principal, userDetails));
 				authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 				SecurityContextHolder.getContext().setAuthentication(authentication);
+				request.setAttribute(AuthenticatedPrincipal.REQUEST_ATTRIBUTE, principal);
 			} else {
-				handleErrorResponse(response, "Invalid or expired JWT token", HttpServletResponse.SC_UNAUTHORIZED, auditDTO);
+				handleErrorResponse(response, "Invalid or expired JWT token", HttpServletResponse.SC_UNAUTHORIZED, auditDTO, authorizationHeader);
 				return;
 			}
+		} catch (AdminServiceUnavailableException e) {
+			handleErrorResponse(response, e.getMessage(), HttpServletResponse.SC_SERVICE_UNAVAILABLE, auditDTO, authorizationHeader);
+			return;
 		} catch (ExpiredJwtException e) {
-			handleErrorResponse(response, "JWT token is expired", HttpServletResponse.SC_UNAUTHORIZED, auditDTO);
+			handleErrorResponse(response, "JWT token is expired", HttpServletResponse.SC_UNAUTHORIZED, auditDTO, authorizationHeader);
 			return;
 		} catch (MalformedJwtException | SecurityException e) {
-			handleErrorResponse(response, "Invalid JWT token", HttpServletResponse.SC_UNAUTHORIZED, auditDTO);
+			handleErrorResponse(response, "Invalid JWT token", HttpServletResponse.SC_UNAUTHORIZED, auditDTO, authorizationHeader);
 			return;
 		} catch (Exception e) {
-			handleErrorResponse(response, e.getMessage(), HttpServletResponse.SC_UNAUTHORIZED, auditDTO);
+			handleErrorResponse(response, e.getMessage(), HttpServletResponse.SC_UNAUTHORIZED, auditDTO, authorizationHeader);
 			return;
 		}
 
@@ -70,7 +81,19 @@ public class JwtFilter extends OncePerRequestFilter {
 
 	}
 
-	private void handleErrorResponse(HttpServletResponse response, String message, int status, AuditDTO auditDTO) throws IOException {
+	private List<GrantedAuthority> buildAuthorities(AuthenticatedPrincipal principal, UserDetails userDetails) {
+		List<GrantedAuthority> authorities = new ArrayList<>();
+		if (userDetails.getAuthorities() != null) {
+			authorities.addAll(userDetails.getAuthorities());
+		}
+		for (String scope : principal.getScopes()) {
+			authorities.add(new SimpleGrantedAuthority(SCOPE_AUTHORITY_PREFIX + scope));
+		}
+		return authorities;
+	}
+
+	private void handleErrorResponse(HttpServletResponse response, String message, int status, AuditDTO auditDTO,
+			String authorizationHeader) throws IOException {
 		auditLogService.logAudit(auditDTO, status, message, authorizationHeader);
 		JwtTokenErrorResponse.sendErrorResponse(response, message, status);
 	}
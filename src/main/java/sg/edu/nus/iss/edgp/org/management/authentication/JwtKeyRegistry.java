@@ -0,0 +1,171 @@
+package sg.edu.nus.iss.edgp.org.management.authentication;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.PublicKey;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import sg.edu.nus.iss.edgp.org.management.configuration.JwtConfig;
+
+/**
+ * Public keys for JWT verification indexed by the {@code kid} header. The
+ * {@code jwt.public.key} property is registered as {@value #DEFAULT_KEY_ID};
+ * further keys are read from {@code jwt.public.key.location}, a key file or a
+ * directory of {@code <kid>.pem} files, and reloaded when they change. Each
+ * reload publishes a new immutable snapshot, so verification never locks.
+ */
+@Component
+public class JwtKeyRegistry extends LocatorAdapter<Key> {
+
+	private static final Logger logger = LoggerFactory.getLogger(JwtKeyRegistry.class);
+
+	public static final String DEFAULT_KEY_ID = "default";
+	private static final List<String> KEY_FILE_EXTENSIONS = List.of(".pem", ".pub", ".key");
+
+	private final JwtConfig jwtConfig;
+	private final JwtClaimsCache claimsCache;
+	private final JwtParser parser;
+	private final AtomicReference<Map<String, PublicKey>> keys = new AtomicReference<>(Collections.emptyMap());
+	private volatile String loadedFingerprint;
+
+	public JwtKeyRegistry(JwtConfig jwtConfig, JwtClaimsCache claimsCache, MeterRegistry meterRegistry) {
+		this.jwtConfig = jwtConfig;
+		this.claimsCache = claimsCache;
+		this.parser = Jwts.parser().keyLocator(this).build();
+		Gauge.builder("jwt.public.keys", keys, snapshot -> snapshot.get().size())
+				.description("JWT verification keys currently loaded").register(meterRegistry);
+		reload();
+	}
+
+	/**
+	 * Shared, immutable parser that resolves verification keys through this
+	 * registry.
+	 */
+	public JwtParser getParser() {
+		return parser;
+	}
+
+	public Map<String, PublicKey> getKeys() {
+		return keys.get();
+	}
+
+	@Scheduled(fixedDelayString = "${jwt.public.key.reload-interval-ms}")
+	public void reload() {
+		String location = jwtConfig.getJwtPublicKeyLocation();
+		List<Path> keyFiles = listKeyFiles(location);
+		String fingerprint = fingerprint(keyFiles);
+		if (fingerprint.equals(loadedFingerprint)) {
+			return;
+		}
+
+		Map<String, PublicKey> loaded = new HashMap<>();
+		String defaultKey = jwtConfig.getJWTPubliceKey();
+		if (defaultKey != null && !defaultKey.isBlank()) {
+			try {
+				loaded.put(DEFAULT_KEY_ID, JwtConfig.decodePublicKey(defaultKey));
+			} catch (GeneralSecurityException e) {
+				logger.error("Configured jwt.public.key is not a valid RSA public key: {}", e.getMessage());
+			}
+		}
+		for (Path keyFile : keyFiles) {
+			try {
+				String encodedKey = Files.readString(keyFile, StandardCharsets.US_ASCII);
+				loaded.put(keyId(keyFile), JwtConfig.decodePublicKey(encodedKey));
+			} catch (IOException | GeneralSecurityException e) {
+				logger.error("Skipping JWT public key file {}: {}", keyFile, e.getMessage());
+			}
+		}
+
+		Map<String, PublicKey> previous = keys.getAndSet(Map.copyOf(loaded));
+		loadedFingerprint = fingerprint;
+		if (!loaded.entrySet().containsAll(previous.entrySet())) {
+			claimsCache.invalidateAll();
+		}
+		logger.info("Loaded JWT public keys {}", loaded.keySet());
+	}
+
+	/**
+	 * Resolves the key for the token's {@code kid}. A missing or unknown
+	 * {@code kid} falls back to the default key, so tokens from issuers that
+	 * do not set the header keep verifying; the signature check still rejects
+	 * them unless they were signed with that key.
+	 */
+	@Override
+	protected Key locate(JwsHeader header) {
+		Map<String, PublicKey> snapshot = keys.get();
+		String keyId = header.getKeyId();
+		PublicKey key = keyId != null ? snapshot.get(keyId) : null;
+		if (key == null) {
+			key = snapshot.get(DEFAULT_KEY_ID);
+		}
+		if (key == null) {
+			throw new UnsupportedJwtException("No public key registered for kid '" + keyId + "'");
+		}
+		return key;
+	}
+
+	private static List<Path> listKeyFiles(String location) {
+		if (location == null || location.isBlank()) {
+			return Collections.emptyList();
+		}
+		Path path = Paths.get(location);
+		if (Files.isRegularFile(path)) {
+			return List.of(path);
+		}
+		if (!Files.isDirectory(path)) {
+			logger.error("JWT public key location {} does not exist", location);
+			return Collections.emptyList();
+		}
+		try (Stream<Path> files = Files.list(path)) {
+			return files.filter(Files::isRegularFile).filter(JwtKeyRegistry::isKeyFile).sorted()
+					.collect(Collectors.toList());
+		} catch (IOException e) {
+			logger.error("Unable to list JWT public keys in {}: {}", location, e.getMessage());
+			return Collections.emptyList();
+		}
+	}
+
+	private static boolean isKeyFile(Path path) {
+		String fileName = path.getFileName().toString();
+		return KEY_FILE_EXTENSIONS.stream().anyMatch(fileName::endsWith);
+	}
+
+	private static String keyId(Path keyFile) {
+		String fileName = keyFile.getFileName().toString();
+		int extension = fileName.lastIndexOf('.');
+		return extension > 0 ? fileName.substring(0, extension) : fileName;
+	}
+
+	private static String fingerprint(List<Path> keyFiles) {
+		return keyFiles.stream().map(path -> {
+			try {
+				return path + ":" + Files.getLastModifiedTime(path).toMillis() + ":" + Files.size(path);
+			} catch (IOException e) {
+				return path + ":unreadable";
+			}
+		}).collect(Collectors.joining("|", keyFiles.size() + "|", ""));
+	}
+}
@@ -0,0 +1,8 @@
+package sg.edu.nus.iss.edgp.org.management.aws.service;
+
+/**
+ * An encoded SQS message body with its UTF-8 length, computed once by the
+ * encoder so batching never has to measure the body again.
+ */
+public record AuditMessage(String body, int bytes) {
+}
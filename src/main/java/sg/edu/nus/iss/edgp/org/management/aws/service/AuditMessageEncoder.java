@@ -0,0 +1,248 @@
+package sg.edu.nus.iss.edgp.org.management.aws.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+
+import sg.edu.nus.iss.edgp.org.management.dto.AuditDTO;
+
+/**
+ * Serializes {@link AuditDTO} into a per-thread reusable UTF-8 buffer with a
+ * shared {@link JsonFactory}. {@code remarks} is written last and, when the
+ * message would exceed the size limit, cut on a code point boundary and
+ * suffixed with {@code "..."} while it is being written.
+ */
+public class AuditMessageEncoder {
+
+	private static final Logger logger = LoggerFactory.getLogger(AuditMessageEncoder.class);
+
+	private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+			.disable(StreamWriteFeature.AUTO_CLOSE_CONTENT).build();
+	private static final byte[] REMARKS_FIELD = ",\"remarks\":".getBytes(StandardCharsets.UTF_8);
+	private static final byte[] NULL = "null".getBytes(StandardCharsets.US_ASCII);
+	private static final byte[] ELLIPSIS = "...".getBytes(StandardCharsets.UTF_8);
+	private static final byte[] HEX = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+	private static final int RETAINED_BUFFER_BYTES = 512 * 1024;
+
+	private final int maxMessageBytes;
+	private final ThreadLocal<Buffer> buffers = ThreadLocal.withInitial(Buffer::new);
+
+	public AuditMessageEncoder(int maxMessageBytes) {
+		this.maxMessageBytes = maxMessageBytes;
+	}
+
+	public String encode(AuditDTO auditDTO) throws IOException {
+		return encodeMessage(auditDTO).body();
+	}
+
+	/**
+	 * Encodes like {@link #encode(AuditDTO)} and also returns the UTF-8 length,
+	 * which is the size of the buffer the body was written to.
+	 */
+	public AuditMessage encodeMessage(AuditDTO auditDTO) throws IOException {
+		Buffer buffer = buffers.get();
+		buffer.reset();
+		try (JsonGenerator generator = JSON_FACTORY.createGenerator(buffer, JsonEncoding.UTF8)) {
+			generator.writeStartObject();
+			generator.writeNumberField("statusCode", auditDTO.getStatusCode());
+			generator.writeStringField("userId", auditDTO.getUserId());
+			generator.writeStringField("username", auditDTO.getUsername());
+			generator.writeStringField("activityType", auditDTO.getActivityType());
+			generator.writeStringField("activityDescription", auditDTO.getActivityDescription());
+			generator.writeStringField("requestActionEndpoint", auditDTO.getRequestActionEndpoint());
+			generator.writeStringField("responseStatus",
+					auditDTO.getResponseStatus() == null ? null : auditDTO.getResponseStatus().name());
+			generator.writeStringField("requestHTTPVerb", auditDTO.getRequestHTTPVerb());
+			if (auditDTO.getEventCount() != null) {
+				generator.writeNumberField("eventCount", auditDTO.getEventCount());
+			}
+			if (auditDTO.getFirstOccurredAt() != null) {
+				generator.writeStringField("firstOccurredAt", auditDTO.getFirstOccurredAt());
+			}
+			if (auditDTO.getLastOccurredAt() != null) {
+				generator.writeStringField("lastOccurredAt", auditDTO.getLastOccurredAt());
+			}
+			if (auditDTO.getDistinctUserIds() != null) {
+				generator.writeArrayFieldStart("distinctUserIds");
+				for (String userId : auditDTO.getDistinctUserIds()) {
+					generator.writeString(userId);
+				}
+				generator.writeEndArray();
+			}
+		}
+		buffer.write(REMARKS_FIELD);
+		writeRemarks(buffer, auditDTO.getRemarks());
+		buffer.write('}');
+		AuditMessage message = new AuditMessage(buffer.toUtf8String(), buffer.size());
+		buffer.trim();
+		return message;
+	}
+
+	private void writeRemarks(Buffer buffer, String remarks) {
+		if (remarks == null) {
+			buffer.write(NULL);
+			return;
+		}
+		buffer.write('"');
+		// leave room for the closing quote and brace
+		int limit = maxMessageBytes - 2;
+		int lastCutWithEllipsis = buffer.size() + ELLIPSIS.length <= limit ? buffer.size() : -1;
+		for (int i = 0; i < remarks.length();) {
+			int codePoint = remarks.codePointAt(i);
+			if (buffer.size() + encodedLength(codePoint) > limit) {
+				if (lastCutWithEllipsis >= 0) {
+					buffer.truncate(lastCutWithEllipsis);
+					buffer.write(ELLIPSIS);
+				}
+				logger.warn("Audit message exceeds the {} byte limit, truncated remarks at {} of {} chars",
+						maxMessageBytes, i, remarks.length());
+				break;
+			}
+			writeCodePoint(buffer, codePoint);
+			if (buffer.size() + ELLIPSIS.length <= limit) {
+				lastCutWithEllipsis = buffer.size();
+			}
+			i += Character.charCount(codePoint);
+		}
+		buffer.write('"');
+	}
+
+	private static int encodedLength(int codePoint) {
+		if (codePoint == '"' || codePoint == '\\') {
+			return 2;
+		}
+		if (codePoint < 0x20) {
+			return shortEscape(codePoint) != 0 ? 2 : 6;
+		}
+		if (codePoint < 0x80) {
+			return 1;
+		}
+		if (codePoint < 0x800) {
+			return 2;
+		}
+		if (Character.isSurrogate((char) codePoint)) {
+			return 1;
+		}
+		return codePoint < 0x10000 ? 3 : 4;
+	}
+
+	private static void writeCodePoint(Buffer buffer, int codePoint) {
+		if (codePoint == '"' || codePoint == '\\') {
+			buffer.write('\\');
+			buffer.write(codePoint);
+		} else if (codePoint < 0x20) {
+			char escape = shortEscape(codePoint);
+			buffer.write('\\');
+			if (escape != 0) {
+				buffer.write(escape);
+			} else {
+				buffer.write('u');
+				buffer.write('0');
+				buffer.write('0');
+				buffer.write(HEX[codePoint >> 4]);
+				buffer.write(HEX[codePoint & 0xF]);
+			}
+		} else if (codePoint < 0x80) {
+			buffer.write(codePoint);
+		} else if (codePoint < 0x800) {
+			buffer.write(0xC0 | (codePoint >> 6));
+			buffer.write(0x80 | (codePoint & 0x3F));
+		} else if (codePoint < 0x10000) {
+			// a lone surrogate is replaced the same way String.getBytes does
+			if (Character.isSurrogate((char) codePoint)) {
+				buffer.write('?');
+				return;
+			}
+			buffer.write(0xE0 | (codePoint >> 12));
+			buffer.write(0x80 | ((codePoint >> 6) & 0x3F));
+			buffer.write(0x80 | (codePoint & 0x3F));
+		} else {
+			buffer.write(0xF0 | (codePoint >> 18));
+			buffer.write(0x80 | ((codePoint >> 12) & 0x3F));
+			buffer.write(0x80 | ((codePoint >> 6) & 0x3F));
+			buffer.write(0x80 | (codePoint & 0x3F));
+		}
+	}
+
+	private static char shortEscape(int codePoint) {
+		switch (codePoint) {
+		case '\b':
+			return 'b';
+		case '\t':
+			return 't';
+		case '\n':
+			return 'n';
+		case '\f':
+			return 'f';
+		case '\r':
+			return 'r';
+		default:
+			return 0;
+		}
+	}
+
+	private static final class Buffer extends OutputStream {
+
+		private byte[] bytes = new byte[1024];
+		private int size;
+
+		@Override
+		public void write(int b) {
+			ensureCapacity(size + 1);
+			bytes[size++] = (byte) b;
+		}
+
+		@Override
+		public void write(byte[] source, int offset, int length) {
+			ensureCapacity(size + length);
+			System.arraycopy(source, offset, bytes, size, length);
+			size += length;
+		}
+
+		@Override
+		public void write(byte[] source) {
+			write(source, 0, source.length);
+		}
+
+		int size() {
+			return size;
+		}
+
+		void truncate(int newSize) {
+			size = newSize;
+		}
+
+		void reset() {
+			size = 0;
+		}
+
+		String toUtf8String() {
+			return new String(bytes, 0, size, StandardCharsets.UTF_8);
+		}
+
+		/**
+		 * Drops an oversized backing array so an occasional huge message does not
+		 * stay pinned to the thread.
+		 */
+		void trim() {
+			if (bytes.length > RETAINED_BUFFER_BYTES) {
+				bytes = new byte[1024];
+			}
+		}
+
+		private void ensureCapacity(int capacity) {
+			if (capacity > bytes.length) {
+				bytes = Arrays.copyOf(bytes, Math.max(capacity, bytes.length * 2));
+			}
+		}
+	}
+}
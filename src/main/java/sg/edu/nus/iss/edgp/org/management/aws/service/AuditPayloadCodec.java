@@ -0,0 +1,142 @@
+package sg.edu.nus.iss.edgp.org.management.aws.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import sg.edu.nus.iss.edgp.org.management.dto.AuditDTO;
+import sg.edu.nus.iss.edgp.org.management.service.IAuditBlobStore;
+
+/**
+ * Turns an {@link AuditDTO} into an SQS message body. Messages within the SQS
+ * limit are sent as plain JSON. Larger ones are, if enabled, sent as a
+ * gzip+base64 envelope when that fits, otherwise stored in the
+ * {@link IAuditBlobStore} and sent as a claim-check envelope holding the blob
+ * key. Remarks are only truncated when neither option applies.
+ */
+@Component
+public class AuditPayloadCodec {
+
+	private static final Logger logger = LoggerFactory.getLogger(AuditPayloadCodec.class);
+
+	static final String ENCODING_FIELD = "auditEncoding";
+	static final String GZIP = "gzip+base64";
+	static final String CLAIM_CHECK = "claim-check";
+
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+	private static final int MAX_MESSAGE_SIZE = SQSPublishingService.MAX_MESSAGE_SIZE;
+
+	private final boolean compressionEnabled;
+	private final boolean claimCheckEnabled;
+	private final IAuditBlobStore blobStore;
+	private final AuditMessageEncoder encoder = new AuditMessageEncoder(Integer.MAX_VALUE);
+	private final AuditMessageEncoder truncatingEncoder = new AuditMessageEncoder(MAX_MESSAGE_SIZE);
+	private final Counter plainCounter;
+	private final Counter gzipCounter;
+	private final Counter claimCheckCounter;
+	private final Counter truncatedCounter;
+
+	public AuditPayloadCodec(@Value("${audit.codec.compression-enabled}") boolean compressionEnabled,
+			@Value("${audit.codec.claim-check-enabled}") boolean claimCheckEnabled, IAuditBlobStore blobStore,
+			MeterRegistry meterRegistry) {
+		this.compressionEnabled = compressionEnabled;
+		this.claimCheckEnabled = claimCheckEnabled;
+		this.blobStore = blobStore;
+		this.plainCounter = encodingCounter("plain", meterRegistry);
+		this.gzipCounter = encodingCounter("gzip", meterRegistry);
+		this.claimCheckCounter = encodingCounter("claim_check", meterRegistry);
+		this.truncatedCounter = encodingCounter("truncated", meterRegistry);
+	}
+
+	public AuditMessage encode(AuditDTO auditDTO) throws IOException {
+		AuditMessage message = encoder.encodeMessage(auditDTO);
+		int messageBytes = message.bytes();
+		if (messageBytes <= MAX_MESSAGE_SIZE) {
+			plainCounter.increment();
+			return message;
+		}
+
+		byte[] payload = message.body().getBytes(StandardCharsets.UTF_8);
+		if (compressionEnabled) {
+			String compressed = envelope(GZIP).put("payload", Base64.getEncoder().encodeToString(gzip(payload)))
+					.toString();
+			if (compressed.length() <= MAX_MESSAGE_SIZE) {
+				logger.info("Compressed audit message from {} to {} bytes", messageBytes, compressed.length());
+				gzipCounter.increment();
+				// the envelope is ASCII, so its length is its UTF-8 length
+				return new AuditMessage(compressed, compressed.length());
+			}
+		}
+		if (claimCheckEnabled) {
+			try {
+				String key = blobStore.put(payload);
+				logger.info("Stored {} byte audit message as blob {}", messageBytes, key);
+				claimCheckCounter.increment();
+				String claimCheck = envelope(CLAIM_CHECK).put("blobKey", key).put("size", payload.length).toString();
+				return new AuditMessage(claimCheck, claimCheck.getBytes(StandardCharsets.UTF_8).length);
+			} catch (IOException e) {
+				logger.error("Unable to store oversized audit message, truncating remarks: {}", e.getMessage(), e);
+			}
+		}
+		truncatedCounter.increment();
+		return truncatingEncoder.encodeMessage(auditDTO);
+	}
+
+	/**
+	 * Returns the audit JSON carried by a message body produced by
+	 * {@link #encode(AuditDTO)}, unwrapping compressed and claim-check
+	 * envelopes.
+	 */
+	public String decode(String messageBody) throws IOException {
+		JsonNode message = OBJECT_MAPPER.readTree(messageBody);
+		String encoding = message.path(ENCODING_FIELD).asText("");
+		switch (encoding) {
+		case GZIP:
+			return new String(gunzip(Base64.getDecoder().decode(message.path("payload").asText())),
+					StandardCharsets.UTF_8);
+		case CLAIM_CHECK:
+			return new String(blobStore.get(message.path("blobKey").asText()), StandardCharsets.UTF_8);
+		default:
+			return messageBody;
+		}
+	}
+
+	private static Counter encodingCounter(String encoding, MeterRegistry meterRegistry) {
+		return Counter.builder("audit.codec.encoded").description("Audit messages by SQS body encoding")
+				.tag("encoding", encoding).register(meterRegistry);
+	}
+
+	private static ObjectNode envelope(String encoding) {
+		return OBJECT_MAPPER.createObjectNode().put(ENCODING_FIELD, encoding);
+	}
+
+	private static byte[] gzip(byte[] payload) throws IOException {
+		ByteArrayOutputStream compressed = new ByteArrayOutputStream(payload.length / 4);
+		try (GZIPOutputStream gzip = new GZIPOutputStream(compressed)) {
+			gzip.write(payload);
+		}
+		return compressed.toByteArray();
+	}
+
+	private static byte[] gunzip(byte[] compressed) throws IOException {
+		try (InputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+			return gzip.readAllBytes();
+		}
+	}
+}
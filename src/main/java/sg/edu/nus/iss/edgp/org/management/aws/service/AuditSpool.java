@@ -0,0 +1,295 @@
+package sg.edu.nus.iss.edgp.org.management.aws.service;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Append-only write-ahead spool for audit messages that could not be delivered
+ * to SQS. Records are appended to fixed-size memory-mapped segment files as
+ * {@code [length][crc32][payload]}, read back in append order and removed once
+ * acknowledged. The read position is checkpointed after every acknowledgement,
+ * so after a crash unacknowledged records are replayed again (at-least-once).
+ */
+@Component
+@ConditionalOnProperty(name = "audit.sink", havingValue = "sqs", matchIfMissing = true)
+public class AuditSpool {
+
+	private static final Logger logger = LoggerFactory.getLogger(AuditSpool.class);
+
+	private static final String SEGMENT_PREFIX = "audit-";
+	private static final String SEGMENT_SUFFIX = ".spool";
+	private static final String CHECKPOINT_FILE = "checkpoint";
+	private static final int HEADER_BYTES = 8;
+	private static final int MIN_SEGMENT_SIZE = 1024 * 1024;
+
+	private final Path directory;
+	private final int segmentSize;
+	private final int maxSegments;
+	private final TreeMap<Long, MappedByteBuffer> segments = new TreeMap<>();
+	private final Counter spooledCounter;
+	private final Counter rejectedCounter;
+	private boolean available;
+
+	private long writeSegment;
+	private int writeOffset;
+	private long readSegment;
+	private int readOffset;
+	private long pendingSegment;
+	private int pendingOffset;
+
+	public AuditSpool(@Value("${audit.spool.directory}") String directory,
+			@Value("${audit.spool.segment-size-bytes}") int segmentSize,
+			@Value("${audit.spool.max-bytes}") long maxBytes, MeterRegistry meterRegistry) {
+		this.directory = Paths.get(directory);
+		this.segmentSize = Math.max(segmentSize, MIN_SEGMENT_SIZE);
+		this.maxSegments = (int) Math.max(1, maxBytes / this.segmentSize);
+		this.spooledCounter = Counter.builder("audit.spool.appended").description("Audit messages written to the spool")
+				.register(meterRegistry);
+		this.rejectedCounter = Counter.builder("audit.spool.rejected")
+				.description("Audit messages rejected because the spool is full or unavailable")
+				.register(meterRegistry);
+		Gauge.builder("audit.spool.segments", this, AuditSpool::getSegmentCount)
+				.description("Audit spool segment files on disk").register(meterRegistry);
+		try {
+			recover();
+			available = true;
+		} catch (IOException e) {
+			logger.error("Audit spool at {} is unavailable: {}", directory, e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Appends a message and returns {@code false} when the spool is full or
+	 * unavailable.
+	 */
+	public synchronized boolean append(String messageBody) {
+		byte[] payload = messageBody.getBytes(StandardCharsets.UTF_8);
+		int recordBytes = HEADER_BYTES + payload.length;
+		if (!available || recordBytes > segmentSize) {
+			rejectedCounter.increment();
+			return false;
+		}
+		try {
+			if (writeOffset + recordBytes > segmentSize) {
+				if (segments.size() >= maxSegments) {
+					rejectedCounter.increment();
+					return false;
+				}
+				segments.get(writeSegment).force();
+				writeSegment++;
+				writeOffset = 0;
+				segments.put(writeSegment, map(writeSegment));
+			}
+		} catch (IOException e) {
+			logger.error("Unable to rotate audit spool segment: {}", e.getMessage(), e);
+			rejectedCounter.increment();
+			return false;
+		}
+
+		MappedByteBuffer buffer = segments.get(writeSegment);
+		CRC32 crc = new CRC32();
+		crc.update(payload);
+		buffer.put(writeOffset + HEADER_BYTES, payload);
+		buffer.putInt(writeOffset + 4, (int) crc.getValue());
+		buffer.putInt(writeOffset, payload.length);
+		writeOffset += recordBytes;
+		spooledCounter.increment();
+		return true;
+	}
+
+	/**
+	 * Returns up to {@code maxRecords} unacknowledged messages in append order
+	 * without removing them. Call {@link #acknowledge()} once they have been
+	 * delivered.
+	 */
+	public synchronized List<String> read(int maxRecords, int maxBytes) {
+		List<String> records = new ArrayList<>();
+		if (!available) {
+			return records;
+		}
+		long segment = readSegment;
+		int offset = readOffset;
+		int bytes = 0;
+		while (records.size() < maxRecords) {
+			if (segment == writeSegment && offset >= writeOffset) {
+				break;
+			}
+			MappedByteBuffer buffer = segments.get(segment);
+			int next = recordEnd(buffer, offset);
+			if (next < 0) {
+				if (segment == writeSegment) {
+					logger.error("Corrupt audit spool record in segment {} at offset {}, skipping", segment, offset);
+					offset = writeOffset;
+					continue;
+				}
+				Long nextSegment = segments.higherKey(segment);
+				if (nextSegment == null) {
+					break;
+				}
+				segment = nextSegment;
+				offset = 0;
+				continue;
+			}
+			int length = next - offset - HEADER_BYTES;
+			if (!records.isEmpty() && bytes + length > maxBytes) {
+				break;
+			}
+			byte[] payload = new byte[length];
+			buffer.get(offset + HEADER_BYTES, payload);
+			records.add(new String(payload, StandardCharsets.UTF_8));
+			bytes += length;
+			offset = next;
+		}
+		while (segment != writeSegment && recordEnd(segments.get(segment), offset) < 0) {
+			segment = segments.higherKey(segment);
+			offset = 0;
+		}
+		pendingSegment = segment;
+		pendingOffset = offset;
+		return records;
+	}
+
+	/**
+	 * Marks everything returned by the last {@link #read(int, int)} as delivered.
+	 */
+	public synchronized void acknowledge() {
+		if (!available) {
+			return;
+		}
+		readSegment = pendingSegment;
+		readOffset = pendingOffset;
+		try {
+			writeCheckpoint();
+			Map<Long, MappedByteBuffer> consumed = segments.headMap(readSegment);
+			for (Long segment : new ArrayList<>(consumed.keySet())) {
+				segments.remove(segment);
+				Files.deleteIfExists(segmentPath(segment));
+			}
+		} catch (IOException e) {
+			logger.error("Unable to checkpoint audit spool: {}", e.getMessage(), e);
+		}
+	}
+
+	public synchronized boolean isEmpty() {
+		return !available || (readSegment == writeSegment && readOffset >= writeOffset);
+	}
+
+	public synchronized int getSegmentCount() {
+		return segments.size();
+	}
+
+	@PreDestroy
+	public synchronized void close() {
+		segments.values().forEach(MappedByteBuffer::force);
+	}
+
+	private void recover() throws IOException {
+		Files.createDirectories(directory);
+		List<Long> existing;
+		try (Stream<Path> files = Files.list(directory)) {
+			existing = files.map(path -> path.getFileName().toString())
+					.filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+					.map(name -> Long.parseLong(
+							name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+					.sorted().collect(Collectors.toList());
+		}
+		if (existing.isEmpty()) {
+			existing = Collections.singletonList(0L);
+		}
+		for (Long segment : existing) {
+			segments.put(segment, map(segment));
+		}
+
+		writeSegment = segments.lastKey();
+		MappedByteBuffer writeBuffer = segments.get(writeSegment);
+		writeOffset = 0;
+		int next;
+		while ((next = recordEnd(writeBuffer, writeOffset)) > 0) {
+			writeOffset = next;
+		}
+		if (writeOffset + HEADER_BYTES <= segmentSize && writeBuffer.getInt(writeOffset) != 0) {
+			logger.warn("Discarding torn audit spool record in segment {} at offset {}", writeSegment, writeOffset);
+		}
+		writeBuffer.put(writeOffset, new byte[segmentSize - writeOffset]);
+
+		readSegment = segments.firstKey();
+		readOffset = 0;
+		Path checkpoint = directory.resolve(CHECKPOINT_FILE);
+		if (Files.exists(checkpoint)) {
+			ByteBuffer position = ByteBuffer.wrap(Files.readAllBytes(checkpoint));
+			long checkpointSegment = position.getLong();
+			int checkpointOffset = (int) position.getLong();
+			if (segments.containsKey(checkpointSegment)) {
+				readSegment = checkpointSegment;
+				readOffset = checkpointSegment == writeSegment ? Math.min(checkpointOffset, writeOffset)
+						: checkpointOffset;
+			}
+		}
+		pendingSegment = readSegment;
+		pendingOffset = readOffset;
+		logger.info("Audit spool recovered with {} segment(s), read {}:{} write {}:{}", segments.size(), readSegment,
+				readOffset, writeSegment, writeOffset);
+	}
+
+	private int recordEnd(ByteBuffer buffer, int offset) {
+		if (offset + HEADER_BYTES > segmentSize) {
+			return -1;
+		}
+		int length = buffer.getInt(offset);
+		if (length <= 0 || length > segmentSize - offset - HEADER_BYTES) {
+			return -1;
+		}
+		CRC32 crc = new CRC32();
+		crc.update(buffer.slice(offset + HEADER_BYTES, length));
+		if ((int) crc.getValue() != buffer.getInt(offset + 4)) {
+			return -1;
+		}
+		return offset + HEADER_BYTES + length;
+	}
+
+	private MappedByteBuffer map(long segment) throws IOException {
+		try (FileChannel channel = FileChannel.open(segmentPath(segment), StandardOpenOption.CREATE,
+				StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			return channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+		}
+	}
+
+	private Path segmentPath(long segment) {
+		return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, segment, SEGMENT_SUFFIX));
+	}
+
+	private void writeCheckpoint() throws IOException {
+		ByteBuffer position = ByteBuffer.allocate(16).putLong(readSegment).putLong(readOffset);
+		Path temporary = directory.resolve(CHECKPOINT_FILE + ".tmp");
+		Files.write(temporary, position.array());
+		Files.move(temporary, directory.resolve(CHECKPOINT_FILE), StandardCopyOption.REPLACE_EXISTING,
+				StandardCopyOption.ATOMIC_MOVE);
+	}
+}
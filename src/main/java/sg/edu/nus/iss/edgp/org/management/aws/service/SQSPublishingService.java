@@ -1,90 +1,300 @@
 package sg.edu.nus.iss.edgp.org.management.aws.service;
 
-import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
 import sg.edu.nus.iss.edgp.org.management.dto.AuditDTO;
+import sg.edu.nus.iss.edgp.org.management.enums.AuditBackpressurePolicy;
+import sg.edu.nus.iss.edgp.org.management.service.IAuditSink;
 import software.amazon.awssdk.services.sqs.SqsClient;
-import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
-import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
 
+/**
+ * Publishes audit messages to SQS off the request thread. Messages are
+ * serialized on enqueue, held in a bounded lock-free queue and sent by a single
+ * background thread with SendMessageBatch once a batch is full or the flush
+ * interval has passed. Messages SQS does not accept are written to the
+ * {@link AuditSpool} and replayed in order once SQS is reachable again. While
+ * the spool holds messages, or for the retry interval after a failed send, new
+ * batches are appended to the spool instead of being sent, so they reach SQS
+ * behind the messages spooled before them.
+ */
 @Service
-@RequiredArgsConstructor
-public class SQSPublishingService {
+@ConditionalOnProperty(name = "audit.sink", havingValue = "sqs", matchIfMissing = true)
+public class SQSPublishingService implements IAuditSink {
+
+	private static final Logger logger = LoggerFactory.getLogger(SQSPublishingService.class);
+
+	static final int MAX_MESSAGE_SIZE = 256 * 1024;
+	static final int MAX_BATCH_ENTRIES = 10;
 
 	private final SqsClient sqsClient;
+	private final String auditQueueURL;
+	private final int capacity;
+	private final int batchSize;
+	private final long flushIntervalNanos;
+	private final AuditBackpressurePolicy backpressurePolicy;
+	private final int delaySeconds;
+	private final long spoolRetryNanos;
+	private final AuditSpool spool;
+	private final AuditPayloadCodec codec;
 
-	@Value("${aws.sqs.queue.audit.url}")
-	String auditQueueURL;
+	private final ConcurrentLinkedQueue<AuditMessage> queue = new ConcurrentLinkedQueue<>();
+	private final AtomicInteger queueSize = new AtomicInteger();
+	private final Counter publishedCounter;
+	private final Counter replayedCounter;
+	private final Counter queueFullCounter;
+	private final Counter spoolFullCounter;
+	private final Thread drainer;
+	private volatile boolean running = true;
+	private AuditMessage carriedOver;
+	private volatile long sendRetryAt = System.nanoTime();
 
-	private static final Logger logger = LoggerFactory.getLogger(SQSPublishingService.class);
+	public SQSPublishingService(SqsClient sqsClient, @Value("${aws.sqs.queue.audit.url}") String auditQueueURL,
+			@Value("${aws.sqs.queue.audit.capacity}") int capacity,
+			@Value("${aws.sqs.queue.audit.batch-size}") int batchSize,
+			@Value("${aws.sqs.queue.audit.flush-interval-ms}") long flushIntervalMs,
+			@Value("${aws.sqs.queue.audit.backpressure}") AuditBackpressurePolicy backpressurePolicy,
+			@Value("${aws.sqs.queue.audit.delay-seconds}") int delaySeconds, AuditPayloadCodec codec, AuditSpool spool,
+			@Value("${audit.spool.retry-interval-ms}") long spoolRetryMs, MeterRegistry meterRegistry) {
+		this.sqsClient = sqsClient;
+		this.auditQueueURL = auditQueueURL;
+		this.capacity = capacity;
+		this.batchSize = Math.max(1, Math.min(batchSize, MAX_BATCH_ENTRIES));
+		this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+		this.backpressurePolicy = backpressurePolicy;
+		this.delaySeconds = delaySeconds;
+		this.codec = codec;
+		this.spool = spool;
+		this.spoolRetryNanos = TimeUnit.MILLISECONDS.toNanos(spoolRetryMs);
+		this.publishedCounter = Counter.builder("audit.sqs.published").description("Audit messages accepted by SQS")
+				.register(meterRegistry);
+		this.replayedCounter = Counter.builder("audit.spool.replayed")
+				.description("Spooled audit messages delivered to SQS").register(meterRegistry);
+		this.queueFullCounter = droppedCounter("queue_full", meterRegistry);
+		this.spoolFullCounter = droppedCounter("spool_full", meterRegistry);
+		Gauge.builder("audit.sqs.queue.size", queueSize, AtomicInteger::get)
+				.description("Audit messages waiting to be published").register(meterRegistry);
+		this.drainer = new Thread(this::drain, "audit-sqs-publisher");
+		this.drainer.setDaemon(true);
+		this.drainer.start();
+	}
 
+	@Override
 	public void sendMessage(AuditDTO auditDTO) {
 		try {
-			ObjectMapper objectMapper = new ObjectMapper();
-			String messageBody = objectMapper.writeValueAsString(auditDTO);
-			byte[] messageBytes = messageBody.getBytes(StandardCharsets.UTF_8);
-			int messageSize = messageBytes.length;
-			int maxMessageSize = 256 * 1024;
+			enqueue(codec.encode(auditDTO));
+		} catch (Exception e) {
+			logger.error("Error queueing audit message for SQS: {}", e.getMessage(), e);
+		}
+	}
 
-			logger.info("Serialized Audit Log JSON");
+	/**
+	 * Publishes everything queued so far on the calling thread.
+	 */
+	public void flush() {
+		while (publishBatch() > 0) {
+			// keep publishing until the queue is empty
+		}
+	}
 
-			if (messageSize > maxMessageSize) {
-				logger.warn("Message size exceeds the 256 KB limit: {} bytes, truncating remarks.", messageSize);
+	@PreDestroy
+	public void shutdown() {
+		running = false;
+		LockSupport.unpark(drainer);
+		try {
+			drainer.join(TimeUnit.NANOSECONDS.toMillis(flushIntervalNanos) + 1000);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		flush();
+		while (!spool.isEmpty() && replaySpool()) {
+			// deliver what the spool holds while SQS is reachable
+		}
+		logger.info("Audit publisher stopped, {} messages left unpublished, spool empty: {}", queueSize.get(),
+				spool.isEmpty());
+	}
 
-				String truncatedRemarks = truncateMessage(auditDTO.getRemarks(), maxMessageSize, messageBody);
-				auditDTO.setRemarks(truncatedRemarks.concat("..."));
+	public int getQueueSize() {
+		return queueSize.get();
+	}
 
-				messageBody = objectMapper.writeValueAsString(auditDTO);
-				messageBytes = messageBody.getBytes(StandardCharsets.UTF_8);
-				logger.info("Truncated message size: {} bytes", messageBytes.length);
+	private void enqueue(AuditMessage message) {
+		if (queueSize.incrementAndGet() > capacity) {
+			switch (backpressurePolicy) {
+			case DROP_NEWEST:
+				queueSize.decrementAndGet();
+				queueFullCounter.increment();
+				return;
+			case DROP_OLDEST:
+				if (queue.poll() != null) {
+					queueSize.decrementAndGet();
+					queueFullCounter.increment();
+				}
+				break;
+			case CALLER_RUNS:
+				queueSize.decrementAndGet();
+				deliver(List.of(message.body()));
+				return;
+			case SPOOL:
+				queueSize.decrementAndGet();
+				spoolOrDrop(List.of(message.body()));
+				return;
 			}
-
-			SendMessageRequest sendMsgRequest = SendMessageRequest.builder().queueUrl(auditQueueURL)
-					.messageBody(messageBody).delaySeconds(5).build();
-
-			SendMessageResponse response = sqsClient.sendMessage(sendMsgRequest);
-			logger.info("Message sent to SQS with message ID: {}", response.messageId());
-
-		} catch (Exception e) {
-			logger.error("Error sending message to SQS: {}", e.getMessage(), e);
+		}
+		queue.offer(message);
+		if (queueSize.get() >= batchSize) {
+			LockSupport.unpark(drainer);
 		}
 	}
 
-	private String truncateMessage(String remarks, int maxMessageSize, String currentMessage) {
-		try {
-
-			byte[] currentMessageBytes = currentMessage.getBytes(StandardCharsets.UTF_8);
-			int currentSize = currentMessageBytes.length;
+	private void drain() {
+		long lastFlush = System.nanoTime();
+		while (running) {
+			int pending = queueSize.get();
+			if (pending >= batchSize || (pending > 0 && System.nanoTime() - lastFlush >= flushIntervalNanos)) {
+				publishBatch();
+				lastFlush = System.nanoTime();
+				continue;
+			}
+			if (System.nanoTime() - sendRetryAt >= 0 && !spool.isEmpty()) {
+				if (replaySpool()) {
+					continue;
+				}
+				sendRetryAt = System.nanoTime() + spoolRetryNanos;
+			}
+			LockSupport.parkNanos(this,
+					spool.isEmpty() ? flushIntervalNanos : Math.min(flushIntervalNanos, spoolRetryNanos));
+		}
+	}
 
-			byte[] remarkBytes = remarks.getBytes(StandardCharsets.UTF_8);
+	/**
+	 * Sends the oldest spooled messages as one batch and acknowledges them only
+	 * if SQS accepted all of them; a partly failed batch is sent again later.
+	 * Synchronized because the spool has a single read cursor, and shutdown may
+	 * replay while the drainer is still inside a replay.
+	 */
+	private synchronized boolean replaySpool() {
+		List<String> records = spool.read(batchSize, MAX_MESSAGE_SIZE);
+		if (records.isEmpty()) {
+			return false;
+		}
+		if (!publish(records).isEmpty()) {
+			return false;
+		}
+		replayedCounter.increment(records.size());
+		spool.acknowledge();
+		return true;
+	}
 
-			int remarkSize = remarkBytes.length;
+	/**
+	 * Sends up to one batch, bounded by the entry count and the SQS batch
+	 * payload limit, and returns the number of messages taken off the queue.
+	 */
+	private synchronized int publishBatch() {
+		List<String> batch = new ArrayList<>(batchSize);
+		int batchBytes = 0;
+		while (batch.size() < batchSize) {
+			AuditMessage message = carriedOver != null ? carriedOver : queue.poll();
+			if (message == null) {
+				break;
+			}
+			carriedOver = null;
+			if (!batch.isEmpty() && batchBytes + message.bytes() > MAX_MESSAGE_SIZE) {
+				carriedOver = message;
+				break;
+			}
+			queueSize.decrementAndGet();
+			batch.add(message.body());
+			batchBytes += message.bytes();
+		}
+		if (!batch.isEmpty()) {
+			deliver(batch);
+		}
+		return batch.size();
+	}
 
-			int diffMsgSize = currentSize - maxMessageSize;
+	/**
+	 * Sends live messages unless the spool still holds older ones or a send
+	 * failed within the retry interval; then they are spooled behind them.
+	 */
+	private synchronized void deliver(List<String> batch) {
+		if (!spool.isEmpty() || System.nanoTime() - sendRetryAt < 0) {
+			spoolOrDrop(batch);
+			return;
+		}
+		List<String> failed = publish(batch);
+		if (!failed.isEmpty()) {
+			sendRetryAt = System.nanoTime() + spoolRetryNanos;
+			spoolOrDrop(failed);
+			// wake the drainer so it schedules the replay
+			LockSupport.unpark(drainer);
+		}
+	}
 
-			if (diffMsgSize >= remarkSize) {
-				return "";
+	/**
+	 * Sends one SendMessageBatch request and returns the messages SQS did not
+	 * accept.
+	 */
+	private List<String> publish(List<String> batch) {
+		List<SendMessageBatchRequestEntry> entries = new ArrayList<>(batch.size());
+		for (int i = 0; i < batch.size(); i++) {
+			entries.add(SendMessageBatchRequestEntry.builder().id(String.valueOf(i)).messageBody(batch.get(i))
+					.delaySeconds(delaySeconds).build());
+		}
+		try {
+			SendMessageBatchResponse response = sqsClient.sendMessageBatch(
+					SendMessageBatchRequest.builder().queueUrl(auditQueueURL).entries(entries).build());
+			publishedCounter.increment(response.successful().size());
+			logger.info("Published {} audit messages to SQS", response.successful().size());
+			if (!response.hasFailed() || response.failed().isEmpty()) {
+				return Collections.emptyList();
 			}
-
-			int allowedBytesForRemarks = remarkSize - (diffMsgSize + 5);
-			if (remarkBytes.length <= allowedBytesForRemarks) {
-				return remarks;
+			List<String> failed = new ArrayList<>(response.failed().size());
+			for (BatchResultErrorEntry failure : response.failed()) {
+				logger.error("SQS rejected audit message {}: {} {}", failure.id(), failure.code(), failure.message());
+				failed.add(batch.get(Integer.parseInt(failure.id())));
 			}
-
-			String truncatedRemarks = new String(remarkBytes, 0, allowedBytesForRemarks, StandardCharsets.UTF_8);
-			return truncatedRemarks;
+			return failed;
 		} catch (Exception e) {
-			logger.error("Error while truncating message remarks", e);
-			return remarks;
+			logger.error("Error sending message batch to SQS: {}", e.getMessage(), e);
+			return batch;
+		}
+	}
+
+	private void spoolOrDrop(List<String> messages) {
+		int rejected = 0;
+		for (String messageBody : messages) {
+			if (!spool.append(messageBody)) {
+				rejected++;
+			}
 		}
+		if (rejected > 0) {
+			spoolFullCounter.increment(rejected);
+		}
+	}
+
+	private static Counter droppedCounter(String reason, MeterRegistry meterRegistry) {
+		return Counter.builder("audit.sqs.dropped").description("Audit messages dropped before reaching SQS")
+				.tag("reason", reason).register(meterRegistry);
 	}
 
 }
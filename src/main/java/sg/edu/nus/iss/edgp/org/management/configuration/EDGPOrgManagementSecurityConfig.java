@@ -11,8 +11,6 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
-import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.web.header.writers.HstsHeaderWriter;
@@ -30,15 +28,6 @@ public class EDGPOrgManagementSecurityConfig {
 	@Value("${client.url}")
 	private String clientURL;
 
-	
-	@Bean
-	public JwtAuthenticationConverter jwtAuthenticationConverter() {
-	    JwtGrantedAuthoritiesConverter converter = new JwtGrantedAuthoritiesConverter();
-
-	    JwtAuthenticationConverter jwtConverter = new JwtAuthenticationConverter();
-	    jwtConverter.setJwtGrantedAuthoritiesConverter(converter);
-	    return jwtConverter;
-	}
 
 	@Bean
 	public SecurityFilterChain securityFilterChain(HttpSecurity http, JwtFilter jwtFilter) throws Exception {
@@ -67,9 +56,6 @@ public class EDGPOrgManagementSecurityConfig {
 						auth -> auth.requestMatchers(SECURED_URLs).permitAll().anyRequest().authenticated())
 				.sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
 				.addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
-				 .oauth2ResourceServer(oauth2 -> oauth2
-			                .jwt(jwt -> jwt.jwtAuthenticationConverter(jwtAuthenticationConverter()))
-			            )
 				.build();
 																														
 	}
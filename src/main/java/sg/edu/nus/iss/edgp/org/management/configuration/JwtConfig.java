@@ -5,10 +5,8 @@ import java.security.interfaces.RSAPublicKey;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.context.annotation.Profile;
-import org.springframework.security.oauth2.jwt.JwtDecoder;
-import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 
+import java.security.GeneralSecurityException;
 import java.security.KeyFactory;
 import java.security.spec.X509EncodedKeySpec;
 import java.util.Base64;
@@ -19,25 +17,27 @@ public class JwtConfig {
 	@Value("${jwt.public.key}")
 	private String jwtPublicKey;
 
+	@Value("${jwt.public.key.location}")
+	private String jwtPublicKeyLocation;
+
 	@Bean
 	public String getJWTPubliceKey() {
 		return jwtPublicKey.replaceAll("\\s", "");
 	}
 
-	@Bean
-	@Profile("!test")
-	public JwtDecoder jwtDecoder(RSAPublicKey publicKey) {
-		return NimbusJwtDecoder.withPublicKey(publicKey).build();
+	public String getJwtPublicKeyLocation() {
+		return jwtPublicKeyLocation.trim();
 	}
-	
-	@Bean
-	@Profile("!test") 
-	public RSAPublicKey loadPublicKey() throws Exception {
-		
-		byte[] decoded = Base64.getDecoder().decode(getJWTPubliceKey());
-		X509EncodedKeySpec keySpec = new X509EncodedKeySpec(decoded);
-		KeyFactory keyFactory = KeyFactory.getInstance("RSA");
-		return (RSAPublicKey) keyFactory.generatePublic(keySpec);
+
+	public static RSAPublicKey decodePublicKey(String encodedKey) throws GeneralSecurityException {
+		String base64 = encodedKey.replaceAll("-----(BEGIN|END) PUBLIC KEY-----", "").replaceAll("\\s", "");
+		try {
+			X509EncodedKeySpec keySpec = new X509EncodedKeySpec(Base64.getDecoder().decode(base64));
+			KeyFactory keyFactory = KeyFactory.getInstance("RSA");
+			return (RSAPublicKey) keyFactory.generatePublic(keySpec);
+		} catch (IllegalArgumentException e) {
+			throw new GeneralSecurityException("Public key is not valid Base64", e);
+		}
 	}
 
-}
\ No newline at end of file
+}
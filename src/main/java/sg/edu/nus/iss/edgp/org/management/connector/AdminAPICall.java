@@ -1,48 +1,274 @@
 package sg.edu.nus.iss.edgp.org.management.connector;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.annotation.PreDestroy;
+import sg.edu.nus.iss.edgp.org.management.exception.AdminServiceUnavailableException;
+import sg.edu.nus.iss.edgp.org.management.pojo.UserProfileResponse;
+
 @Service
 public class AdminAPICall {
 
-	@Value("${admin.api.url}")
-	private String adminURL;
-
 	private static final Logger logger = LoggerFactory.getLogger(AdminAPICall.class);
 	private static final String GET_SPECIFIC_ACTIVE_USERS_EXCEPTION_MSG = "getSpecificActiveUsers exception occurred";
+	private static final String OUTCOME_ERROR = "error";
+	private static final String OUTCOME_REJECTED = "rejected";
+	private static final List<String> OUTCOMES = List.of("1xx", "2xx", "3xx", "4xx", "5xx", OUTCOME_ERROR,
+			OUTCOME_REJECTED);
+	private static final String REJECTED_BULKHEAD_FULL = "bulkhead_full";
+	private static final String REJECTED_CIRCUIT_OPEN = "circuit_open";
+	private static final ObjectReader PROFILE_READER = new ObjectMapper()
+			.disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES).readerFor(UserProfileResponse.class);
 
-	public String validateActiveUser(String userId, String authorizationHeader) {
+	private final String adminURL;
+	private final Duration requestTimeout;
+	private final long bulkheadMaxWaitMs;
+	private final boolean hedgeEnabled;
+	private final long hedgeMinDelayMs;
+	private final ExecutorService executor;
+	private final HttpClient client;
+	private final Semaphore bulkhead;
+	private final AdminCircuitBreaker circuitBreaker;
+	private final MeterRegistry meterRegistry;
+	private final Timer successLatency;
+	private final Counter hedgedRequests;
+	private final Map<String, Timer> requestTimers;
+	private final Map<String, Counter> rejectedRequests;
+
+	public AdminAPICall(@Value("${admin.api.url}") String adminURL,
+			@Value("${admin.api.connect-timeout-ms}") long connectTimeoutMs,
+			@Value("${admin.api.request-timeout-ms}") long requestTimeoutMs,
+			@Value("${admin.api.max-connections}") int maxConnections,
+			@Value("${admin.api.bulkhead.max-wait-ms}") long bulkheadMaxWaitMs,
+			@Value("${admin.api.http-version}") HttpClient.Version httpVersion,
+			@Value("${admin.api.hedge.enabled}") boolean hedgeEnabled,
+			@Value("${admin.api.hedge.percentile}") double hedgePercentile,
+			@Value("${admin.api.hedge.min-delay-ms}") long hedgeMinDelayMs, AdminCircuitBreaker circuitBreaker,
+			MeterRegistry meterRegistry) {
+		this.adminURL = adminURL.trim();
+		this.requestTimeout = Duration.ofMillis(requestTimeoutMs);
+		this.bulkheadMaxWaitMs = bulkheadMaxWaitMs;
+		this.hedgeEnabled = hedgeEnabled;
+		this.hedgeMinDelayMs = hedgeMinDelayMs;
+		this.bulkhead = new Semaphore(maxConnections, true);
+		this.circuitBreaker = circuitBreaker;
+		this.meterRegistry = meterRegistry;
+		AtomicInteger threadCount = new AtomicInteger();
+		this.executor = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()),
+				runnable -> {
+					Thread thread = new Thread(runnable, "admin-api-http-" + threadCount.incrementAndGet());
+					thread.setDaemon(true);
+					return thread;
+				});
+		this.client = HttpClient.newBuilder().version(httpVersion).connectTimeout(Duration.ofMillis(connectTimeoutMs))
+				.executor(executor).build();
+		this.successLatency = Timer.builder("admin.api.success.latency")
+				.description("Latency of successful admin API calls, drives the hedge delay")
+				.publishPercentiles(hedgePercentile).register(meterRegistry);
+		this.hedgedRequests = Counter.builder("admin.api.hedged").description("Hedged admin API requests sent")
+				.register(meterRegistry);
+		this.requestTimers = new HashMap<>();
+		for (String outcome : OUTCOMES) {
+			requestTimers.put(outcome, Timer.builder("admin.api.requests").description("Admin API call latency")
+					.tag("outcome", outcome).publishPercentileHistogram().register(meterRegistry));
+		}
+		this.rejectedRequests = new HashMap<>();
+		for (String reason : List.of(REJECTED_BULKHEAD_FULL, REJECTED_CIRCUIT_OPEN)) {
+			rejectedRequests.put(reason, Counter.builder("admin.api.rejected")
+					.description("Admin API calls rejected without being sent").tag("reason", reason)
+					.register(meterRegistry));
+		}
+		Gauge.builder("admin.api.inflight", bulkhead, permits -> maxConnections - permits.availablePermits())
+				.description("Admin API calls currently in flight").register(meterRegistry);
+	}
+
+	/**
+	 * Returns the admin profile response decoded from the response stream, or
+	 * {@code null} when the body is not a readable profile. Throws
+	 * {@link AdminServiceUnavailableException} when the bulkhead is full, the
+	 * circuit is open, or the admin service fails or times out.
+	 */
+	public UserProfileResponse validateActiveUser(String userId, String authorizationHeader) {
 		logger.info("validate active user is calling ..");
-		String responseStr = "";
+		String outcome = OUTCOME_ERROR;
+		// only a call that holds a circuit breaker permission reports its outcome
+		boolean permitted = false;
+		long start = System.nanoTime();
 
 		try {
-			HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(30)).build();
-
-			String url = adminURL.trim() + "/users/profile";
-			logger.info(url);
+			if (!bulkhead.tryAcquire(bulkheadMaxWaitMs, TimeUnit.MILLISECONDS)) {
+				outcome = OUTCOME_REJECTED;
+				throw reject(REJECTED_BULKHEAD_FULL, "Admin service is busy, please retry later.");
+			}
+			try {
+				if (!circuitBreaker.tryAcquirePermission()) {
+					outcome = OUTCOME_REJECTED;
+					throw reject(REJECTED_CIRCUIT_OPEN, "Admin service is unavailable, please retry later.");
+				}
+				permitted = true;
 
-			HttpRequest request = HttpRequest.newBuilder().uri(URI.create(url)).timeout(Duration.ofSeconds(30))
-					.header("Authorization", authorizationHeader).header("X-User-Id", userId).header("Content-Type", "application/json")
-					.GET().build();
+				String url = adminURL + "/users/profile";
+				HttpRequest request = HttpRequest.newBuilder().uri(URI.create(url)).timeout(requestTimeout)
+						.header("Authorization", authorizationHeader).header("X-User-Id", userId).header("Content-Type", "application/json")
+						.GET().build();
 
-			HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-			responseStr = response.body();
+				HttpResponse<InputStream> response = send(request);
+				outcome = response.statusCode() / 100 + "xx";
+				logger.info("Active user detail response received with status {}", response.statusCode());
 
-			logger.info("Active user detail response: {}", responseStr);
+				try (InputStream body = response.body()) {
+					if (response.statusCode() >= 500) {
+						permitted = false;
+						circuitBreaker.onFailure();
+						throw new AdminServiceUnavailableException(
+								"Admin service responded with status " + response.statusCode());
+					}
+					UserProfileResponse profile = decode(body);
+					if (profile != null) {
+						profile.setStatusCode(response.statusCode());
+					}
+					permitted = false;
+					circuitBreaker.onSuccess();
+					successLatency.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+					return profile;
+				}
+			} finally {
+				bulkhead.release();
+			}
 
+		} catch (AdminServiceUnavailableException e) {
+			throw e;
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			if (permitted) {
+				circuitBreaker.onFailure();
+			}
+			throw new AdminServiceUnavailableException(GET_SPECIFIC_ACTIVE_USERS_EXCEPTION_MSG, e);
 		} catch (Exception e) {
 			logger.error(GET_SPECIFIC_ACTIVE_USERS_EXCEPTION_MSG, e);
+			if (permitted) {
+				circuitBreaker.onFailure();
+			}
+			throw new AdminServiceUnavailableException(GET_SPECIFIC_ACTIVE_USERS_EXCEPTION_MSG, e);
+		} finally {
+			requestTimers.getOrDefault(outcome, requestTimers.get(OUTCOME_ERROR)).record(System.nanoTime() - start,
+					TimeUnit.NANOSECONDS);
+		}
+	}
+
+	private UserProfileResponse decode(InputStream body) throws IOException {
+		try {
+			return PROFILE_READER.readValue(body);
+		} catch (JsonProcessingException e) {
+			logger.error("Unreadable admin profile response: {}", e.getOriginalMessage());
+			return null;
+		}
+	}
+
+	private HttpResponse<InputStream> send(HttpRequest request) throws Exception {
+		if (!hedgeEnabled) {
+			return client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+		}
+
+		CompletableFuture<HttpResponse<InputStream>> primary = client.sendAsync(request,
+				HttpResponse.BodyHandlers.ofInputStream());
+		try {
+			return primary.get(hedgeDelayMs(), TimeUnit.MILLISECONDS);
+		} catch (TimeoutException e) {
+			if (!bulkhead.tryAcquire()) {
+				return unwrap(primary);
+			}
+		}
+
+		hedgedRequests.increment();
+		CompletableFuture<HttpResponse<InputStream>> hedge = client.sendAsync(request,
+				HttpResponse.BodyHandlers.ofInputStream());
+		hedge.whenComplete((response, error) -> bulkhead.release());
+
+		CompletableFuture<HttpResponse<InputStream>> firstSuccess = new CompletableFuture<>();
+		AtomicInteger pending = new AtomicInteger(2);
+		BiConsumer<HttpResponse<InputStream>, Throwable> onComplete = (response, error) -> {
+			if (error == null) {
+				if (!firstSuccess.complete(response)) {
+					discard(response);
+				}
+			} else if (pending.decrementAndGet() == 0) {
+				firstSuccess.completeExceptionally(error);
+			}
+		};
+		primary.whenComplete(onComplete);
+		hedge.whenComplete(onComplete);
+		try {
+			return unwrap(firstSuccess);
+		} finally {
+			primary.cancel(true);
+			hedge.cancel(true);
+		}
+	}
+
+	private long hedgeDelayMs() {
+		ValueAtPercentile[] percentiles = successLatency.takeSnapshot().percentileValues();
+		long observed = percentiles.length == 0 ? 0 : (long) percentiles[0].value(TimeUnit.MILLISECONDS);
+		return Math.max(hedgeMinDelayMs, observed);
+	}
+
+	private static void discard(HttpResponse<InputStream> response) {
+		try {
+			response.body().close();
+		} catch (IOException e) {
+			logger.debug("Unable to close discarded admin API response", e);
 		}
+	}
+
+	private HttpResponse<InputStream> unwrap(CompletableFuture<HttpResponse<InputStream>> future) throws Exception {
+		try {
+			return future.get();
+		} catch (ExecutionException e) {
+			throw e.getCause() instanceof Exception cause ? cause : e;
+		}
+	}
+
+	private AdminServiceUnavailableException reject(String reason, String message) {
+		logger.error("{}: {}", GET_SPECIFIC_ACTIVE_USERS_EXCEPTION_MSG, reason);
+		rejectedRequests.get(reason).increment();
+		return new AdminServiceUnavailableException(message);
+	}
 
-		return responseStr;
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdown();
 	}
 }
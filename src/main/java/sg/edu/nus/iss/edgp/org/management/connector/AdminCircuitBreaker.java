@@ -0,0 +1,130 @@
+package sg.edu.nus.iss.edgp.org.management.connector;
+
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Failure-rate circuit breaker for the admin API over a count-based sliding
+ * window. Once the failure rate reaches the threshold the circuit opens and
+ * calls fail fast; after the open duration a single trial call decides whether
+ * it closes again.
+ */
+@Component
+public class AdminCircuitBreaker {
+
+	private static final Logger logger = LoggerFactory.getLogger(AdminCircuitBreaker.class);
+
+	public enum State {
+		CLOSED, OPEN, HALF_OPEN
+	}
+
+	private final boolean[] window;
+	private final int minimumCalls;
+	private final int failureRateThreshold;
+	private final long openDurationNanos;
+
+	private State state = State.CLOSED;
+	private int position;
+	private int recorded;
+	private int failures;
+	private long openedAt;
+	private boolean trialInFlight;
+
+	public AdminCircuitBreaker(@Value("${admin.api.circuit.sliding-window-size}") int slidingWindowSize,
+			@Value("${admin.api.circuit.minimum-calls}") int minimumCalls,
+			@Value("${admin.api.circuit.failure-rate-threshold}") int failureRateThreshold,
+			@Value("${admin.api.circuit.open-duration-ms}") long openDurationMs, MeterRegistry meterRegistry) {
+		this.window = new boolean[slidingWindowSize];
+		this.minimumCalls = Math.min(minimumCalls, slidingWindowSize);
+		this.failureRateThreshold = failureRateThreshold;
+		this.openDurationNanos = TimeUnit.MILLISECONDS.toNanos(openDurationMs);
+		Gauge.builder("admin.api.circuit.state", this, breaker -> breaker.getState().ordinal())
+				.description("Admin API circuit state (0 closed, 1 open, 2 half-open)").register(meterRegistry);
+		Gauge.builder("admin.api.circuit.failure.rate", this, AdminCircuitBreaker::getFailureRate)
+				.description("Admin API failure rate over the sliding window in percent").register(meterRegistry);
+	}
+
+	/**
+	 * Returns whether a call may proceed. While half-open only one trial call is
+	 * let through at a time.
+	 */
+	public synchronized boolean tryAcquirePermission() {
+		if (state == State.OPEN && System.nanoTime() - openedAt >= openDurationNanos) {
+			transitionTo(State.HALF_OPEN);
+		}
+		if (state == State.CLOSED) {
+			return true;
+		}
+		if (state == State.HALF_OPEN && !trialInFlight) {
+			trialInFlight = true;
+			return true;
+		}
+		return false;
+	}
+
+	public synchronized void onSuccess() {
+		if (state == State.HALF_OPEN) {
+			transitionTo(State.CLOSED);
+			return;
+		}
+		record(false);
+	}
+
+	public synchronized void onFailure() {
+		if (state == State.HALF_OPEN) {
+			transitionTo(State.OPEN);
+			return;
+		}
+		record(true);
+		if (recorded >= minimumCalls && failures * 100 >= failureRateThreshold * recorded) {
+			transitionTo(State.OPEN);
+		}
+	}
+
+	public synchronized State getState() {
+		return state;
+	}
+
+	public synchronized double getFailureRate() {
+		return recorded == 0 ? 0.0 : failures * 100.0 / recorded;
+	}
+
+	private void record(boolean failed) {
+		if (state != State.CLOSED) {
+			return;
+		}
+		if (recorded == window.length) {
+			if (window[position]) {
+				failures--;
+			}
+		} else {
+			recorded++;
+		}
+		window[position] = failed;
+		if (failed) {
+			failures++;
+		}
+		position = (position + 1) % window.length;
+	}
+
+	private void transitionTo(State newState) {
+		logger.warn("Admin API circuit {} -> {}", state, newState);
+		state = newState;
+		trialInFlight = false;
+		if (newState == State.OPEN) {
+			openedAt = System.nanoTime();
+		}
+		if (newState == State.CLOSED) {
+			position = 0;
+			recorded = 0;
+			failures = 0;
+		}
+	}
+}
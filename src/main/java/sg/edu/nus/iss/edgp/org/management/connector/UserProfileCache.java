@@ -0,0 +1,103 @@
+package sg.edu.nus.iss.edgp.org.management.connector;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import sg.edu.nus.iss.edgp.org.management.pojo.UserProfileResponse;
+
+/**
+ * Caches admin user-profile responses by user id. Active profiles live for the
+ * configured TTL, inactive or unknown users for the shorter negative TTL.
+ * Concurrent lookups for the same user share a single outbound call.
+ * Rejections of the caller's own credentials (401, 403 and other 4xx except
+ * 404) say nothing about the user, so they are returned but not cached.
+ */
+@Component
+public class UserProfileCache {
+
+	public static final String CACHE_NAME = "adminUserProfile";
+
+	private final Cache<String, UserProfileResponse> cache;
+	private final Timer loadTimer;
+
+	public UserProfileCache(@Value("${admin.user.cache.ttl-seconds}") long ttlSeconds,
+			@Value("${admin.user.cache.negative-ttl-seconds}") long negativeTtlSeconds,
+			@Value("${admin.user.cache.max-size}") long maxSize, MeterRegistry meterRegistry) {
+		this.cache = Caffeine.newBuilder().maximumSize(maxSize)
+				.expireAfter(new ProfileExpiry(TimeUnit.SECONDS.toNanos(ttlSeconds),
+						TimeUnit.SECONDS.toNanos(negativeTtlSeconds)))
+				.recordStats().build();
+		this.loadTimer = Timer.builder("admin.user.profile.load").description("Admin user profile lookup latency")
+				.publishPercentiles(0.5, 0.95, 0.99).register(meterRegistry);
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+	}
+
+	/**
+	 * Returns the cached profile response, or loads it once for all concurrent
+	 * callers. A {@code null} result from the loader is returned but not cached,
+	 * and so is a response that is not {@link #isCacheable cacheable}; callers
+	 * waiting on that load get {@code null}.
+	 */
+	public UserProfileResponse get(String userId, Function<String, UserProfileResponse> loader) {
+		UserProfileResponse[] uncached = new UserProfileResponse[1];
+		UserProfileResponse profile = cache.get(userId, key -> {
+			UserProfileResponse loaded = loadTimer.record(() -> loader.apply(key));
+			if (loaded != null && !isCacheable(loaded)) {
+				uncached[0] = loaded;
+				return null;
+			}
+			return loaded;
+		});
+		return profile != null ? profile : uncached[0];
+	}
+
+	public void invalidate(String userId) {
+		cache.invalidate(userId);
+	}
+
+	/**
+	 * A well-formed profile answered with a 2xx status, or with 404 for an
+	 * unknown user.
+	 */
+	static boolean isCacheable(UserProfileResponse response) {
+		int statusCode = response.getStatusCode();
+		return response.getSuccess() != null
+				&& ((statusCode >= 200 && statusCode < 300) || statusCode == 404);
+	}
+
+	private static class ProfileExpiry implements Expiry<String, UserProfileResponse> {
+
+		private final long ttlNanos;
+		private final long negativeTtlNanos;
+
+		ProfileExpiry(long ttlNanos, long negativeTtlNanos) {
+			this.ttlNanos = ttlNanos;
+			this.negativeTtlNanos = negativeTtlNanos;
+		}
+
+		@Override
+		public long expireAfterCreate(String key, UserProfileResponse response, long currentTime) {
+			return Boolean.TRUE.equals(response.getSuccess()) ? ttlNanos : negativeTtlNanos;
+		}
+
+		@Override
+		public long expireAfterUpdate(String key, UserProfileResponse response, long currentTime, long currentDuration) {
+			return expireAfterCreate(key, response, currentTime);
+		}
+
+		@Override
+		public long expireAfterRead(String key, UserProfileResponse response, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
+	}
+}
@@ -1,5 +1,7 @@
 package sg.edu.nus.iss.edgp.org.management.controller;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -8,32 +10,51 @@ import org.slf4j.LoggerFactory;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestAttribute;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
 
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import sg.edu.nus.iss.edgp.org.management.authentication.AuthenticatedPrincipal;
 import sg.edu.nus.iss.edgp.org.management.dto.APIResponse;
 import sg.edu.nus.iss.edgp.org.management.dto.AuditDTO;
+import sg.edu.nus.iss.edgp.org.management.dto.BulkUpdateReport;
+import sg.edu.nus.iss.edgp.org.management.dto.CursorPage;
+import sg.edu.nus.iss.edgp.org.management.dto.OrganizationBulkUpdateRequest;
+import sg.edu.nus.iss.edgp.org.management.dto.OrganizationCursor;
 import sg.edu.nus.iss.edgp.org.management.dto.OrganizationDTO;
+import sg.edu.nus.iss.edgp.org.management.dto.OrganizationImportReport;
+import sg.edu.nus.iss.edgp.org.management.dto.OrganizationImportRowResult;
 import sg.edu.nus.iss.edgp.org.management.dto.OrganizationRequest;
+import sg.edu.nus.iss.edgp.org.management.dto.PageResult;
 import sg.edu.nus.iss.edgp.org.management.dto.SearchRequest;
 import sg.edu.nus.iss.edgp.org.management.dto.ValidationResult;
+import sg.edu.nus.iss.edgp.org.management.enums.CountMode;
+import sg.edu.nus.iss.edgp.org.management.exception.DuplicateOrganizationException;
+import sg.edu.nus.iss.edgp.org.management.exception.InvalidCursorException;
 import sg.edu.nus.iss.edgp.org.management.exception.OrganizationServiceException;
 import sg.edu.nus.iss.edgp.org.management.service.impl.AuditService;
-import sg.edu.nus.iss.edgp.org.management.service.impl.JwtService;
+import sg.edu.nus.iss.edgp.org.management.service.impl.OrganizationImportService;
 import sg.edu.nus.iss.edgp.org.management.service.impl.OrganizationService;
 import sg.edu.nus.iss.edgp.org.management.strategy.impl.OrganizationValidationStrategy;
+import sg.edu.nus.iss.edgp.org.management.utility.JsonStreamWriter;
+import sg.edu.nus.iss.edgp.org.management.utility.OrganizationImportReader;
 
 @RestController
 @RequiredArgsConstructor
@@ -41,10 +62,12 @@ import sg.edu.nus.iss.edgp.org.management.strategy.impl.OrganizationValidationSt
 public class OrganizationController {
 	
 	private static final Logger logger = LoggerFactory.getLogger(OrganizationController.class);
+	private static final String IMPORT_CSV_TYPE = "text/csv";
 	private final AuditService auditService;
-	private final JwtService jwtService;
 	private final OrganizationValidationStrategy organizationValidationStrategy;
 	private final OrganizationService organizationService;
+	private final OrganizationImportService organizationImportService;
+	private final ObjectMapper objectMapper;
 	
 	private String genericErrorMessage = "An error occurred while processing your request. Please try again later.";
 
@@ -52,7 +75,9 @@ public class OrganizationController {
 	@PostMapping(value = "", produces = "application/json")
 	@PreAuthorize("hasAuthority('SCOPE_manage:org')")
 	public ResponseEntity<APIResponse<OrganizationDTO>> createOrganization(
-			@RequestHeader("Authorization") String authorizationHeader, @RequestBody OrganizationRequest orgRequest) {
+			@RequestHeader("Authorization") String authorizationHeader,
+			@RequestAttribute(AuthenticatedPrincipal.REQUEST_ATTRIBUTE) AuthenticatedPrincipal principal,
+			@RequestBody OrganizationRequest orgRequest) {
 		
 		logger.info("Calling create Organization API ...");
 		String message = "";
@@ -64,8 +89,7 @@ public class OrganizationController {
 		
 		try {
 			
-			String jwtToken = authorizationHeader.substring(7);
-			String userId = jwtService.extractSubject(jwtToken);
+			String userId = principal.getUserId();
 			ValidationResult validationResult = organizationValidationStrategy.validateCreation(orgRequest);
 			if (validationResult.isValid()) {
 				OrganizationDTO organizationDTO = organizationService.createOrganization(orgRequest, userId);
@@ -79,6 +103,11 @@ public class OrganizationController {
 				auditService.logAudit(auditDTO, validationResult.getStatus().value(), message, authorizationHeader);
 				return ResponseEntity.status(validationResult.getStatus()).body(APIResponse.error(message));
 			}	
+		} catch (DuplicateOrganizationException e) {
+			message = e.getMessage();
+			logger.error(message);
+			auditService.logAudit(auditDTO, 400, message, authorizationHeader);
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(APIResponse.error(message));
 		} catch (Exception e) {
 			message = e instanceof OrganizationServiceException ? e.getMessage() : genericErrorMessage;
 			logger.error(message);
@@ -102,6 +131,27 @@ public class OrganizationController {
 		AuditDTO auditDTO = auditService.createAuditDTO(activityType, endpoint, httpMethod);
 		
 		try {
+			if (!searchRequest.isNoPagination() && searchRequest.getAfter() != null) {
+				OrganizationCursor cursor = OrganizationCursor.decode(searchRequest.getAfter());
+				CursorPage<OrganizationDTO> cursorPage = organizationService
+						.retrieveActiveOrganizationListAfter(cursor, searchRequest.getSize());
+				message = cursorPage.getContent().isEmpty() ? "No Active Organization List."
+						: "Successfully retrieved all active organization list.";
+				auditService.logAudit(auditDTO, 200, message, authorizationHeader);
+				return ResponseEntity.status(HttpStatus.OK).body(APIResponse.successWithCursor(cursorPage, message));
+			}
+			
+			if (!searchRequest.isNoPagination() && searchRequest.getCountMode() != CountMode.EXACT) {
+				Pageable pageable = PageRequest.of(searchRequest.getPage() - 1, searchRequest.getSize(),
+						Sort.by("organizationName").ascending());
+				PageResult<OrganizationDTO> pageResult = organizationService
+						.retrievePaginatedActiveOrganizationList(pageable, searchRequest.getCountMode());
+				message = pageResult.getContent().isEmpty() ? "No Active Organization List."
+						: "Successfully retrieved all active organization list.";
+				auditService.logAudit(auditDTO, 200, message, authorizationHeader);
+				return ResponseEntity.status(HttpStatus.OK).body(APIResponse.successWithPage(pageResult, message));
+			}
+			
 			Map<Long, List<OrganizationDTO>> resultMap;
 			
 			 if (searchRequest.isNoPagination()) {
@@ -135,6 +185,110 @@ public class OrganizationController {
 			}
 
 			
+		} catch (InvalidCursorException e) {
+			message = "Invalid pagination cursor.";
+			logger.error(message);
+			auditService.logAudit(auditDTO, 400, message, authorizationHeader);
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(APIResponse.error(message));
+		} catch (Exception e) {
+			message = e instanceof OrganizationServiceException ? e.getMessage() : genericErrorMessage;
+			logger.error(message);
+			auditService.logAudit(auditDTO, 500, message, authorizationHeader);
+			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(APIResponse.error(message));
+		}
+	}
+	
+	/**
+	 * Streams every active organization as a JSON array, or as NDJSON when the
+	 * client accepts {@code application/x-ndjson}. Rows are written as they
+	 * come off the database cursor instead of being collected first, so the
+	 * body is a bare list rather than an {@link APIResponse} envelope.
+	 */
+	@GetMapping(value = "/stream", produces = { MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE })
+	@PreAuthorize("hasAuthority('SCOPE_manage:org')")
+	public ResponseEntity<StreamingResponseBody> streamActiveOrganizationList(
+			@RequestHeader("Authorization") String authorizationHeader,
+			@RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+		
+		logger.info("Call active organization list streaming API...");
+		String activityType = "Stream Active Organization List";
+		String endpoint = "/api/orgs/stream";
+		String httpMethod = HttpMethod.GET.name();
+		AuditDTO auditDTO = auditService.createAuditDTO(activityType, endpoint, httpMethod);
+		boolean ndjson = accept != null && accept.contains(MediaType.APPLICATION_NDJSON_VALUE);
+		
+		StreamingResponseBody body = outputStream -> {
+			try (JsonStreamWriter writer = new JsonStreamWriter(objectMapper, outputStream, ndjson)) {
+				long count = organizationService.streamActiveOrganizationList(writer::write);
+				writer.finish();
+				String message = count > 0 ? "Successfully streamed " + count + " active organizations."
+						: "No Active Organization List.";
+				auditService.logAudit(auditDTO, 200, message, authorizationHeader);
+			} catch (IOException | RuntimeException e) {
+				String message = e instanceof OrganizationServiceException ? e.getMessage() : genericErrorMessage;
+				logger.error(message);
+				auditService.logAudit(auditDTO, 500, message, authorizationHeader);
+				throw e;
+			}
+		};
+		return ResponseEntity.status(HttpStatus.OK)
+				.contentType(ndjson ? MediaType.APPLICATION_NDJSON : MediaType.APPLICATION_JSON).body(body);
+	}
+	
+	/**
+	 * Imports organizations from a JSON array of create requests or a CSV file
+	 * with a header row. The body is read and inserted chunk by chunk, one
+	 * audit event is logged per chunk, and the response reports the outcome of
+	 * every row.
+	 */
+	@PostMapping(value = "/import", consumes = { MediaType.APPLICATION_JSON_VALUE, IMPORT_CSV_TYPE },
+			produces = "application/json")
+	@PreAuthorize("hasAuthority('SCOPE_manage:org')")
+	public ResponseEntity<APIResponse<OrganizationImportReport>> importOrganizations(
+			@RequestHeader("Authorization") String authorizationHeader,
+			@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+			@RequestAttribute(AuthenticatedPrincipal.REQUEST_ATTRIBUTE) AuthenticatedPrincipal principal,
+			InputStream body) {
+		
+		logger.info("Calling import Organizations API ...");
+		String message = "";
+		String activityType = "Import Organizations";
+		String endpoint = "/api/orgs/import";
+		String httpMethod = HttpMethod.POST.name();
+		AuditDTO auditDTO = auditService.createAuditDTO(activityType, endpoint, httpMethod);
+		
+		try (OrganizationImportReader reader = contentType.startsWith(IMPORT_CSV_TYPE)
+				? OrganizationImportReader.csv(body)
+				: OrganizationImportReader.json(objectMapper, body)) {
+			
+			String userId = principal.getUserId();
+			OrganizationImportReport report = organizationImportService.importOrganizations(reader, userId,
+					results -> {
+						long imported = results.stream().filter(OrganizationImportRowResult::isImported).count();
+						String chunkMessage = "Imported " + imported + " of " + results.size()
+								+ " organizations in rows " + results.get(0).getRowNumber() + "-"
+								+ results.get(results.size() - 1).getRowNumber() + ".";
+						auditService.logAudit(auditService.createAuditDTO(activityType, endpoint, httpMethod),
+								imported == results.size() ? 200 : 400, chunkMessage, authorizationHeader);
+					});
+			message = "Imported " + report.getImportedRows() + " of " + report.getTotalRows() + " organizations.";
+			if (report.isFailed()) {
+				// 207 when rows before the malformed one were imported, otherwise nothing changed
+				HttpStatus status = report.getImportedRows() > 0 ? HttpStatus.MULTI_STATUS : HttpStatus.BAD_REQUEST;
+				message = message + " " + report.getErrorMessage();
+				logger.error(message);
+				auditService.logAudit(auditDTO, status.value(), message, authorizationHeader);
+				return ResponseEntity.status(status)
+						.body(APIResponse.error(report, message, report.getTotalRows()));
+			}
+			logger.info(message);
+			return ResponseEntity.status(HttpStatus.OK)
+					.body(APIResponse.success(report, message, report.getTotalRows()));
+		} catch (IllegalArgumentException e) {
+			message = e.getMessage();
+			logger.error(message);
+			auditService.logAudit(auditDTO, 400, message, authorizationHeader);
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(APIResponse.error(message));
 		} catch (Exception e) {
 			message = e instanceof OrganizationServiceException ? e.getMessage() : genericErrorMessage;
 			logger.error(message);
@@ -146,7 +300,8 @@ public class OrganizationController {
 	@GetMapping(value = "/my-organization", produces = "application/json")
 	@PreAuthorize("hasAuthority('SCOPE_manage:org') or hasAuthority('SCOPE_view:org')")
 	public ResponseEntity<APIResponse<OrganizationDTO>> getOrganizationbyOrgId(
-			@RequestHeader("Authorization") String authorizationHeader, @RequestHeader("X-Org-Id") String orgId) {
+			@RequestHeader("Authorization") String authorizationHeader, @RequestHeader("X-Org-Id") String orgId,
+			@RequestAttribute(AuthenticatedPrincipal.REQUEST_ATTRIBUTE) AuthenticatedPrincipal principal) {
 		logger.info("Call orgainzation by org id API...");
 		
 		String message = "";
@@ -156,7 +311,7 @@ public class OrganizationController {
 		AuditDTO auditDTO = auditService.createAuditDTO(activityType, endpoint, httpMethod);
 		
 		try {
-			ValidationResult validationResult  = organizationValidationStrategy.validateObject(orgId, authorizationHeader);
+			ValidationResult validationResult  = organizationValidationStrategy.validateObject(orgId, principal);
 			if (!validationResult.isValid()) {
 				message = validationResult.getMessage();
 				logger.error(message);
@@ -183,6 +338,7 @@ public class OrganizationController {
 	@PreAuthorize("hasAuthority('SCOPE_manage:org')")
 	public ResponseEntity<APIResponse<OrganizationDTO>> updateOrganization(
 			@RequestHeader("Authorization") String authorizationHeader, @RequestHeader("X-Org-Id") String orgId,
+			@RequestAttribute(AuthenticatedPrincipal.REQUEST_ATTRIBUTE) AuthenticatedPrincipal principal,
 			@RequestBody OrganizationRequest orgReq) {
 		logger.info("Calling organization update API...");
 		String message = "";
@@ -193,8 +349,7 @@ public class OrganizationController {
 
 		try {
 
-			String jwtToken = authorizationHeader.substring(7);
-			String userId = jwtService.extractSubject(jwtToken);
+			String userId = principal.getUserId();
 			orgReq.setOrganizationId(orgId);
 			ValidationResult validationResult = organizationValidationStrategy.validateUpdating(orgReq);
 
@@ -219,10 +374,83 @@ public class OrganizationController {
 		}
 	}
 	
+	/**
+	 * Moves the selected organizations to another sector and/or sets their
+	 * active flag. The change is applied in batches, each audited once.
+	 */
+	@PutMapping(value = "/bulk", produces = "application/json")
+	@PreAuthorize("hasAuthority('SCOPE_manage:org')")
+	public ResponseEntity<APIResponse<BulkUpdateReport>> bulkUpdateOrganizations(
+			@RequestHeader("Authorization") String authorizationHeader,
+			@RequestAttribute(AuthenticatedPrincipal.REQUEST_ATTRIBUTE) AuthenticatedPrincipal principal,
+			@RequestBody OrganizationBulkUpdateRequest bulkRequest) {
+		logger.info("Calling organization bulk update API...");
+		return bulkUpdate(authorizationHeader, principal, bulkRequest, "Bulk Update Organizations", "/api/orgs/bulk");
+	}
+	
+	@PutMapping(value = "/bulk/deactivate", produces = "application/json")
+	@PreAuthorize("hasAuthority('SCOPE_manage:org')")
+	public ResponseEntity<APIResponse<BulkUpdateReport>> bulkDeactivateOrganizations(
+			@RequestHeader("Authorization") String authorizationHeader,
+			@RequestAttribute(AuthenticatedPrincipal.REQUEST_ATTRIBUTE) AuthenticatedPrincipal principal,
+			@RequestBody OrganizationBulkUpdateRequest bulkRequest) {
+		logger.info("Calling organization bulk deactivate API...");
+		bulkRequest.setSectorId(null);
+		bulkRequest.setActive(false);
+		return bulkUpdate(authorizationHeader, principal, bulkRequest, "Bulk Deactivate Organizations",
+				"/api/orgs/bulk/deactivate");
+	}
+	
+	private ResponseEntity<APIResponse<BulkUpdateReport>> bulkUpdate(String authorizationHeader,
+			AuthenticatedPrincipal principal, OrganizationBulkUpdateRequest bulkRequest, String activityType,
+			String endpoint) {
+		String message = "";
+		String httpMethod = HttpMethod.PUT.name();
+		AuditDTO auditDTO = auditService.createAuditDTO(activityType, endpoint, httpMethod);
+		
+		try {
+			ValidationResult validationResult = organizationValidationStrategy.validateBulkUpdate(bulkRequest);
+			if (!validationResult.isValid()) {
+				message = validationResult.getMessage();
+				logger.error(message);
+				auditService.logAudit(auditDTO, validationResult.getStatus().value(), message, authorizationHeader);
+				return ResponseEntity.status(validationResult.getStatus()).body(APIResponse.error(message));
+			}
+			
+			String userId = principal.getUserId();
+			BulkUpdateReport report = organizationService.bulkUpdateOrganizations(bulkRequest, userId,
+					batch -> auditService.logAudit(auditService.createAuditDTO(activityType, endpoint, httpMethod), 200,
+							"Updated " + batch.getUpdatedRecords() + " of " + batch.getMatchedRecords()
+									+ " organizations in batch " + batch.getBatchNumber() + ".",
+							authorizationHeader));
+			message = "Updated " + report.getUpdatedRecords() + " of " + report.getMatchedRecords() + " organizations.";
+			if (report.isFailed()) {
+				// 207 when earlier batches were committed, otherwise nothing changed
+				HttpStatus status = !report.getBatches().isEmpty() ? HttpStatus.MULTI_STATUS
+						: report.isConflict() ? HttpStatus.CONFLICT : HttpStatus.INTERNAL_SERVER_ERROR;
+				message = message + " " + report.getErrorMessage();
+				logger.error(message);
+				auditService.logAudit(auditDTO, status.value(), message, authorizationHeader);
+				return ResponseEntity.status(status)
+						.body(APIResponse.error(report, message, report.getUpdatedRecords()));
+			}
+			logger.info(message);
+			return ResponseEntity.status(HttpStatus.OK)
+					.body(APIResponse.success(report, message, report.getUpdatedRecords()));
+			
+		} catch (Exception ex) {
+			message = ex instanceof OrganizationServiceException ? ex.getMessage() : genericErrorMessage;
+			logger.error(message);
+			auditService.logAudit(auditDTO, 500, message, authorizationHeader);
+			return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(APIResponse.error(message));
+		}
+	}
+	
 	@GetMapping(value = "/users", produces = "application/json")
 	@PreAuthorize("hasAuthority('SCOPE_manage:org')")
 	public ResponseEntity<APIResponse<List<OrganizationDTO>>> getOrganizationListByUserId(
 			@RequestHeader("Authorization") String authorizationHeader,
+			@RequestAttribute(AuthenticatedPrincipal.REQUEST_ATTRIBUTE) AuthenticatedPrincipal principal,
 			 @Valid SearchRequest searchRequest) {
 		
         logger.info("Call orgainzation list by user id API...");
@@ -235,12 +463,28 @@ public class OrganizationController {
 		
 		try {
 			
-			String jwtToken = authorizationHeader.substring(7);
-			String userId = jwtService.extractSubject(jwtToken);
+			String userId = principal.getUserId();
 			
+			if (searchRequest.getAfter() != null) {
+				OrganizationCursor cursor = OrganizationCursor.decode(searchRequest.getAfter());
+				CursorPage<OrganizationDTO> cursorPage = organizationService
+						.findActiveOrganizationListByUserIdAfter(userId, cursor, searchRequest.getSize());
+				message = cursorPage.getContent().isEmpty() ? "No Active Organization List by this user."
+						: "Successfully retrieved all active organization list by user.";
+				auditService.logAudit(auditDTO, 200, message, authorizationHeader);
+				return ResponseEntity.status(HttpStatus.OK).body(APIResponse.successWithCursor(cursorPage, message));
+			}
 			
 			Pageable pageable = PageRequest.of(searchRequest.getPage() - 1, searchRequest.getSize(),
 					Sort.by("organizationName").ascending());
+			if (searchRequest.getCountMode() != CountMode.EXACT) {
+				PageResult<OrganizationDTO> pageResult = organizationService.findActiveOrganizationListByUserId(userId,
+						pageable, searchRequest.getCountMode());
+				message = pageResult.getContent().isEmpty() ? "No Active Organization List by this user."
+						: "Successfully retrieved all active organization list by user.";
+				auditService.logAudit(auditDTO, 200, message, authorizationHeader);
+				return ResponseEntity.status(HttpStatus.OK).body(APIResponse.successWithPage(pageResult, message));
+			}
 			Map<Long, List<OrganizationDTO>> resultMap = organizationService.findActiveOrganizationListByUserId(userId, pageable);
 			logger.info("all active organization list size {}", resultMap.size());
 
@@ -262,6 +506,11 @@ public class OrganizationController {
 						.body(APIResponse.successWithEmptyData(organizationDTOList, message));
 			}
 			
+		} catch (InvalidCursorException ex) {
+			message = "Invalid pagination cursor.";
+			logger.error(message);
+			auditService.logAudit(auditDTO, 400, message, authorizationHeader);
+			return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(APIResponse.error(message));
 		} catch (Exception ex) {
 			message = ex instanceof OrganizationServiceException ? ex.getMessage() : genericErrorMessage;
 			logger.error(message);
@@ -1,5 +1,9 @@
 package sg.edu.nus.iss.edgp.org.management.dto;
 
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -14,6 +18,12 @@ public class APIResponse<T>  {
 	private long totalRecord;
 	private T data;
 	
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private String nextCursor;
+	
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private Boolean hasNext;
+	
 	public static <T> APIResponse<T> success(T data, String message) {
 		return APIResponse.<T>builder().success(true).message(message).data(data).totalRecord(1).build();
 	}
@@ -22,6 +32,10 @@ public class APIResponse<T>  {
 		return APIResponse.<T>builder().success(false).message(message).totalRecord(0).build();
 	}
 	
+	public static <T> APIResponse<T> error(T data, String message, long totalRecord) {
+		return APIResponse.<T>builder().success(false).message(message).totalRecord(totalRecord).data(data).build();
+	}
+	
 	public static <T> APIResponse<T> success(T data, String message, long totalRecord) {
 		return APIResponse.<T>builder().success(true).message(message).totalRecord(totalRecord).data(data).build();
 	}
@@ -29,4 +43,20 @@ public class APIResponse<T>  {
 	public static <T> APIResponse<T> successWithEmptyData(T data, String message) {
 		return APIResponse.<T>builder().success(true).message(message).data(data).totalRecord(0).build();
 	}
-}
\ No newline at end of file
+	
+	/**
+	 * Without a total ({@code CountMode.NONE}) {@code totalRecord} is the page
+	 * size and clients page on {@code hasNext}.
+	 */
+	public static <T> APIResponse<List<T>> successWithPage(PageResult<T> page, String message) {
+		long totalRecord = page.getTotalRecord() != null ? page.getTotalRecord() : page.getContent().size();
+		return APIResponse.<List<T>>builder().success(true).message(message).data(page.getContent())
+				.totalRecord(totalRecord).hasNext(page.isHasNext()).build();
+	}
+	
+	public static <T> APIResponse<List<T>> successWithCursor(CursorPage<T> page, String message) {
+		return APIResponse.<List<T>>builder().success(true).message(message).data(page.getContent())
+				.totalRecord(page.getContent().size()).nextCursor(page.getNextCursor()).hasNext(page.isHasNext())
+				.build();
+	}
+}
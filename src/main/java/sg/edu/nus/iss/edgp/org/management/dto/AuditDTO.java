@@ -1,5 +1,9 @@
 package sg.edu.nus.iss.edgp.org.management.dto;
 
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import lombok.Getter;
 import lombok.Setter;
 import sg.edu.nus.iss.edgp.org.management.enums.AuditResponseStatus;
@@ -18,4 +22,14 @@ public class AuditDTO {
 	private String requestHTTPVerb;
 	private String remarks = "";
 
+	// only set on summaries of aggregated read audits
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private Integer eventCount;
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private String firstOccurredAt;
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private String lastOccurredAt;
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private List<String> distinctUserIds;
+
 }
@@ -0,0 +1,14 @@
+package sg.edu.nus.iss.edgp.org.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class BulkUpdateBatchResult {
+
+	private int batchNumber;
+	private int matchedRecords;
+	private int updatedRecords;
+
+}
@@ -0,0 +1,41 @@
+package sg.edu.nus.iss.edgp.org.management.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class BulkUpdateReport {
+
+	private int matchedRecords;
+	private int updatedRecords;
+	private List<BulkUpdateBatchResult> batches;
+
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private Integer failedBatchNumber;
+
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private String errorMessage;
+
+	/**
+	 * Whether the failed batch was rejected by a constraint or a concurrent
+	 * change rather than by an unexpected error.
+	 */
+	@JsonIgnore
+	private boolean conflict;
+
+	public BulkUpdateReport(int matchedRecords, int updatedRecords, List<BulkUpdateBatchResult> batches) {
+		this(matchedRecords, updatedRecords, batches, null, null, false);
+	}
+
+	@JsonIgnore
+	public boolean isFailed() {
+		return failedBatchNumber != null;
+	}
+
+}
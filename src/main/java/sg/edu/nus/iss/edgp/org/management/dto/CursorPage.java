@@ -0,0 +1,16 @@
+package sg.edu.nus.iss.edgp.org.management.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CursorPage<T> {
+
+	private List<T> content;
+	private String nextCursor;
+	private boolean hasNext;
+
+}
@@ -0,0 +1,21 @@
+package sg.edu.nus.iss.edgp.org.management.dto;
+
+import java.util.List;
+
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Selects organizations either by {@code organizationIds} or by their
+ * {@code currentSectorId}, and moves them to {@code sectorId} and/or sets
+ * {@code active}.
+ */
+@Getter
+@Setter
+public class OrganizationBulkUpdateRequest {
+
+	private List<String> organizationIds;
+	private String currentSectorId;
+	private String sectorId;
+	private Boolean active;
+}
@@ -0,0 +1,47 @@
+package sg.edu.nus.iss.edgp.org.management.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import sg.edu.nus.iss.edgp.org.management.exception.InvalidCursorException;
+
+/**
+ * Position in the organization list ordered by name then id. The opaque token
+ * sent to clients is the URL-safe base64 of {@code organizationId\norganizationName}.
+ */
+public record OrganizationCursor(String organizationName, String organizationId) {
+
+	/**
+	 * Sorts before every organization, used for the first keyset page.
+	 */
+	public static final OrganizationCursor START = new OrganizationCursor("", "");
+
+	private static final char SEPARATOR = '\n';
+
+	public String encode() {
+		String value = organizationId + SEPARATOR + organizationName;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * Returns {@link #START} for a blank token and throws
+	 * {@link InvalidCursorException} for one that was not produced by
+	 * {@link #encode()}.
+	 */
+	public static OrganizationCursor decode(String token) {
+		if (token == null || token.isBlank()) {
+			return START;
+		}
+		String value;
+		try {
+			value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+		} catch (IllegalArgumentException e) {
+			throw new InvalidCursorException("Invalid organization cursor", e);
+		}
+		int separator = value.indexOf(SEPARATOR);
+		if (separator <= 0 || separator == value.length() - 1) {
+			throw new InvalidCursorException("Invalid organization cursor");
+		}
+		return new OrganizationCursor(value.substring(separator + 1), value.substring(0, separator));
+	}
+}
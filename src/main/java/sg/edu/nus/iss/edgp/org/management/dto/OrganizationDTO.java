@@ -1,10 +1,12 @@
 package sg.edu.nus.iss.edgp.org.management.dto;
 
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Getter
 @Setter
+@NoArgsConstructor
 public class OrganizationDTO {
 
 	private String organizationId;
@@ -25,4 +27,37 @@ public class OrganizationDTO {
     private String primaryContactNumber;
     private String remark;
     private Boolean active;
+
+	/**
+	 * Used by the JPQL constructor expressions in {@code OrganizationRepository}.
+	 * JPQL cannot nest constructors, so the sector columns are passed flat and
+	 * the sector is left {@code null} when the organization has none.
+	 */
+	public OrganizationDTO(String organizationId, String organizationName, String address, String contactNumber,
+			String uniqueEntityNumber, String streetAddress, String city, String postalCode, String country,
+			String websiteURL, Integer organizationSize, String primaryContactName, String primaryContactPosition,
+			String primaryContactNumber, String remark, Boolean active, String sectorId, String sectorName,
+			String sectorCode, String sectorDescription, String sectorCreatedBy, String sectorLastUpdatedBy,
+			String sectorRemark, Boolean sectorActive) {
+		this.organizationId = organizationId;
+		this.organizationName = organizationName;
+		this.address = address;
+		this.contactNumber = contactNumber;
+		this.uniqueEntityNumber = uniqueEntityNumber;
+		this.streetAddress = streetAddress;
+		this.city = city;
+		this.postalCode = postalCode;
+		this.country = country;
+		this.websiteURL = websiteURL;
+		this.organizationSize = organizationSize != null ? organizationSize : 0;
+		this.primaryContactName = primaryContactName;
+		this.primaryContactPosition = primaryContactPosition;
+		this.primaryContactNumber = primaryContactNumber;
+		this.remark = remark;
+		this.active = active;
+		if (sectorId != null) {
+			this.sector = new SectorDTO(sectorId, sectorName, sectorCode, sectorDescription, sectorCreatedBy,
+					sectorLastUpdatedBy, sectorRemark, sectorActive);
+		}
+	}
 }
@@ -0,0 +1,40 @@
+package sg.edu.nus.iss.edgp.org.management.dto;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class OrganizationImportReport {
+
+	private int totalRows;
+	private int importedRows;
+	private int failedRows;
+	private List<OrganizationImportRowResult> rows;
+
+	/**
+	 * The row that could not be read when the file turned out to be malformed
+	 * part-way; the rows before it are reported in {@link #rows}.
+	 */
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private Integer failedRowNumber;
+
+	@JsonInclude(JsonInclude.Include.NON_NULL)
+	private String errorMessage;
+
+	public OrganizationImportReport(int totalRows, int importedRows, int failedRows,
+			List<OrganizationImportRowResult> rows) {
+		this(totalRows, importedRows, failedRows, rows, null, null);
+	}
+
+	@JsonIgnore
+	public boolean isFailed() {
+		return failedRowNumber != null;
+	}
+
+}
@@ -0,0 +1,16 @@
+package sg.edu.nus.iss.edgp.org.management.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class OrganizationImportRowResult {
+
+	private int rowNumber;
+	private String organizationName;
+	private String organizationId;
+	private boolean imported;
+	private String message;
+
+}
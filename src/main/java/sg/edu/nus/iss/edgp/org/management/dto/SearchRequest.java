@@ -1,6 +1,7 @@
 package sg.edu.nus.iss.edgp.org.management.dto;
 
 import jakarta.validation.constraints.Min;
+import sg.edu.nus.iss.edgp.org.management.enums.CountMode;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -15,5 +16,13 @@ public class SearchRequest {
 	private int size = 50;
 	
 	private boolean noPagination = false; 
+	
+	private CountMode countMode = CountMode.EXACT;
+	
+	/**
+	 * Keyset cursor returned as {@code nextCursor}; when present (empty for the
+	 * first page) {@code page} is ignored and no total count is computed.
+	 */
+	private String after;
 
 }
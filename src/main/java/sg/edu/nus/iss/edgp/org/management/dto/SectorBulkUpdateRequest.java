@@ -0,0 +1,14 @@
+package sg.edu.nus.iss.edgp.org.management.dto;
+
+import java.util.List;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class SectorBulkUpdateRequest {
+
+	private List<String> sectorIds;
+	private Boolean active;
+}
@@ -1,10 +1,12 @@
 package sg.edu.nus.iss.edgp.org.management.dto;
 
 import lombok.Getter;
+import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Getter
 @Setter
+@NoArgsConstructor
 public class SectorDTO {
 
 	private String sectorID;
@@ -15,4 +17,19 @@ public class SectorDTO {
 	private String lastUpdatedBy;
 	private String remark;
 	private Boolean active;
+
+	/**
+	 * Used by the JPQL constructor expressions in {@code SectorRepository}.
+	 */
+	public SectorDTO(String sectorID, String sectorName, String sectorCode, String description, String createdBy,
+			String lastUpdatedBy, String remark, Boolean active) {
+		this.sectorID = sectorID;
+		this.sectorName = sectorName;
+		this.sectorCode = sectorCode;
+		this.description = description;
+		this.createdBy = createdBy;
+		this.lastUpdatedBy = lastUpdatedBy;
+		this.remark = remark;
+		this.active = active;
+	}
 }
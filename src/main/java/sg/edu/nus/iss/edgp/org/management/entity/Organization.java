@@ -4,7 +4,6 @@ import java.time.LocalDateTime;
 
 import org.hibernate.annotations.UuidGenerator;
 
-import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
@@ -53,9 +52,9 @@ public class Organization {
 	@Column(nullable = true)
 	private int organizationSize;
 	
-	@ManyToOne(cascade = CascadeType.ALL)
+	@ManyToOne
     @JoinColumn(name = "sectorId")
-    private Sector Sector;
+    private Sector sector;
 	
 	@Column(nullable = false)
 	private String primaryContactName;
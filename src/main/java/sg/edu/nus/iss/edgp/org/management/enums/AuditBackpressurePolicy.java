@@ -0,0 +1,5 @@
+package sg.edu.nus.iss.edgp.org.management.enums;
+
+public enum AuditBackpressurePolicy {
+	DROP_NEWEST, DROP_OLDEST, CALLER_RUNS, SPOOL
+}
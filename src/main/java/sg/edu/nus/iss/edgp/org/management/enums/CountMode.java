@@ -0,0 +1,10 @@
+package sg.edu.nus.iss.edgp.org.management.enums;
+
+/**
+ * How a paginated list fills {@code totalRecord}: {@code EXACT} runs a count
+ * query per page, {@code NONE} skips it and reports {@code hasNext} instead,
+ * {@code CACHED} reuses a count kept by {@code RecordCountCache}.
+ */
+public enum CountMode {
+	EXACT, NONE, CACHED
+}
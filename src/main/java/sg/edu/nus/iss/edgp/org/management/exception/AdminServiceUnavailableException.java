@@ -0,0 +1,13 @@
+package sg.edu.nus.iss.edgp.org.management.exception;
+
+public class AdminServiceUnavailableException extends RuntimeException {
+	private static final long serialVersionUID = 1L;
+
+	public AdminServiceUnavailableException(String message) {
+		super(message);
+	}
+	
+	public AdminServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,13 @@
+package sg.edu.nus.iss.edgp.org.management.exception;
+
+public class DuplicateOrganizationException extends OrganizationServiceException {
+
+	private static final long serialVersionUID = 1L;
+
+	public static final String DUPLICATE_NAME_MESSAGE = "Duplicate organization name detected. Please enter a unique name.";
+	public static final String DUPLICATE_UEN_MESSAGE = "Duplicate organization UEN detected. Please enter a unique UEN.";
+
+	public DuplicateOrganizationException(String message, Throwable cause) {
+		super(message, cause);
+	}
+}
@@ -0,0 +1,12 @@
+package sg.edu.nus.iss.edgp.org.management.exception;
+
+public class DuplicateSectorException extends SectorServiceException {
+
+	private static final long serialVersionUID = 1L;
+
+	public static final String DUPLICATE_MESSAGE = "Duplicate sector detected. Please enter a unique name.";
+
+	public DuplicateSectorException(Throwable cause) {
+		super(DUPLICATE_MESSAGE, cause);
+	}
+}
@@ -26,6 +26,15 @@ public class GlobalExceptionHandler {
 		return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
 	}
 
+	@SuppressWarnings("rawtypes")
+	@ExceptionHandler(AdminServiceUnavailableException.class)
+	@ResponseBody
+	public ResponseEntity<APIResponse> handleAdminServiceUnavailableException(AdminServiceUnavailableException ex) {
+		String message = ex.getMessage();
+		logger.error(message);
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(APIResponse.error(message));
+	}
+
 	@SuppressWarnings("rawtypes")
 	@ExceptionHandler(Exception.class)
 	@ResponseBody
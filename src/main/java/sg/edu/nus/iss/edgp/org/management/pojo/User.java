@@ -1,19 +1,26 @@
 package sg.edu.nus.iss.edgp.org.management.pojo;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
 import lombok.Getter;
 import lombok.Setter;
 
 @Getter
 @Setter
+@JsonIgnoreProperties(ignoreUnknown = true)
 public class User {
 
+	@JsonProperty("userID")
 	private String userId = "";
 
 	private String email = "";
 	private String username = "";
 
+	@JsonIgnore
 	private String password = "";
 
 	private String role = "";
 
-}
\ No newline at end of file
+}
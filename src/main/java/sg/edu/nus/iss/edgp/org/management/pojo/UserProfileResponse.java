@@ -0,0 +1,26 @@
+package sg.edu.nus.iss.edgp.org.management.pojo;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class UserProfileResponse {
+
+	private Boolean success;
+
+	private String message;
+
+	private User data;
+
+	/**
+	 * HTTP status the admin API answered with; not part of the response body.
+	 */
+	@JsonIgnore
+	private int statusCode;
+
+}
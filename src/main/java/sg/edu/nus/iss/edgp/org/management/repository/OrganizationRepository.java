@@ -1,29 +1,135 @@
 package sg.edu.nus.iss.edgp.org.management.repository;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.QueryHint;
 
+import sg.edu.nus.iss.edgp.org.management.dto.OrganizationDTO;
 import sg.edu.nus.iss.edgp.org.management.entity.Organization;
+import sg.edu.nus.iss.edgp.org.management.entity.Sector;
 
 public interface OrganizationRepository extends JpaRepository<Organization, String> {
 
+	/**
+	 * Read queries project straight into {@link OrganizationDTO} with the sector
+	 * joined in the same statement, so no managed entities are hydrated.
+	 */
+	String SELECT_ORGANIZATION_DTO = "SELECT new sg.edu.nus.iss.edgp.org.management.dto.OrganizationDTO("
+			+ "org.organizationId, org.organizationName, org.address, org.contactNumber, org.uniqueEntityNumber, "
+			+ "org.streetAddress, org.city, org.postalCode, org.country, org.websiteURL, org.organizationSize, "
+			+ "org.primaryContactName, org.primaryContactPosition, org.primaryContactNumber, org.remark, org.isActive, "
+			+ "s.sectorId, s.sectorName, s.sectorCode, s.description, s.createdBy, s.lastUpdatedBy, s.remark, "
+			+ "s.isActive) FROM Organization org LEFT JOIN org.sector s ";
+
+	String STREAM_FETCH_SIZE = "1000";
+
 	Organization findByOrganizationName(String organizationName);
 	
 	Organization findByUniqueEntityNumber(String uniqueEntityNumber);
+
+	boolean existsByOrganizationName(String organizationName);
+
+	boolean existsByUniqueEntityNumber(String uniqueEntityNumber);
+
+	@Query("SELECT org.organizationName FROM Organization org")
+	List<String> findAllOrganizationNames();
+
+	@Query("SELECT org.uniqueEntityNumber FROM Organization org")
+	List<String> findAllUniqueEntityNumbers();
+	
+	@Query(value = SELECT_ORGANIZATION_DTO + "WHERE org.isActive = ?1",
+			countQuery = "SELECT COUNT(org) FROM Organization org WHERE org.isActive = ?1")
+	Page<OrganizationDTO> findPaginatedActiveOrganizationList(boolean isActive, Pageable pageable);
+	
+	@Query(SELECT_ORGANIZATION_DTO + "WHERE org.isActive = ?1")
+	Slice<OrganizationDTO> findActiveOrganizationSlice(boolean isActive, Pageable pageable);
 	
-	@Query("SELECT org FROM Organization org WHERE org.isActive = ?1")
-	Page<Organization> findPaginatedActiveOrganizationList(boolean isActive, Pageable pageable);
+	@Query("SELECT COUNT(org) FROM Organization org WHERE org.isActive = ?1")
+	long countActiveOrganizations(boolean isActive);
 	
 	Organization findByOrganizationId(String organizationId);
 	
-	@Query("SELECT org FROM Organization org WHERE org.createdBy = ?1 AND org.isActive = ?2")
-	Page<Organization> findOrganizationListByUserId(String userId, boolean isDeleted, Pageable pageable);
+	@Query(SELECT_ORGANIZATION_DTO + "WHERE org.organizationId = ?1")
+	OrganizationDTO findOrganizationDTOById(String organizationId);
+	
+	@Query(value = SELECT_ORGANIZATION_DTO + "WHERE org.createdBy = ?1 AND org.isActive = ?2",
+			countQuery = "SELECT COUNT(org) FROM Organization org WHERE org.createdBy = ?1 AND org.isActive = ?2")
+	Page<OrganizationDTO> findOrganizationListByUserId(String userId, boolean isDeleted, Pageable pageable);
+	
+	@Query(SELECT_ORGANIZATION_DTO + "WHERE org.createdBy = ?1 AND org.isActive = ?2")
+	Slice<OrganizationDTO> findOrganizationSliceByUserId(String userId, boolean isActive, Pageable pageable);
+	
+	@Query("SELECT COUNT(org) FROM Organization org WHERE org.createdBy = ?1 AND org.isActive = ?2")
+	long countOrganizationsByUserId(String userId, boolean isActive);
+	
+	@Query(SELECT_ORGANIZATION_DTO + "WHERE org.isActive = ?1")
+	List<OrganizationDTO> findActiveOrganizationList(boolean isActive);
+	
+	/**
+	 * Forward-only cursor over the active list; must be consumed and closed
+	 * inside a transaction.
+	 */
+	@QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE))
+	@Query(SELECT_ORGANIZATION_DTO + "WHERE org.isActive = ?1 ORDER BY org.organizationName ASC")
+	Stream<OrganizationDTO> streamActiveOrganizationList(boolean isActive);
+	
+	@Query(SELECT_ORGANIZATION_DTO + "WHERE org.isActive = ?1 AND (org.organizationName > ?2 "
+			+ "OR (org.organizationName = ?2 AND org.organizationId > ?3)) "
+			+ "ORDER BY org.organizationName ASC, org.organizationId ASC")
+	List<OrganizationDTO> findActiveOrganizationListAfter(boolean isActive, String organizationName,
+			String organizationId, Pageable pageable);
+	
+	@Query(SELECT_ORGANIZATION_DTO + "WHERE org.createdBy = ?1 AND org.isActive = ?2 "
+			+ "AND (org.organizationName > ?3 OR (org.organizationName = ?3 AND org.organizationId > ?4)) "
+			+ "ORDER BY org.organizationName ASC, org.organizationId ASC")
+	List<OrganizationDTO> findOrganizationListByUserIdAfter(String userId, boolean isActive, String organizationName,
+			String organizationId, Pageable pageable);
+	
+	@Query("SELECT org.organizationId FROM Organization org WHERE org.sector.sectorId = ?1 "
+			+ "ORDER BY org.organizationId ASC")
+	List<String> findOrganizationIdsBySectorId(String sectorId);
+	
+	@Transactional
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("UPDATE Organization org SET org.sector = ?2, org.lastUpdatedBy = ?3, org.lastUpdatedDateTime = ?4 "
+			+ "WHERE org.organizationId IN ?1")
+	int updateSector(Collection<String> organizationIds, Sector sector, String userId, LocalDateTime now);
+	
+	@Transactional
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("UPDATE Organization org SET org.isActive = ?2, org.lastUpdatedBy = ?3, org.lastUpdatedDateTime = ?4 "
+			+ "WHERE org.organizationId IN ?1")
+	int updateActive(Collection<String> organizationIds, boolean isActive, String userId, LocalDateTime now);
 	
-	@Query("SELECT org FROM Organization org WHERE org.isActive = ?1")
-	List<Organization> findActiveOrganizationList(boolean isActive);
+	/**
+	 * Applies the sector and/or active change to one batch of organizations in
+	 * a single transaction and returns the number of rows matched.
+	 */
+	@Transactional
+	default int updateOrganizations(Collection<String> organizationIds, Sector sector, Boolean isActive,
+			String userId, LocalDateTime now) {
+		int updated = 0;
+		if (sector != null) {
+			updated = updateSector(organizationIds, sector, userId, now);
+		}
+		if (isActive != null) {
+			updated = updateActive(organizationIds, isActive, userId, now);
+		}
+		return updated;
+	}
 	
 }
@@ -1,28 +1,72 @@
 package sg.edu.nus.iss.edgp.org.management.repository;
 
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.QueryHint;
 
+import sg.edu.nus.iss.edgp.org.management.dto.SectorDTO;
 import sg.edu.nus.iss.edgp.org.management.entity.Sector;
 
 public interface SectorRepository extends JpaRepository<Sector, String> {
 
+	/**
+	 * Read queries project straight into {@link SectorDTO} so no managed
+	 * entities are hydrated.
+	 */
+	String SELECT_SECTOR_DTO = "SELECT new sg.edu.nus.iss.edgp.org.management.dto.SectorDTO("
+			+ "s.sectorId, s.sectorName, s.sectorCode, s.description, s.createdBy, s.lastUpdatedBy, s.remark, "
+			+ "s.isActive) FROM Sector s ";
+
 	@Query("SELECT s FROM Sector s WHERE s.sectorName = ?1 OR s.sectorCode = ?2")
 	List<Sector> findBySectorNameOrSectorCode(String sectorName, String sectorCode);
 	
-	@Query("SELECT s FROM Sector s WHERE s.isActive = ?1")
-	Page<Sector> findPaginatedActiveSectorList(boolean isActive, Pageable pageable);
+	@Query(value = SELECT_SECTOR_DTO + "WHERE s.isActive = ?1",
+			countQuery = "SELECT COUNT(s) FROM Sector s WHERE s.isActive = ?1")
+	Page<SectorDTO> findPaginatedActiveSectorList(boolean isActive, Pageable pageable);
+	
+	@Query(SELECT_SECTOR_DTO + "WHERE s.isActive = ?1")
+	Slice<SectorDTO> findActiveSectorSlice(boolean isActive, Pageable pageable);
+	
+	@Query("SELECT COUNT(s) FROM Sector s WHERE s.isActive = ?1")
+	long countActiveSectors(boolean isActive);
 	
 	Optional<Sector> findBySectorId(String sectorId);
 	
+	@Query(SELECT_SECTOR_DTO + "WHERE s.sectorId = ?1")
+	Optional<SectorDTO> findSectorDTOById(String sectorId);
+	
 	@Query("SELECT s FROM Sector s WHERE s.sectorId = ?1 AND s.isActive = ?2")
 	Sector findBySectorIdAndIsActive(String sectorId, Boolean isActive);
 	
-	@Query("SELECT s FROM Sector s WHERE s.isActive = ?1")
-	List<Sector> findActiveSectorList(boolean isActive);
+	@Query(SELECT_SECTOR_DTO + "WHERE s.isActive = ?1")
+	List<SectorDTO> findActiveSectorList(boolean isActive);
+	
+	@Query(SELECT_SECTOR_DTO)
+	List<SectorDTO> findAllSectorList();
+	
+	@QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = OrganizationRepository.STREAM_FETCH_SIZE))
+	@Query(SELECT_SECTOR_DTO + "WHERE s.isActive = ?1 ORDER BY s.sectorName ASC")
+	Stream<SectorDTO> streamActiveSectorList(boolean isActive);
+	
+	@Transactional
+	@Modifying(flushAutomatically = true, clearAutomatically = true)
+	@Query("UPDATE Sector s SET s.isActive = ?2, s.lastUpdatedBy = ?3, s.lastUpdatedDateTime = ?4 "
+			+ "WHERE s.sectorId IN ?1")
+	int updateActive(Collection<String> sectorIds, boolean isActive, String userId, LocalDateTime now);
 }
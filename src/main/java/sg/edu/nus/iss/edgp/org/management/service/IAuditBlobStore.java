@@ -0,0 +1,14 @@
+package sg.edu.nus.iss.edgp.org.management.service;
+
+import java.io.IOException;
+
+public interface IAuditBlobStore {
+
+	/**
+	 * Stores the payload under its content hash and returns that key. Storing
+	 * the same payload twice is a no-op.
+	 */
+	String put(byte[] payload) throws IOException;
+
+	byte[] get(String key) throws IOException;
+}
@@ -0,0 +1,17 @@
+package sg.edu.nus.iss.edgp.org.management.service;
+
+import sg.edu.nus.iss.edgp.org.management.dto.AuditDTO;
+
+/**
+ * Destination for audit events. Exactly one implementation is active,
+ * selected with {@code audit.sink} ({@code sqs}, {@code file} or
+ * {@code memory}).
+ */
+public interface IAuditSink {
+
+	/**
+	 * Accepts an audit event without throwing; delivery failures are handled by
+	 * the sink.
+	 */
+	void sendMessage(AuditDTO auditDTO);
+}
@@ -0,0 +1,15 @@
+package sg.edu.nus.iss.edgp.org.management.service;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+
+import sg.edu.nus.iss.edgp.org.management.dto.OrganizationImportReport;
+import sg.edu.nus.iss.edgp.org.management.dto.OrganizationImportRowResult;
+import sg.edu.nus.iss.edgp.org.management.utility.OrganizationImportReader;
+
+public interface IOrganizationImportService {
+
+	OrganizationImportReport importOrganizations(Iterator<OrganizationImportReader.Row> rows, String userId,
+			Consumer<List<OrganizationImportRowResult>> chunkListener);
+}
@@ -2,12 +2,20 @@ package sg.edu.nus.iss.edgp.org.management.service;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.springframework.data.domain.Pageable;
 
+import sg.edu.nus.iss.edgp.org.management.dto.BulkUpdateBatchResult;
+import sg.edu.nus.iss.edgp.org.management.dto.BulkUpdateReport;
+import sg.edu.nus.iss.edgp.org.management.dto.CursorPage;
+import sg.edu.nus.iss.edgp.org.management.dto.OrganizationBulkUpdateRequest;
+import sg.edu.nus.iss.edgp.org.management.dto.OrganizationCursor;
 import sg.edu.nus.iss.edgp.org.management.dto.OrganizationDTO;
 import sg.edu.nus.iss.edgp.org.management.dto.OrganizationRequest;
+import sg.edu.nus.iss.edgp.org.management.dto.PageResult;
 import sg.edu.nus.iss.edgp.org.management.entity.Organization;
+import sg.edu.nus.iss.edgp.org.management.enums.CountMode;
 
 public interface IOrganizationService {
 
@@ -17,14 +25,33 @@ public interface IOrganizationService {
 	
 	Organization findByUEN(String uniqueEntityNumber);
 	
+	boolean existsByOrganizationName(String organizationName);
+	
+	boolean existsByUEN(String uniqueEntityNumber);
+	
 	 Map<Long, List<OrganizationDTO>> retrievePaginatedActiveOrganizationList(Pageable pageable);
 	 
+	 PageResult<OrganizationDTO> retrievePaginatedActiveOrganizationList(Pageable pageable, CountMode countMode);
+	 
 	 OrganizationDTO findByOrganizationId(String organizationId);
 	 
 	 OrganizationDTO updateOrganization(OrganizationRequest orgReq, String userId, String organizationId); 
 	 
+	 BulkUpdateReport bulkUpdateOrganizations(OrganizationBulkUpdateRequest bulkReq, String userId,
+				Consumer<BulkUpdateBatchResult> batchListener);
+	 
 	 Map<Long, List<OrganizationDTO>> findActiveOrganizationListByUserId(String userId,
 				Pageable pageable);
 	 
+	 PageResult<OrganizationDTO> findActiveOrganizationListByUserId(String userId, Pageable pageable,
+				CountMode countMode);
+	 
 	 Map<Long, List<OrganizationDTO>> retrieveActiveOrganizationList();
+	 
+	 long streamActiveOrganizationList(Consumer<OrganizationDTO> consumer);
+	 
+	 CursorPage<OrganizationDTO> retrieveActiveOrganizationListAfter(OrganizationCursor cursor, int size);
+	 
+	 CursorPage<OrganizationDTO> findActiveOrganizationListByUserIdAfter(String userId, OrganizationCursor cursor,
+				int size);
 }
@@ -2,12 +2,17 @@ package sg.edu.nus.iss.edgp.org.management.service;
 
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.springframework.data.domain.Pageable;
 
+import sg.edu.nus.iss.edgp.org.management.dto.BulkUpdateBatchResult;
+import sg.edu.nus.iss.edgp.org.management.dto.BulkUpdateReport;
+import sg.edu.nus.iss.edgp.org.management.dto.PageResult;
+import sg.edu.nus.iss.edgp.org.management.dto.SectorBulkUpdateRequest;
 import sg.edu.nus.iss.edgp.org.management.dto.SectorDTO;
 import sg.edu.nus.iss.edgp.org.management.dto.SectorRequest;
-import sg.edu.nus.iss.edgp.org.management.entity.Sector;
+import sg.edu.nus.iss.edgp.org.management.enums.CountMode;
 
 public interface ISectorService {
 
@@ -15,11 +20,18 @@ public interface ISectorService {
 	
     Map<Long, List<SectorDTO>> retrievePaginatedActiveSectorList(Pageable pageable);
     
+    PageResult<SectorDTO> retrievePaginatedActiveSectorList(Pageable pageable, CountMode countMode);
+    
     SectorDTO updateSector(SectorRequest sectorReq, String userId, String sectorId);
     
+    BulkUpdateReport bulkUpdateSectors(SectorBulkUpdateRequest bulkReq, String userId,
+    		Consumer<BulkUpdateBatchResult> batchListener);
+    
     SectorDTO findBySectorId(String sectorId);
     
-    Sector findBySectorIdAndIsActive(String sectorId);
+    SectorDTO findBySectorIdAndIsActive(String sectorId);
     
     Map<Long, List<SectorDTO>> retrieveActiveSectorList();
+    
+    long streamActiveSectorList(Consumer<SectorDTO> consumer);
 }
@@ -1,5 +0,0 @@
-package sg.edu.nus.iss.edgp.org.management.service;
-
-public class SQSPublishingService {
-
-}
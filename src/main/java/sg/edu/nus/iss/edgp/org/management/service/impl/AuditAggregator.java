@@ -0,0 +1,168 @@
+package sg.edu.nus.iss.edgp.org.management.service.impl;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpMethod;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import sg.edu.nus.iss.edgp.org.management.dto.AuditDTO;
+import sg.edu.nus.iss.edgp.org.management.enums.AuditResponseStatus;
+import sg.edu.nus.iss.edgp.org.management.service.IAuditSink;
+
+/**
+ * Collapses successful read audits with one of the configured activity types
+ * on one of the configured endpoints into one summary event per activity type
+ * and endpoint. Each window is published when the flush interval elapses, with
+ * the event count, the first and last occurrence and the distinct user ids
+ * (capped at {@code audit.aggregation.max-distinct-users}). Outcome messages
+ * can name the record that was read, so they are not part of the window; the
+ * summary keeps the message only when every event in the window had the same
+ * one. Writes and failures are not aggregated.
+ */
+@Component
+public class AuditAggregator {
+
+	private static final Logger logger = LoggerFactory.getLogger(AuditAggregator.class);
+
+	private final boolean enabled;
+	private final Set<String> endpoints;
+	private final Set<String> activityTypes;
+	private final int maxDistinctUsers;
+	private final IAuditSink auditSink;
+	private final ConcurrentMap<WindowKey, Window> windows = new ConcurrentHashMap<>();
+	private final Counter aggregatedCounter;
+
+	public AuditAggregator(@Value("${audit.aggregation.enabled}") boolean enabled,
+			@Value("${audit.aggregation.endpoints}") List<String> endpoints,
+			@Value("${audit.aggregation.activity-types}") List<String> activityTypes,
+			@Value("${audit.activity.type.prefix}") String activityTypePrefix,
+			@Value("${audit.aggregation.max-distinct-users}") int maxDistinctUsers,
+			IAuditSink auditSink, MeterRegistry meterRegistry) {
+		this.enabled = enabled;
+		this.endpoints = Set.copyOf(endpoints);
+		// audits carry the prefixed activity type, see AuditService.createAuditDTO
+		this.activityTypes = activityTypes.stream().map(activityType -> activityTypePrefix.trim() + activityType.trim())
+				.collect(Collectors.toUnmodifiableSet());
+		this.maxDistinctUsers = maxDistinctUsers;
+		this.auditSink = auditSink;
+		this.aggregatedCounter = Counter.builder("audit.aggregated")
+				.description("Read audits folded into a summary instead of being published").register(meterRegistry);
+	}
+
+	/**
+	 * Adds the audit to its window and returns {@code true}, or returns
+	 * {@code false} when it has to be published on its own.
+	 */
+	public boolean offer(AuditDTO auditDTO) {
+		if (!isAggregatable(auditDTO)) {
+			return false;
+		}
+		long now = System.currentTimeMillis();
+		windows.compute(WindowKey.of(auditDTO), (key, window) -> {
+			Window current = window == null ? new Window(auditDTO, now) : window;
+			current.add(auditDTO, now, maxDistinctUsers);
+			return current;
+		});
+		aggregatedCounter.increment();
+		return true;
+	}
+
+	/**
+	 * Publishes a summary for every open window and starts new ones.
+	 */
+	@Scheduled(fixedDelayString = "${audit.aggregation.window-ms}")
+	public void flush() {
+		for (WindowKey key : windows.keySet()) {
+			Window window = windows.remove(key);
+			if (window != null) {
+				auditSink.sendMessage(window.toSummary());
+			}
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		flush();
+		logger.info("Audit aggregator flushed open windows on shutdown");
+	}
+
+	private boolean isAggregatable(AuditDTO auditDTO) {
+		return enabled && auditDTO.getStatusCode() == 200 && auditDTO.getResponseStatus() == AuditResponseStatus.SUCCESS
+				&& HttpMethod.GET.name().equals(auditDTO.getRequestHTTPVerb())
+				&& endpoints.contains(auditDTO.getRequestActionEndpoint())
+				&& activityTypes.contains(auditDTO.getActivityType());
+	}
+
+	private record WindowKey(String activityType, String endpoint) {
+
+		static WindowKey of(AuditDTO auditDTO) {
+			return new WindowKey(auditDTO.getActivityType(), auditDTO.getRequestActionEndpoint());
+		}
+	}
+
+	/**
+	 * Mutated only inside {@link ConcurrentMap#compute}, so a window that has
+	 * been removed for publishing no longer changes.
+	 */
+	private static final class Window {
+
+		private final AuditDTO first;
+		private final long firstOccurredAt;
+		private final Set<String> userIds = new LinkedHashSet<>();
+		private long lastOccurredAt;
+		private int count;
+		private boolean sameDescription = true;
+
+		Window(AuditDTO first, long now) {
+			this.first = first;
+			this.firstOccurredAt = now;
+		}
+
+		void add(AuditDTO auditDTO, long now, int maxDistinctUsers) {
+			count++;
+			lastOccurredAt = now;
+			sameDescription &= Objects.equals(first.getActivityDescription(), auditDTO.getActivityDescription());
+			String userId = auditDTO.getUserId();
+			if (userId != null && userIds.size() < maxDistinctUsers) {
+				userIds.add(userId);
+			}
+		}
+
+		AuditDTO toSummary() {
+			AuditDTO summary = new AuditDTO();
+			summary.setStatusCode(first.getStatusCode());
+			summary.setActivityType(first.getActivityType());
+			if (sameDescription) {
+				summary.setActivityDescription(first.getActivityDescription());
+			}
+			summary.setRequestActionEndpoint(first.getRequestActionEndpoint());
+			summary.setResponseStatus(first.getResponseStatus());
+			summary.setRequestHTTPVerb(first.getRequestHTTPVerb());
+			summary.setEventCount(count);
+			summary.setFirstOccurredAt(Instant.ofEpochMilli(firstOccurredAt).toString());
+			summary.setLastOccurredAt(Instant.ofEpochMilli(lastOccurredAt).toString());
+			summary.setDistinctUserIds(new ArrayList<>(userIds));
+			if (userIds.size() == 1) {
+				summary.setUserId(first.getUserId());
+				summary.setUsername(first.getUsername());
+			}
+			summary.setRemarks("Aggregated " + count + " audit events");
+			return summary;
+		}
+	}
+}
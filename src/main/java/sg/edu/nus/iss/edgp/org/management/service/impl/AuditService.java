@@ -8,10 +8,11 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import lombok.RequiredArgsConstructor;
-import sg.edu.nus.iss.edgp.org.management.aws.service.SQSPublishingService;
+import sg.edu.nus.iss.edgp.org.management.authentication.AuthenticatedPrincipal;
 import sg.edu.nus.iss.edgp.org.management.dto.AuditDTO;
 import sg.edu.nus.iss.edgp.org.management.enums.AuditResponseStatus;
 import sg.edu.nus.iss.edgp.org.management.service.IAuditService;
+import sg.edu.nus.iss.edgp.org.management.service.IAuditSink;
 
 @Service
 @RequiredArgsConstructor
@@ -22,8 +23,9 @@ public class AuditService implements IAuditService {
 
 	private static final Logger logger = LoggerFactory.getLogger(AuditService.class);
 
-	private final SQSPublishingService sqsPublishingService;
+	private final IAuditSink auditSink;
 	private final JwtService jwtService;
+	private final AuditAggregator auditAggregator;
 
 	public void logAudit(AuditDTO auditDTO, int stausCode, String message, String authorizationHeader) {
 		auditDTO.setStatusCode(stausCode);
@@ -52,11 +54,16 @@ public class AuditService implements IAuditService {
 			String jwtToken = "";
 			String userName = "Invalid Username";
 			String userId = "Invalid UserId";
-			if (authorizationHeader.length() > 0) {
+			AuthenticatedPrincipal principal = AuthenticatedPrincipal.current();
+			if (principal == null && authorizationHeader != null && authorizationHeader.length() > 0) {
 				jwtToken = authorizationHeader.substring(7);
 			}
 
-			if (!jwtToken.isEmpty()) {
+			if (principal != null) {
+				userName = Optional.ofNullable(principal.getUserName()).orElse("Invalid Username");
+				userId = Optional.ofNullable(principal.getUserId()).orElse("Invalid UserId");
+				autAuditDTO.setUserId(userId);
+			} else if (!jwtToken.isEmpty()) {
 				userName = Optional.ofNullable(jwtService.extractUserNameFromToken(jwtToken)).orElse("Invalid Username");
 				userId = Optional.ofNullable(jwtService.extractUserIdFromToken(jwtToken)).orElse("Invalid UserId");
 				autAuditDTO.setUsername(userName);
@@ -64,7 +71,9 @@ public class AuditService implements IAuditService {
 
 			}
 			autAuditDTO.setUsername(userName);
-			sqsPublishingService.sendMessage(autAuditDTO);
+			if (!auditAggregator.offer(autAuditDTO)) {
+				auditSink.sendMessage(autAuditDTO);
+			}
 
 		} catch (Exception e) {
 
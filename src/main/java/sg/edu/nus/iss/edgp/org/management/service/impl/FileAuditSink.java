@@ -0,0 +1,109 @@
+package sg.edu.nus.iss.edgp.org.management.service.impl;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+import sg.edu.nus.iss.edgp.org.management.aws.service.AuditMessageEncoder;
+import sg.edu.nus.iss.edgp.org.management.dto.AuditDTO;
+import sg.edu.nus.iss.edgp.org.management.service.IAuditSink;
+
+/**
+ * Appends audit messages as newline-delimited JSON. The current file is rolled
+ * once it reaches {@code audit.sink.file.max-bytes}, and the oldest files are
+ * deleted so at most {@code audit.sink.file.max-files} remain.
+ */
+@Service
+@ConditionalOnProperty(name = "audit.sink", havingValue = "file")
+public class FileAuditSink implements IAuditSink {
+
+	private static final Logger logger = LoggerFactory.getLogger(FileAuditSink.class);
+
+	private static final String FILE_PREFIX = "audit-";
+	private static final String FILE_SUFFIX = ".ndjson";
+
+	private final Path directory;
+	private final long maxBytes;
+	private final int maxFiles;
+	private final AuditMessageEncoder encoder = new AuditMessageEncoder(Integer.MAX_VALUE);
+	private OutputStream out;
+	private long currentBytes;
+	private long fileSequence;
+
+	public FileAuditSink(@Value("${audit.sink.file.directory}") String directory,
+			@Value("${audit.sink.file.max-bytes}") long maxBytes, @Value("${audit.sink.file.max-files}") int maxFiles) {
+		this.directory = Paths.get(directory);
+		this.maxBytes = maxBytes;
+		this.maxFiles = Math.max(1, maxFiles);
+	}
+
+	@Override
+	public void sendMessage(AuditDTO auditDTO) {
+		try {
+			byte[] line = (encoder.encode(auditDTO) + "\n").getBytes(StandardCharsets.UTF_8);
+			write(line);
+		} catch (Exception e) {
+			logger.error("Error writing audit message to file: {}", e.getMessage(), e);
+		}
+	}
+
+	@PreDestroy
+	public synchronized void close() {
+		if (out != null) {
+			try {
+				out.close();
+			} catch (IOException e) {
+				logger.error("Error closing audit file: {}", e.getMessage(), e);
+			}
+			out = null;
+		}
+	}
+
+	private synchronized void write(byte[] line) throws IOException {
+		if (out == null || (currentBytes > 0 && currentBytes + line.length > maxBytes)) {
+			roll();
+		}
+		out.write(line);
+		out.flush();
+		currentBytes += line.length;
+	}
+
+	private void roll() throws IOException {
+		close();
+		Files.createDirectories(directory);
+		Path file = directory.resolve(String.format("%s%d-%06d%s", FILE_PREFIX, System.currentTimeMillis(),
+				fileSequence++, FILE_SUFFIX));
+		out = new BufferedOutputStream(Files.newOutputStream(file, StandardOpenOption.CREATE_NEW,
+				StandardOpenOption.WRITE));
+		currentBytes = 0;
+		deleteOldFiles();
+	}
+
+	private void deleteOldFiles() throws IOException {
+		List<Path> files;
+		try (Stream<Path> listing = Files.list(directory)) {
+			files = listing.filter(path -> {
+				String name = path.getFileName().toString();
+				return name.startsWith(FILE_PREFIX) && name.endsWith(FILE_SUFFIX);
+			}).sorted().collect(Collectors.toList());
+		}
+		for (int i = 0; i < files.size() - maxFiles; i++) {
+			Files.deleteIfExists(files.get(i));
+		}
+	}
+}
@@ -0,0 +1,75 @@
+package sg.edu.nus.iss.edgp.org.management.service.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import sg.edu.nus.iss.edgp.org.management.aws.service.AuditMessageEncoder;
+import sg.edu.nus.iss.edgp.org.management.dto.AuditDTO;
+import sg.edu.nus.iss.edgp.org.management.service.IAuditSink;
+
+/**
+ * Keeps the most recent audit messages in a fixed-size ring buffer. Writers
+ * claim a slot with a single atomic increment and overwrite the oldest
+ * message once the buffer is full. Intended for tests, local runs and
+ * measuring audit throughput without external services.
+ */
+@Service
+@ConditionalOnProperty(name = "audit.sink", havingValue = "memory")
+public class InMemoryAuditSink implements IAuditSink {
+
+	private static final Logger logger = LoggerFactory.getLogger(InMemoryAuditSink.class);
+
+	private final AuditMessageEncoder encoder = new AuditMessageEncoder(Integer.MAX_VALUE);
+	private final AtomicReferenceArray<String> slots;
+	private final int mask;
+	private final AtomicLong sequence = new AtomicLong();
+
+	public InMemoryAuditSink(@Value("${audit.sink.memory.capacity}") int capacity) {
+		int size = capacity <= 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1;
+		this.slots = new AtomicReferenceArray<>(size);
+		this.mask = size - 1;
+	}
+
+	@Override
+	public void sendMessage(AuditDTO auditDTO) {
+		try {
+			String messageBody = encoder.encode(auditDTO);
+			slots.set((int) (sequence.getAndIncrement() & mask), messageBody);
+		} catch (Exception e) {
+			logger.error("Error recording audit message in memory: {}", e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Returns the buffered messages, oldest first. Messages written while the
+	 * snapshot is taken may or may not be included.
+	 */
+	public List<String> getMessages() {
+		long end = sequence.get();
+		long start = Math.max(0, end - slots.length());
+		List<String> messages = new ArrayList<>((int) (end - start));
+		for (long i = start; i < end; i++) {
+			String messageBody = slots.get((int) (i & mask));
+			if (messageBody != null) {
+				messages.add(messageBody);
+			}
+		}
+		return messages;
+	}
+
+	public long getTotalCount() {
+		return sequence.get();
+	}
+
+	public int getCapacity() {
+		return slots.length();
+	}
+}
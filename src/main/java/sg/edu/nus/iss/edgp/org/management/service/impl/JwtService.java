@@ -2,7 +2,6 @@ package sg.edu.nus.iss.edgp.org.management.service.impl;
 
 import java.util.function.Function;
 
-import org.json.simple.JSONObject;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
@@ -10,10 +9,11 @@ import org.springframework.stereotype.Service;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
-import io.jsonwebtoken.Jwts;
 import lombok.RequiredArgsConstructor;
-import sg.edu.nus.iss.edgp.org.management.configuration.JwtConfig;
+import sg.edu.nus.iss.edgp.org.management.authentication.JwtClaimsCache;
+import sg.edu.nus.iss.edgp.org.management.authentication.JwtKeyRegistry;
 import sg.edu.nus.iss.edgp.org.management.pojo.User;
+import sg.edu.nus.iss.edgp.org.management.pojo.UserProfileResponse;
 import sg.edu.nus.iss.edgp.org.management.utility.JSONReader;
 
 import java.util.Date;
@@ -22,8 +22,9 @@ import java.util.Date;
 @RequiredArgsConstructor
 public class JwtService {
 	
-	private final JwtConfig jwtConfig;
+	private final JwtKeyRegistry keyRegistry;
 	private final JSONReader jsonReader;
+	private final JwtClaimsCache claimsCache;
 	public static final String USER_EMAIL = "userEmail";
 	public static final String USER_NAME = "userName";
 	public static final String ORG_ID = "orgId";
@@ -33,15 +34,15 @@ public class JwtService {
 			throws JwtException, IllegalArgumentException, Exception {
 		String userID = extractSubject(token);
 
-		JSONObject userJSONObjet = jsonReader.getActiveUserInfo(userID, authorizationHeader);
-		Boolean success = jsonReader.getSuccessFromResponse(userJSONObjet);
+		UserProfileResponse profile = jsonReader.getActiveUserInfo(userID, authorizationHeader);
+		Boolean success = jsonReader.getSuccessFromResponse(profile);
 	
-		if (success) {
-			User user = jsonReader.getUserObject(userJSONObjet);
+		if (Boolean.TRUE.equals(success)) {
+			User user = jsonReader.getUserObject(profile);
 			return org.springframework.security.core.userdetails.User.withUsername(user.getEmail())
 					.password(user.getPassword()).roles(user.getRole().toString()).build();
 		} else {
-			String message = jsonReader.getMessageFromResponse(userJSONObjet);
+			String message = jsonReader.getMessageFromResponse(profile);
 			throw new Exception(message);
 		}
 
@@ -61,7 +62,11 @@ public class JwtService {
 	
 	
 	public Claims extractAllClaims(String token) throws JwtException, IllegalArgumentException, Exception {
-		return Jwts.parser().verifyWith(jwtConfig.loadPublicKey()).build().parseSignedClaims(token).getPayload();
+		return claimsCache.get(token, this::verifyClaims);
+	}
+	
+	private Claims verifyClaims(String token) {
+		return keyRegistry.getParser().parseSignedClaims(token).getPayload();
 	}
 	
 	
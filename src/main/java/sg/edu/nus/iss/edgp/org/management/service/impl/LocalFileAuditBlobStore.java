@@ -0,0 +1,73 @@
+package sg.edu.nus.iss.edgp.org.management.service.impl;
+
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import sg.edu.nus.iss.edgp.org.management.service.IAuditBlobStore;
+
+/**
+ * Content-addressed blob store on the local filesystem. Blobs are stored as
+ * {@code <directory>/<first two hex chars>/<sha-256>} and written through a
+ * temporary file so a reader never sees a partial blob.
+ */
+@Component
+public class LocalFileAuditBlobStore implements IAuditBlobStore {
+
+	private static final HexFormat HEX = HexFormat.of();
+
+	private final Path directory;
+
+	public LocalFileAuditBlobStore(@Value("${audit.blob-store.directory}") String directory) {
+		this.directory = Paths.get(directory);
+	}
+
+	@Override
+	public String put(byte[] payload) throws IOException {
+		String key = sha256(payload);
+		Path blob = resolve(key);
+		if (Files.exists(blob)) {
+			return key;
+		}
+		Files.createDirectories(blob.getParent());
+		Path temporary = Files.createTempFile(blob.getParent(), key, ".tmp");
+		try {
+			Files.write(temporary, payload);
+			Files.move(temporary, blob, StandardCopyOption.ATOMIC_MOVE);
+		} catch (FileAlreadyExistsException e) {
+			// stored concurrently by another writer with the same content
+		} finally {
+			Files.deleteIfExists(temporary);
+		}
+		return key;
+	}
+
+	@Override
+	public byte[] get(String key) throws IOException {
+		if (key == null || key.length() != 64 || !key.chars().allMatch(c -> Character.digit(c, 16) >= 0)) {
+			throw new IOException("Invalid audit blob key: " + key);
+		}
+		return Files.readAllBytes(resolve(key));
+	}
+
+	private Path resolve(String key) {
+		return directory.resolve(key.substring(0, 2)).resolve(key);
+	}
+
+	private static String sha256(byte[] payload) {
+		try {
+			return HEX.formatHex(MessageDigest.getInstance("SHA-256").digest(payload));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 is not available", e);
+		}
+	}
+}
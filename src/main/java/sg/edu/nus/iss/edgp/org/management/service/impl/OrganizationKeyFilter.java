@@ -0,0 +1,172 @@
+package sg.edu.nus.iss.edgp.org.management.service.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import sg.edu.nus.iss.edgp.org.management.repository.OrganizationRepository;
+import sg.edu.nus.iss.edgp.org.management.utility.BloomFilter;
+
+/**
+ * Bloom filters over the normalized names and UENs of every organization, so
+ * that uniqueness checks for values that were never used skip the database.
+ * A possible hit still has to be confirmed with a query. The filters are
+ * rebuilt on a fixed delay to drop deleted values and pick up rows written by
+ * other instances; values added while a rebuild runs are carried over to the
+ * new filters.
+ */
+@Component
+public class OrganizationKeyFilter {
+
+	private static final Logger logger = LoggerFactory.getLogger(OrganizationKeyFilter.class);
+
+	private final OrganizationRepository organizationRepository;
+	private final long expectedEntries;
+	private final double falsePositiveRate;
+
+	private final Counter nameMissCounter;
+	private final Counter nameHitCounter;
+	private final Counter nameFalsePositiveCounter;
+	private final Counter uenMissCounter;
+	private final Counter uenHitCounter;
+	private final Counter uenFalsePositiveCounter;
+
+	private volatile Filters filters;
+	private List<String[]> pending;
+
+	public OrganizationKeyFilter(OrganizationRepository organizationRepository,
+			@Value("${organization.key-filter.expected-entries}") long expectedEntries,
+			@Value("${organization.key-filter.false-positive-rate}") double falsePositiveRate,
+			MeterRegistry meterRegistry) {
+		this.organizationRepository = organizationRepository;
+		this.expectedEntries = expectedEntries;
+		this.falsePositiveRate = falsePositiveRate;
+		this.filters = new Filters(new BloomFilter(expectedEntries, falsePositiveRate),
+				new BloomFilter(expectedEntries, falsePositiveRate));
+
+		this.nameMissCounter = checkCounter(meterRegistry, "name", "miss");
+		this.nameHitCounter = checkCounter(meterRegistry, "name", "hit");
+		this.nameFalsePositiveCounter = falsePositiveCounter(meterRegistry, "name");
+		this.uenMissCounter = checkCounter(meterRegistry, "uen", "miss");
+		this.uenHitCounter = checkCounter(meterRegistry, "uen", "hit");
+		this.uenFalsePositiveCounter = falsePositiveCounter(meterRegistry, "uen");
+
+		gauges(meterRegistry, "name", () -> filters.names());
+		gauges(meterRegistry, "uen", () -> filters.uens());
+	}
+
+	private static Counter checkCounter(MeterRegistry meterRegistry, String key, String result) {
+		return Counter.builder("organization.key.filter.checks").description("Uniqueness checks answered by the filter")
+				.tag("key", key).tag("result", result).register(meterRegistry);
+	}
+
+	private static Counter falsePositiveCounter(MeterRegistry meterRegistry, String key) {
+		return Counter.builder("organization.key.filter.false.positives")
+				.description("Possible hits that the database did not confirm").tag("key", key)
+				.register(meterRegistry);
+	}
+
+	private static void gauges(MeterRegistry meterRegistry, String key, Supplier<BloomFilter> filter) {
+		Gauge.builder("organization.key.filter.expected.fpp", () -> filter.get().getExpectedFalsePositiveRate())
+				.description("False-positive probability implied by the bits set").tag("key", key)
+				.register(meterRegistry);
+		Gauge.builder("organization.key.filter.size", () -> filter.get().getSizeInBytes())
+				.description("Memory held by the filter bits").baseUnit("bytes").tag("key", key)
+				.register(meterRegistry);
+		Gauge.builder("organization.key.filter.entries", () -> filter.get().getEntryCount())
+				.description("Values added since the last rebuild").tag("key", key).register(meterRegistry);
+	}
+
+	@PostConstruct
+	@Scheduled(fixedDelayString = "${organization.key-filter.rebuild-interval-ms}",
+			initialDelayString = "${organization.key-filter.rebuild-interval-ms}")
+	public void rebuild() {
+		synchronized (this) {
+			pending = new ArrayList<>();
+		}
+		try {
+			List<String> names = organizationRepository.findAllOrganizationNames();
+			List<String> uens = organizationRepository.findAllUniqueEntityNumbers();
+			long capacity = Math.max(expectedEntries, 2L * Math.max(names.size(), uens.size()));
+			Filters rebuilt = new Filters(new BloomFilter(capacity, falsePositiveRate),
+					new BloomFilter(capacity, falsePositiveRate));
+			names.forEach(name -> putIfPresent(rebuilt.names(), name));
+			uens.forEach(uen -> putIfPresent(rebuilt.uens(), uen));
+			synchronized (this) {
+				for (String[] keys : pending) {
+					putIfPresent(rebuilt.names(), keys[0]);
+					putIfPresent(rebuilt.uens(), keys[1]);
+				}
+				filters = rebuilt;
+			}
+			logger.info("Organization key filter rebuilt with {} names and {} UENs", names.size(), uens.size());
+		} catch (Exception e) {
+			logger.error("Unable to rebuild organization key filter, keeping the current one: {}", e.getMessage(), e);
+		} finally {
+			synchronized (this) {
+				pending = null;
+			}
+		}
+	}
+
+	/**
+	 * Records the name and UEN of an organization that has been written.
+	 */
+	public synchronized void add(String organizationName, String uniqueEntityNumber) {
+		putIfPresent(filters.names(), organizationName);
+		putIfPresent(filters.uens(), uniqueEntityNumber);
+		if (pending != null) {
+			pending.add(new String[] { organizationName, uniqueEntityNumber });
+		}
+	}
+
+	public boolean mightContainName(String organizationName) {
+		return check(filters.names(), organizationName, nameHitCounter, nameMissCounter);
+	}
+
+	public boolean mightContainUen(String uniqueEntityNumber) {
+		return check(filters.uens(), uniqueEntityNumber, uenHitCounter, uenMissCounter);
+	}
+
+	public void recordNameFalsePositive() {
+		nameFalsePositiveCounter.increment();
+	}
+
+	public void recordUenFalsePositive() {
+		uenFalsePositiveCounter.increment();
+	}
+
+	private static boolean check(BloomFilter filter, String value, Counter hitCounter, Counter missCounter) {
+		boolean mightContain = value == null || filter.mightContain(normalize(value));
+		(mightContain ? hitCounter : missCounter).increment();
+		return mightContain;
+	}
+
+	private static void putIfPresent(BloomFilter filter, String value) {
+		if (value != null) {
+			filter.put(normalize(value));
+		}
+	}
+
+	/**
+	 * Close to the case-insensitive comparison of the MySQL unique constraints;
+	 * a duplicate the filter misses is still rejected by the constraint.
+	 */
+	public static String normalize(String value) {
+		return value.strip().toLowerCase(Locale.ROOT);
+	}
+
+	private record Filters(BloomFilter names, BloomFilter uens) {
+	}
+}
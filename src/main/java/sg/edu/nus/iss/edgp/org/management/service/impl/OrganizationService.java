@@ -1,26 +1,45 @@
 package sg.edu.nus.iss.edgp.org.management.service.impl;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import lombok.RequiredArgsConstructor;
+import sg.edu.nus.iss.edgp.org.management.dto.BulkUpdateBatchResult;
+import sg.edu.nus.iss.edgp.org.management.dto.BulkUpdateReport;
+import sg.edu.nus.iss.edgp.org.management.dto.CursorPage;
+import sg.edu.nus.iss.edgp.org.management.dto.OrganizationBulkUpdateRequest;
+import sg.edu.nus.iss.edgp.org.management.dto.OrganizationCursor;
 import sg.edu.nus.iss.edgp.org.management.dto.OrganizationDTO;
 import sg.edu.nus.iss.edgp.org.management.dto.OrganizationRequest;
+import sg.edu.nus.iss.edgp.org.management.dto.PageResult;
+import sg.edu.nus.iss.edgp.org.management.dto.SectorDTO;
 import sg.edu.nus.iss.edgp.org.management.entity.Organization;
 import sg.edu.nus.iss.edgp.org.management.entity.Sector;
+import sg.edu.nus.iss.edgp.org.management.enums.CountMode;
+import sg.edu.nus.iss.edgp.org.management.exception.DuplicateOrganizationException;
 import sg.edu.nus.iss.edgp.org.management.exception.OrganizationServiceException;
 import sg.edu.nus.iss.edgp.org.management.repository.OrganizationRepository;
 import sg.edu.nus.iss.edgp.org.management.repository.SectorRepository;
 import sg.edu.nus.iss.edgp.org.management.service.IOrganizationService;
+import sg.edu.nus.iss.edgp.org.management.utility.BulkUpdateExecutor;
 import sg.edu.nus.iss.edgp.org.management.utility.DTOMapper;
 
 @Service
@@ -29,39 +48,35 @@ public class OrganizationService implements IOrganizationService {
 	
 	private final  OrganizationRepository organizationRepository;
 	private final  SectorRepository sectorRepository;
+	private final  RecordCountCache recordCountCache;
+	private final  SectorRegistry sectorRegistry;
+	private final  OrganizationKeyFilter organizationKeyFilter;
 
 	
 	private static final Logger logger = LoggerFactory.getLogger(OrganizationService.class);
 
+	@Value("${bulk-update.batch-size}")
+	private int bulkUpdateBatchSize;
+
+	static final String NAME_CONSTRAINT = "uk_organization_name";
+	static final String UEN_CONSTRAINT = "uk_organization_uen";
+
 	@Override
 	public OrganizationDTO createOrganization(OrganizationRequest orgReq, String userId) {
 		try {
 
-			Organization organization = new Organization();
-			organization.setOrganizationName(orgReq.getOrganizationName());
-			organization.setAddress(orgReq.getAddress());
-			organization.setContactNumber(orgReq.getContactNumber());
-			organization.setUniqueEntityNumber(orgReq.getUniqueEntityNumber());
-			organization.setStreetAddress(orgReq.getStreetAddress());
-			organization.setCity(orgReq.getCity());
-			organization.setPostalCode(orgReq.getPostalCode());
-			organization.setCountry(orgReq.getCountry());
-			organization.setWebsiteURL(orgReq.getWebsiteURL());
-			organization.setOrganizationSize(orgReq.getOrganizationSize());
-			Sector sector = sectorRepository.findById(orgReq.getSector().getSectorId())
+			SectorDTO sectorDTO = sectorRegistry.findById(orgReq.getSector().getSectorId())
 				    .orElseThrow(() ->  new OrganizationServiceException("Sector not found with this name : " + orgReq.getSector().getSectorName()));
-			organization.setSector(sector);
-			organization.setPrimaryContactName(orgReq.getPrimaryContactName());
-			organization.setPrimaryContactPosition(orgReq.getPrimaryContactPosition());
-			organization.setPrimaryContactEmail(orgReq.getPrimaryContactEmail());
-			organization.setPrimaryContactNumber(orgReq.getPrimaryContactNumber());
-			organization.setCreatedBy(userId);
-			organization.setLastUpdatedBy(userId);
-			organization.setLastUpdatedDateTime(LocalDateTime.now());
-			organization.setRemark(orgReq.getRemark());
-			Organization createdOrganization = organizationRepository.save(organization);
+			Organization organization = newOrganization(orgReq, sectorDTO, userId);
+			Organization createdOrganization = saveNewOrganization(organization);
+			organizationKeyFilter.add(createdOrganization.getOrganizationName(), createdOrganization.getUniqueEntityNumber());
+			recordCountCache.invalidate(RecordCountCache.ACTIVE_ORGANIZATIONS);
+			recordCountCache.invalidate(RecordCountCache.organizationsCreatedBy(userId));
 			logger.info("Creating sector ....");
-			return DTOMapper.toOrganizationDTO(createdOrganization);
+			return DTOMapper.toOrganizationDTO(createdOrganization, sectorDTO);
+		} catch (DuplicateOrganizationException ex) {
+			logger.error("Duplicate organization rejected on create: {}", ex.getMessage());
+			throw ex;
 		} catch (Exception ex) {
 			logger.error("Exception occurred while creating organization", ex);
 			throw new OrganizationServiceException("An error occured while creating organization", ex);
@@ -69,6 +84,69 @@ public class OrganizationService implements IOrganizationService {
 	}
 	
 	
+	/**
+	 * Builds an unsaved organization; the sector is attached as a reference
+	 * without being loaded.
+	 */
+	public Organization newOrganization(OrganizationRequest orgReq, SectorDTO sectorDTO, String userId) {
+		Organization organization = new Organization();
+		organization.setOrganizationName(orgReq.getOrganizationName());
+		organization.setAddress(orgReq.getAddress());
+		organization.setContactNumber(orgReq.getContactNumber());
+		organization.setUniqueEntityNumber(orgReq.getUniqueEntityNumber());
+		organization.setStreetAddress(orgReq.getStreetAddress());
+		organization.setCity(orgReq.getCity());
+		organization.setPostalCode(orgReq.getPostalCode());
+		organization.setCountry(orgReq.getCountry());
+		organization.setWebsiteURL(orgReq.getWebsiteURL());
+		organization.setOrganizationSize(orgReq.getOrganizationSize());
+		organization.setSector(sectorRepository.getReferenceById(sectorDTO.getSectorID()));
+		organization.setPrimaryContactName(orgReq.getPrimaryContactName());
+		organization.setPrimaryContactPosition(orgReq.getPrimaryContactPosition());
+		organization.setPrimaryContactEmail(orgReq.getPrimaryContactEmail());
+		organization.setPrimaryContactNumber(orgReq.getPrimaryContactNumber());
+		organization.setCreatedBy(userId);
+		organization.setLastUpdatedBy(userId);
+		organization.setLastUpdatedDateTime(LocalDateTime.now());
+		organization.setRemark(orgReq.getRemark());
+		return organization;
+	}
+
+	/**
+	 * Inserts and flushes straight away so that a unique constraint violation
+	 * surfaces here and can be reported as a duplicate name or UEN.
+	 */
+	private Organization saveNewOrganization(Organization organization) {
+		try {
+			return organizationRepository.saveAndFlush(organization);
+		} catch (DataIntegrityViolationException ex) {
+			String violation = violationText(ex);
+			if (violation.contains(NAME_CONSTRAINT)) {
+				throw new DuplicateOrganizationException(DuplicateOrganizationException.DUPLICATE_NAME_MESSAGE, ex);
+			}
+			if (violation.contains(UEN_CONSTRAINT)) {
+				throw new DuplicateOrganizationException(DuplicateOrganizationException.DUPLICATE_UEN_MESSAGE, ex);
+			}
+			// Schemas created by ddl-auto=update carry generated constraint names.
+			if (organizationRepository.existsByOrganizationName(organization.getOrganizationName())) {
+				throw new DuplicateOrganizationException(DuplicateOrganizationException.DUPLICATE_NAME_MESSAGE, ex);
+			}
+			if (organizationRepository.existsByUniqueEntityNumber(organization.getUniqueEntityNumber())) {
+				throw new DuplicateOrganizationException(DuplicateOrganizationException.DUPLICATE_UEN_MESSAGE, ex);
+			}
+			throw ex;
+		}
+	}
+
+	private static String violationText(DataIntegrityViolationException ex) {
+		StringBuilder text = new StringBuilder();
+		if (ex.getCause() instanceof ConstraintViolationException violation && violation.getConstraintName() != null) {
+			text.append(violation.getConstraintName()).append(' ');
+		}
+		text.append(ex.getMostSpecificCause().getMessage());
+		return text.toString().toLowerCase(Locale.ROOT);
+	}
+
 	@Override
 	public Organization findByOrganizationName(String organizationName) {
 		try {
@@ -89,19 +167,54 @@ public class OrganizationService implements IOrganizationService {
 		}
 	}
 	
+	/**
+	 * Only names the key filter reports as possibly taken are checked against
+	 * the database.
+	 */
+	@Override
+	public boolean existsByOrganizationName(String organizationName) {
+		try {
+			if (!organizationKeyFilter.mightContainName(organizationName)) {
+				return false;
+			}
+			boolean exists = organizationRepository.existsByOrganizationName(organizationName);
+			if (!exists) {
+				organizationKeyFilter.recordNameFalsePositive();
+			}
+			return exists;
+		} catch (Exception ex) {
+			logger.error("Exception occurred while checking the organization name", ex);
+			throw new OrganizationServiceException("An error occurred while checking the organization name", ex);
+		}
+	}
+	
 	@Override
+	public boolean existsByUEN(String uniqueEntityNumber) {
+		try {
+			if (!organizationKeyFilter.mightContainUen(uniqueEntityNumber)) {
+				return false;
+			}
+			boolean exists = organizationRepository.existsByUniqueEntityNumber(uniqueEntityNumber);
+			if (!exists) {
+				organizationKeyFilter.recordUenFalsePositive();
+			}
+			return exists;
+		} catch (Exception ex) {
+			logger.error("Exception occurred while checking the organization UEN", ex);
+			throw new OrganizationServiceException("An error occurred while checking the organization UEN", ex);
+		}
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
 	public Map<Long, List<OrganizationDTO>> retrievePaginatedActiveOrganizationList(Pageable pageable) {
 		try {
-			List<OrganizationDTO> organizationDTOList = new ArrayList<>();
-			Page<Organization> organizationPages = organizationRepository.findPaginatedActiveOrganizationList(true, pageable);
+			Page<OrganizationDTO> organizationPages = organizationRepository.findPaginatedActiveOrganizationList(true, pageable);
 			long totalRecord = organizationPages.getTotalElements();
 			if (totalRecord > 0) {
 				logger.info("Active paginated organization list is found.");
-				for (Organization organization : organizationPages.getContent()) {
-					OrganizationDTO organizationDTO = DTOMapper.toOrganizationDTO(organization);
-					organizationDTOList.add(organizationDTO);
-				}
 			}
+			List<OrganizationDTO> organizationDTOList = organizationPages.getContent();
 			Map<Long, List<OrganizationDTO>> result = new HashMap<>();
 			result.put(totalRecord, organizationDTOList);
 			return result;
@@ -114,17 +227,31 @@ public class OrganizationService implements IOrganizationService {
 	}
 	
 	@Override
+	@Transactional(readOnly = true)
+	public PageResult<OrganizationDTO> retrievePaginatedActiveOrganizationList(Pageable pageable,
+			CountMode countMode) {
+		try {
+			Slice<OrganizationDTO> organizationSlice = organizationRepository.findActiveOrganizationSlice(true, pageable);
+			Long totalRecord = countMode == CountMode.CACHED
+					? recordCountCache.get(RecordCountCache.ACTIVE_ORGANIZATIONS,
+							() -> organizationRepository.countActiveOrganizations(true))
+					: null;
+			return new PageResult<>(organizationSlice.getContent(), totalRecord, organizationSlice.hasNext());
+
+		} catch (Exception ex) {
+			logger.error("Exception occurred while retrieving paginated active organization list", ex);
+			throw new OrganizationServiceException("An error occurred while retrieving paginated active organization list", ex);
+		}
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
 	public Map<Long, List<OrganizationDTO>> retrieveActiveOrganizationList() {
 		try {
-			List<OrganizationDTO> organizationDTOList = new ArrayList<>();
-			List<Organization> organizationList = organizationRepository.findActiveOrganizationList(true);
-			long totalRecord = organizationList.size();
+			List<OrganizationDTO> organizationDTOList = organizationRepository.findActiveOrganizationList(true);
+			long totalRecord = organizationDTOList.size();
 			if (totalRecord > 0) {
 				logger.info("Active organization list without pagination is found.");
-				for (Organization organization : organizationList) {
-					OrganizationDTO organizationDTO = DTOMapper.toOrganizationDTO(organization);
-					organizationDTOList.add(organizationDTO);
-				}
 			}
 			Map<Long, List<OrganizationDTO>> result = new HashMap<>();
 			result.put(totalRecord, organizationDTOList);
@@ -137,11 +264,40 @@ public class OrganizationService implements IOrganizationService {
 		}
 	}
 	
+	/**
+	 * Hands each active organization to the consumer as it is read from the
+	 * database cursor and returns how many were written. The rows are DTO
+	 * projections, so the persistence context stays empty however long the
+	 * list is.
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public long streamActiveOrganizationList(Consumer<OrganizationDTO> consumer) {
+		try (Stream<OrganizationDTO> organizations = organizationRepository.streamActiveOrganizationList(true)) {
+			long count = 0;
+			Iterator<OrganizationDTO> iterator = organizations.iterator();
+			while (iterator.hasNext()) {
+				consumer.accept(iterator.next());
+				count++;
+			}
+			logger.info("Streamed {} active organizations.", count);
+			return count;
+
+		} catch (Exception ex) {
+			logger.error("Exception occurred while streaming active organization list", ex);
+			throw new OrganizationServiceException("An error occurred while streaming active organization list", ex);
+
+		}
+	}
+	
 	@Override
+	@Transactional(readOnly = true)
 	public OrganizationDTO findByOrganizationId(String organizationId) {
 		try {
-			Organization organization = organizationRepository.findByOrganizationId(organizationId);
-			OrganizationDTO orgDTO = DTOMapper.toOrganizationDTO(organization);
+			OrganizationDTO orgDTO = organizationRepository.findOrganizationDTOById(organizationId);
+			if (orgDTO == null) {
+				throw new OrganizationServiceException("No matching organization found");
+			}
 			return orgDTO;
 
 		} catch (Exception ex) {
@@ -168,9 +324,9 @@ public class OrganizationService implements IOrganizationService {
 			dbOrganization.setCountry(orgReq.getCountry());
 			dbOrganization.setWebsiteURL(orgReq.getWebsiteURL());
 			dbOrganization.setOrganizationSize(orgReq.getOrganizationSize());
-			Sector sector = sectorRepository.findById(orgReq.getSector().getSectorId())
+			SectorDTO sectorDTO = sectorRegistry.findById(orgReq.getSector().getSectorId())
 				    .orElseThrow(() ->  new OrganizationServiceException("Sector not found with this name : " + orgReq.getSector().getSectorName()));
-			dbOrganization.setSector(sector);
+			dbOrganization.setSector(sectorRepository.getReferenceById(sectorDTO.getSectorID()));
 			dbOrganization.setPrimaryContactName(orgReq.getPrimaryContactName());
 			dbOrganization.setPrimaryContactPosition(orgReq.getPrimaryContactPosition());
 			dbOrganization.setPrimaryContactEmail(orgReq.getPrimaryContactEmail());
@@ -180,29 +336,64 @@ public class OrganizationService implements IOrganizationService {
 			dbOrganization.setRemark(orgReq.getRemark());
 			logger.info("Updating Organization...");
 			Organization createdOrganization = organizationRepository.save(dbOrganization);
+			organizationKeyFilter.add(createdOrganization.getOrganizationName(), createdOrganization.getUniqueEntityNumber());
 			logger.info("Organization is updated successfully.");
-			return DTOMapper.toOrganizationDTO(createdOrganization);
+			return DTOMapper.toOrganizationDTO(createdOrganization, sectorDTO);
 		} catch (Exception ex) {
 			logger.error("Exception occurred while updating organization", ex);
 			throw new OrganizationServiceException("An error occurred while updating organization", ex);
 		}
 	}
 	
+	/**
+	 * Updates the selected organizations with set-based UPDATE statements, one
+	 * per batch of {@code bulk-update.batch-size} IDs, and reports each batch
+	 * to the listener as it commits.
+	 */
+	@Override
+	public BulkUpdateReport bulkUpdateOrganizations(OrganizationBulkUpdateRequest bulkReq, String userId,
+			Consumer<BulkUpdateBatchResult> batchListener) {
+		try {
+			List<String> organizationIds = bulkReq.getCurrentSectorId() != null
+					? organizationRepository.findOrganizationIdsBySectorId(bulkReq.getCurrentSectorId())
+					: bulkReq.getOrganizationIds().stream().distinct().toList();
+			Sector sector = bulkReq.getSectorId() != null ? sectorRepository.getReferenceById(bulkReq.getSectorId())
+					: null;
+			logger.info("Bulk updating {} organizations...", organizationIds.size());
+			BulkUpdateReport report = BulkUpdateExecutor.execute(organizationIds, bulkUpdateBatchSize, batch -> {
+				int updated = organizationRepository.updateOrganizations(batch, sector, bulkReq.getActive(), userId,
+						LocalDateTime.now());
+				if (updated > 0 && bulkReq.getActive() != null) {
+					recordCountCache.invalidateAll(RecordCountCache.ORGANIZATION_PREFIX);
+				}
+				return updated;
+			}, batchListener);
+			if (report.isFailed()) {
+				logger.warn("Bulk update stopped at batch {}: updated {} of {} organizations.", report.getFailedBatchNumber(),
+						report.getUpdatedRecords(), report.getMatchedRecords());
+			} else {
+				logger.info("Bulk updated {} of {} organizations in {} batches.", report.getUpdatedRecords(),
+						report.getMatchedRecords(), report.getBatches().size());
+			}
+			return report;
+		} catch (Exception ex) {
+			logger.error("Exception occurred while bulk updating organizations", ex);
+			throw new OrganizationServiceException("An error occurred while bulk updating organizations", ex);
+		}
+	}
+	
 	@Override
+	@Transactional(readOnly = true)
 	public Map<Long, List<OrganizationDTO>> findActiveOrganizationListByUserId(String userId,
 			Pageable pageable) {
 		try {
 			
-			List<OrganizationDTO> organizationDTOList = new ArrayList<>();
-			Page<Organization> organizationPages = organizationRepository.findOrganizationListByUserId(userId, true, pageable);
+			Page<OrganizationDTO> organizationPages = organizationRepository.findOrganizationListByUserId(userId, true, pageable);
 			long totalRecord = organizationPages.getTotalElements();
 			if (totalRecord > 0) {
 				logger.info("Active organization list by user id is found.");
-				for (Organization organization : organizationPages.getContent()) {
-					OrganizationDTO organizationDTO = DTOMapper.toOrganizationDTO(organization);
-					organizationDTOList.add(organizationDTO);
-				}
 			}
+			List<OrganizationDTO> organizationDTOList = organizationPages.getContent();
 			Map<Long, List<OrganizationDTO>> result = new HashMap<>();
 			logger.info("Total record of retrieving organization list by user id.. {}", totalRecord);
 			result.put(totalRecord, organizationDTOList);
@@ -215,5 +406,68 @@ public class OrganizationService implements IOrganizationService {
 		}
 
 	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public PageResult<OrganizationDTO> findActiveOrganizationListByUserId(String userId, Pageable pageable,
+			CountMode countMode) {
+		try {
+			Slice<OrganizationDTO> organizationSlice = organizationRepository.findOrganizationSliceByUserId(userId, true,
+					pageable);
+			Long totalRecord = countMode == CountMode.CACHED
+					? recordCountCache.get(RecordCountCache.organizationsCreatedBy(userId),
+							() -> organizationRepository.countOrganizationsByUserId(userId, true))
+					: null;
+			return new PageResult<>(organizationSlice.getContent(), totalRecord, organizationSlice.hasNext());
+
+		} catch (Exception ex) {
+			logger.error("Exception occurred while retrieving organization list by user id", ex);
+			throw new OrganizationServiceException("An error occurred while retrieving organization list by user id", ex);
+		}
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public CursorPage<OrganizationDTO> retrieveActiveOrganizationListAfter(OrganizationCursor cursor, int size) {
+		try {
+			List<OrganizationDTO> organizationList = organizationRepository.findActiveOrganizationListAfter(true,
+					cursor.organizationName(), cursor.organizationId(), PageRequest.of(0, size + 1));
+			return toCursorPage(organizationList, size);
+
+		} catch (Exception ex) {
+			logger.error("Exception occurred while retrieving active organization list after cursor", ex);
+			throw new OrganizationServiceException("An error occurred while retrieving active organization list", ex);
+		}
+	}
+	
+	@Override
+	@Transactional(readOnly = true)
+	public CursorPage<OrganizationDTO> findActiveOrganizationListByUserIdAfter(String userId,
+			OrganizationCursor cursor, int size) {
+		try {
+			List<OrganizationDTO> organizationList = organizationRepository.findOrganizationListByUserIdAfter(userId,
+					true, cursor.organizationName(), cursor.organizationId(), PageRequest.of(0, size + 1));
+			return toCursorPage(organizationList, size);
+
+		} catch (Exception ex) {
+			logger.error("Exception occurred while retrieving organization list by user id after cursor", ex);
+			throw new OrganizationServiceException("An error occurred while retrieving organization list by user id", ex);
+		}
+	}
+	
+	/**
+	 * The repository is asked for one row more than the page size so that the
+	 * next page can be detected without a count query.
+	 */
+	private CursorPage<OrganizationDTO> toCursorPage(List<OrganizationDTO> organizationList, int size) {
+		boolean hasNext = organizationList.size() > size;
+		List<OrganizationDTO> page = hasNext ? organizationList.subList(0, size) : organizationList;
+		String nextCursor = null;
+		if (hasNext) {
+			OrganizationDTO last = page.get(page.size() - 1);
+			nextCursor = new OrganizationCursor(last.getOrganizationName(), last.getOrganizationId()).encode();
+		}
+		return new CursorPage<>(page, nextCursor, hasNext);
+	}
 
 }
@@ -0,0 +1,62 @@
+package sg.edu.nus.iss.edgp.org.management.service.impl;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Caches list totals per filter so that paginated calls in
+ * {@link sg.edu.nus.iss.edgp.org.management.enums.CountMode#CACHED} mode do not
+ * run a count query on every page. Services evict the affected filters after
+ * a create, update or deactivation; the TTL bounds drift caused by writes on
+ * other instances.
+ */
+@Component
+public class RecordCountCache {
+
+	public static final String CACHE_NAME = "recordCount";
+
+	public static final String ACTIVE_ORGANIZATIONS = "organization:active";
+	public static final String ORGANIZATION_PREFIX = "organization:";
+	public static final String ACTIVE_SECTORS = "sector:active";
+
+	private final Cache<String, Long> cache;
+
+	public RecordCountCache(@Value("${pagination.count-cache.ttl-seconds}") long ttlSeconds,
+			@Value("${pagination.count-cache.max-size}") long maxSize, MeterRegistry meterRegistry) {
+		this.cache = Caffeine.newBuilder().maximumSize(maxSize).expireAfterWrite(ttlSeconds, TimeUnit.SECONDS)
+				.recordStats().build();
+		CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+	}
+
+	public static String organizationsCreatedBy(String userId) {
+		return ORGANIZATION_PREFIX + "user:" + userId;
+	}
+
+	/**
+	 * Returns the cached total, or runs the count once for all concurrent
+	 * callers.
+	 */
+	public long get(String key, Supplier<Long> counter) {
+		return cache.get(key, ignored -> counter.get());
+	}
+
+	public void invalidate(String key) {
+		cache.invalidate(key);
+	}
+
+	/**
+	 * Evicts every filter whose key starts with the given prefix.
+	 */
+	public void invalidateAll(String prefix) {
+		cache.asMap().keySet().removeIf(key -> key.startsWith(prefix));
+	}
+}
@@ -0,0 +1,131 @@
+package sg.edu.nus.iss.edgp.org.management.service.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import sg.edu.nus.iss.edgp.org.management.dto.SectorDTO;
+import sg.edu.nus.iss.edgp.org.management.repository.SectorRepository;
+
+/**
+ * In-process copy of the sector table as an immutable snapshot indexed by id,
+ * name and code. Reads are plain map lookups on the current snapshot; writes
+ * build a new snapshot and swap it in, so readers never lock. An id that is
+ * not in the snapshot is read through from the database once, which picks up
+ * sectors created on other instances; the periodic reload picks up their
+ * updates. Names and codes are matched case-insensitively, like the MySQL
+ * unique constraints, and only against the snapshot; a sector created on
+ * another instance since the last reload is caught by those constraints when
+ * the insert is flushed.
+ */
+@Component
+public class SectorRegistry {
+
+	private static final Logger logger = LoggerFactory.getLogger(SectorRegistry.class);
+
+	private final SectorRepository sectorRepository;
+	private volatile Snapshot snapshot = Snapshot.of(List.of());
+
+	public SectorRegistry(SectorRepository sectorRepository) {
+		this.sectorRepository = sectorRepository;
+	}
+
+	@PostConstruct
+	@Scheduled(fixedDelayString = "${sector.registry.refresh-interval-ms}",
+			initialDelayString = "${sector.registry.refresh-interval-ms}")
+	public synchronized void reload() {
+		try {
+			snapshot = Snapshot.of(sectorRepository.findAllSectorList());
+			logger.info("Sector registry loaded {} sectors", snapshot.byId().size());
+		} catch (Exception e) {
+			logger.error("Unable to reload sector registry, keeping {} cached sectors: {}", snapshot.byId().size(),
+					e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Adds or replaces a sector after it has been written to the database.
+	 */
+	public synchronized void register(SectorDTO sectorDTO) {
+		if (sectorDTO.getSectorID() == null) {
+			return;
+		}
+		Map<String, SectorDTO> sectors = new HashMap<>(snapshot.byId());
+		sectors.put(sectorDTO.getSectorID(), copy(sectorDTO));
+		snapshot = Snapshot.of(sectors.values());
+	}
+
+	public Optional<SectorDTO> findById(String sectorId) {
+		if (sectorId == null) {
+			return Optional.empty();
+		}
+		SectorDTO sectorDTO = snapshot.byId().get(sectorId);
+		if (sectorDTO == null) {
+			Optional<SectorDTO> loaded = sectorRepository.findSectorDTOById(sectorId);
+			loaded.ifPresent(this::register);
+			return loaded;
+		}
+		return Optional.of(copy(sectorDTO));
+	}
+
+	public Optional<SectorDTO> findActiveById(String sectorId) {
+		return findById(sectorId).filter(sectorDTO -> Boolean.TRUE.equals(sectorDTO.getActive()));
+	}
+
+	/**
+	 * Returns the sectors whose name or code matches either value.
+	 */
+	public List<SectorDTO> findByNameOrCode(String sectorName, String sectorCode) {
+		Snapshot current = snapshot;
+		List<SectorDTO> matches = new ArrayList<>(2);
+		SectorDTO byName = sectorName == null ? null : current.byName().get(key(sectorName));
+		SectorDTO byCode = sectorCode == null ? null : current.byCode().get(key(sectorCode));
+		if (byName != null) {
+			matches.add(copy(byName));
+		}
+		if (byCode != null && byCode != byName) {
+			matches.add(copy(byCode));
+		}
+		return matches;
+	}
+
+	private static String key(String value) {
+		return value.toLowerCase(Locale.ROOT);
+	}
+
+	private static SectorDTO copy(SectorDTO sectorDTO) {
+		return new SectorDTO(sectorDTO.getSectorID(), sectorDTO.getSectorName(), sectorDTO.getSectorCode(),
+				sectorDTO.getDescription(), sectorDTO.getCreatedBy(), sectorDTO.getLastUpdatedBy(),
+				sectorDTO.getRemark(), sectorDTO.getActive());
+	}
+
+	private record Snapshot(Map<String, SectorDTO> byId, Map<String, SectorDTO> byName,
+			Map<String, SectorDTO> byCode) {
+
+		static Snapshot of(Collection<SectorDTO> sectors) {
+			Map<String, SectorDTO> byId = new HashMap<>();
+			Map<String, SectorDTO> byName = new HashMap<>();
+			Map<String, SectorDTO> byCode = new HashMap<>();
+			for (SectorDTO sectorDTO : sectors) {
+				byId.put(sectorDTO.getSectorID(), sectorDTO);
+				if (sectorDTO.getSectorName() != null) {
+					byName.put(key(sectorDTO.getSectorName()), sectorDTO);
+				}
+				if (sectorDTO.getSectorCode() != null) {
+					byCode.put(key(sectorDTO.getSectorCode()), sectorDTO);
+				}
+			}
+			return new Snapshot(Map.copyOf(byId), Map.copyOf(byName), Map.copyOf(byCode));
+		}
+	}
+}
@@ -7,11 +7,13 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 
 import lombok.RequiredArgsConstructor;
+import sg.edu.nus.iss.edgp.org.management.authentication.AuthenticatedPrincipal;
+import sg.edu.nus.iss.edgp.org.management.dto.OrganizationBulkUpdateRequest;
 import sg.edu.nus.iss.edgp.org.management.dto.OrganizationDTO;
 import sg.edu.nus.iss.edgp.org.management.dto.OrganizationRequest;
 import sg.edu.nus.iss.edgp.org.management.dto.ValidationResult;
 import sg.edu.nus.iss.edgp.org.management.entity.Sector;
-import sg.edu.nus.iss.edgp.org.management.service.impl.JwtService;
+import sg.edu.nus.iss.edgp.org.management.exception.DuplicateOrganizationException;
 import sg.edu.nus.iss.edgp.org.management.service.impl.OrganizationService;
 import sg.edu.nus.iss.edgp.org.management.service.impl.SectorService;
 import sg.edu.nus.iss.edgp.org.management.strategy.IAPIHelperValidationStrategy;
@@ -23,7 +25,6 @@ public class OrganizationValidationStrategy implements IAPIHelperValidationStrat
 
 	private final OrganizationService organizationService;
 	private final SectorService sectorService;
-	private final JwtService jwtService;
 
 	@Override
 	public ValidationResult validateCreation(OrganizationRequest orgReq) {
@@ -43,14 +44,13 @@ public class OrganizationValidationStrategy implements IAPIHelperValidationStrat
 			return buildValidationResult(String.join(" and ", missingFields) + " is required", HttpStatus.BAD_REQUEST);
 		}
 
-		if (organizationService.findByOrganizationName(orgReq.getOrganizationName().trim()) != null) {
-			return buildValidationResult("Duplicate organization name detected. Please enter a unique name.",
-					HttpStatus.BAD_REQUEST);
+		// The unique constraints remain the final guard for both checks.
+		if (organizationService.existsByOrganizationName(orgReq.getOrganizationName().trim())) {
+			return buildValidationResult(DuplicateOrganizationException.DUPLICATE_NAME_MESSAGE, HttpStatus.BAD_REQUEST);
 		}
 
-		if (organizationService.findByUEN(orgReq.getUniqueEntityNumber()) != null) {
-			return buildValidationResult("Duplicate organization UEN detected. Please enter a unique UEN.",
-					HttpStatus.BAD_REQUEST);
+		if (organizationService.existsByUEN(orgReq.getUniqueEntityNumber())) {
+			return buildValidationResult(DuplicateOrganizationException.DUPLICATE_UEN_MESSAGE, HttpStatus.BAD_REQUEST);
 		}
 		
 		if (sectorService.findBySectorIdAndIsActive(orgReq.getSector().getSectorId()) == null) {
@@ -101,24 +101,41 @@ public class OrganizationValidationStrategy implements IAPIHelperValidationStrat
 		return validationResult;
 	}
 	
-	public ValidationResult validateObject(String orgId, String authorizationHeader) {
+	public ValidationResult validateBulkUpdate(OrganizationBulkUpdateRequest bulkReq) {
+		boolean hasIds = bulkReq.getOrganizationIds() != null && !bulkReq.getOrganizationIds().isEmpty();
+		boolean hasFilter = bulkReq.getCurrentSectorId() != null && !bulkReq.getCurrentSectorId().isBlank();
+		if (hasIds == hasFilter) {
+			return buildInvalidResult("Bad Request: Provide either organization IDs or a current sector ID.");
+		}
+		if (hasIds && bulkReq.getOrganizationIds().stream().anyMatch(id -> id == null || id.isBlank())) {
+			return buildInvalidResult("Bad Request: Organization ID could not be blank.");
+		}
+		if (bulkReq.getSectorId() == null && bulkReq.getActive() == null) {
+			return buildInvalidResult("Bad Request: Nothing to update. Provide a sector ID or an active flag.");
+		}
+		if (bulkReq.getSectorId() != null && sectorService.findBySectorIdAndIsActive(bulkReq.getSectorId()) == null) {
+			return buildValidationResult("Active Sector not found with this sector name", HttpStatus.BAD_REQUEST);
+		}
+
+		ValidationResult validationResult = new ValidationResult();
+		validationResult.setValid(true);
+		return validationResult;
+	}
+	
+	public ValidationResult validateObject(String orgId, AuthenticatedPrincipal principal) {
 	    if (orgId == null || orgId.isBlank()) {
 	        return buildInvalidResult("Bad Request: Organization id cannot be blank.");
 	    }
 
-	    if (authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")) {
+	    if (principal == null) {
 	        return buildInvalidResult("Invalid Authorization header.");
 	    }
 
-	    String jwtToken = authorizationHeader.substring(7);
-	    String scope = jwtService.extractScopeFromToken(jwtToken);
-
-	    if (scope.toLowerCase().contains("view:org")) {
-	        String userOrgId = jwtService.extractOrgIdFromToken(jwtToken);
-	        if (!orgId.equals(userOrgId)) {
+	    if (principal.hasScopeContaining("view:org")) {
+	        if (!orgId.equals(principal.getOrgId())) {
 	            return buildInvalidResult("Access Denied. Not authorized to view this organization.");
 	        }
-	    } else if (scope.isEmpty() || scope.toLowerCase().contains("invalid")) {
+	    } else if (principal.getScopes().isEmpty()) {
 	    	return buildInvalidResult("Access Denied. Not authorized to view this organization.");
 	    }
 
@@ -0,0 +1,105 @@
+package sg.edu.nus.iss.edgp.org.management.utility;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter over strings. Sized for an expected number of
+ * entries and false-positive rate; {@link #mightContain(String)} never
+ * returns {@code false} for a value that was added. Adds and lookups are
+ * lock-free and safe to run concurrently.
+ */
+public class BloomFilter {
+
+	private final AtomicLongArray bits;
+	private final long bitSize;
+	private final int hashCount;
+	private final AtomicLong entries = new AtomicLong();
+
+	public BloomFilter(long expectedEntries, double falsePositiveRate) {
+		if (expectedEntries <= 0 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+			throw new IllegalArgumentException("Bloom filter needs positive entries and a rate between 0 and 1");
+		}
+		long optimalBits = (long) Math.ceil(-expectedEntries * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+		int words = (int) Math.min(Integer.MAX_VALUE, (optimalBits + 63) / 64);
+		this.bits = new AtomicLongArray(words);
+		this.bitSize = (long) words * 64;
+		this.hashCount = Math.max(1, (int) Math.round((double) bitSize / expectedEntries * Math.log(2)));
+	}
+
+	public void put(String value) {
+		long hash1 = hash(value);
+		long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+		for (int i = 0; i < hashCount; i++) {
+			long index = Math.floorMod(hash1 + i * hash2, bitSize);
+			int word = (int) (index >>> 6);
+			long mask = 1L << index;
+			long current = bits.get(word);
+			while ((current & mask) == 0 && !bits.compareAndSet(word, current, current | mask)) {
+				current = bits.get(word);
+			}
+		}
+		entries.incrementAndGet();
+	}
+
+	public boolean mightContain(String value) {
+		long hash1 = hash(value);
+		long hash2 = mix(hash1 ^ 0x9E3779B97F4A7C15L) | 1;
+		for (int i = 0; i < hashCount; i++) {
+			long index = Math.floorMod(hash1 + i * hash2, bitSize);
+			if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Number of values added, counting repeats.
+	 */
+	public long getEntryCount() {
+		return entries.get();
+	}
+
+	public long getBitSize() {
+		return bitSize;
+	}
+
+	public int getHashCount() {
+		return hashCount;
+	}
+
+	public long getSizeInBytes() {
+		return bitSize / 8;
+	}
+
+	/**
+	 * False-positive probability implied by the bits set so far.
+	 */
+	public double getExpectedFalsePositiveRate() {
+		long setBits = 0;
+		for (int i = 0; i < bits.length(); i++) {
+			setBits += Long.bitCount(bits.get(i));
+		}
+		return Math.pow((double) setBits / bitSize, hashCount);
+	}
+
+	private static long hash(String value) {
+		long hash = 0xCBF29CE484222325L;
+		for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+			hash ^= b & 0xFF;
+			hash *= 0x100000001B3L;
+		}
+		return mix(hash);
+	}
+
+	private static long mix(long hash) {
+		hash ^= hash >>> 33;
+		hash *= 0xFF51AFD7ED558CCDL;
+		hash ^= hash >>> 33;
+		hash *= 0xC4CEB9FE1A85EC53L;
+		hash ^= hash >>> 33;
+		return hash;
+	}
+}
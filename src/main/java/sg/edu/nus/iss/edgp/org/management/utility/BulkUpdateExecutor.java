@@ -0,0 +1,55 @@
+package sg.edu.nus.iss.edgp.org.management.utility;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.ToIntFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import sg.edu.nus.iss.edgp.org.management.dto.BulkUpdateBatchResult;
+import sg.edu.nus.iss.edgp.org.management.dto.BulkUpdateReport;
+
+/**
+ * Applies a set-based update to a list of IDs in fixed-size batches, so each
+ * UPDATE stays within a bounded IN list and a short transaction. When a batch
+ * fails, the batches before it stay committed and the report lists them along
+ * with the failed batch number; later batches are not attempted.
+ */
+public class BulkUpdateExecutor {
+
+	private static final Logger logger = LoggerFactory.getLogger(BulkUpdateExecutor.class);
+
+	public static BulkUpdateReport execute(List<String> ids, int batchSize, ToIntFunction<List<String>> update,
+			Consumer<BulkUpdateBatchResult> batchListener) {
+		if (batchSize < 1) {
+			throw new IllegalArgumentException("Batch size must be at least 1");
+		}
+		List<BulkUpdateBatchResult> batches = new ArrayList<>();
+		int updated = 0;
+		for (int from = 0; from < ids.size(); from += batchSize) {
+			List<String> batch = ids.subList(from, Math.min(from + batchSize, ids.size()));
+			int batchNumber = batches.size() + 1;
+			int batchUpdated;
+			try {
+				batchUpdated = update.applyAsInt(batch);
+			} catch (RuntimeException ex) {
+				logger.error("Bulk update batch {} of {} records failed", batchNumber, batch.size(), ex);
+				boolean conflict = ex instanceof DataIntegrityViolationException
+						|| ex instanceof ConcurrencyFailureException;
+				String errorMessage = "Batch " + batchNumber
+						+ (conflict ? " conflicts with the current data" : " could not be applied")
+						+ " and was rolled back; later batches were not attempted.";
+				return new BulkUpdateReport(ids.size(), updated, batches, batchNumber, errorMessage, conflict);
+			}
+			BulkUpdateBatchResult result = new BulkUpdateBatchResult(batchNumber, batch.size(), batchUpdated);
+			batches.add(result);
+			updated += result.getUpdatedRecords();
+			batchListener.accept(result);
+		}
+		return new BulkUpdateReport(ids.size(), updated, batches);
+	}
+}
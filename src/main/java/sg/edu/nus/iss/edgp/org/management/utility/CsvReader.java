@@ -0,0 +1,84 @@
+package sg.edu.nus.iss.edgp.org.management.utility;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 CSV one record at a time: comma separated, fields optionally
+ * quoted, {@code ""} inside quotes for a quote, and line breaks allowed inside
+ * quoted fields. Accepts CRLF or LF line endings and skips a leading byte
+ * order mark.
+ */
+public class CsvReader implements Closeable {
+
+	private final BufferedReader reader;
+	private boolean started;
+
+	public CsvReader(Reader reader) {
+		this.reader = reader instanceof BufferedReader buffered ? buffered : new BufferedReader(reader);
+	}
+
+	/**
+	 * Returns the next record, or {@code null} at the end of the input.
+	 */
+	public List<String> readRecord() throws IOException {
+		int c = reader.read();
+		if (!started) {
+			started = true;
+			if (c == '\uFEFF') {
+				c = reader.read();
+			}
+		}
+		if (c == -1) {
+			return null;
+		}
+
+		List<String> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+		while (true) {
+			if (quoted) {
+				if (c == -1) {
+					throw new IOException("Unterminated quoted field");
+				}
+				if (c == '"') {
+					reader.mark(1);
+					if (reader.read() == '"') {
+						field.append('"');
+					} else {
+						reader.reset();
+						quoted = false;
+					}
+				} else {
+					field.append((char) c);
+				}
+			} else if (c == '"' && field.isEmpty()) {
+				quoted = true;
+			} else if (c == ',') {
+				fields.add(field.toString());
+				field.setLength(0);
+			} else if (c == '\r' || c == '\n' || c == -1) {
+				if (c == '\r') {
+					reader.mark(1);
+					if (reader.read() != '\n') {
+						reader.reset();
+					}
+				}
+				fields.add(field.toString());
+				return fields;
+			} else {
+				field.append((char) c);
+			}
+			c = reader.read();
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+}
@@ -24,6 +24,14 @@ public class DTOMapper {
 	}
 	
 	public static OrganizationDTO toOrganizationDTO(Organization organization) {
+		return toOrganizationDTO(organization, toSectorDTO(organization.getSector()));
+	}
+
+	/**
+	 * Maps an organization whose sector is already known as a DTO, so an
+	 * unloaded sector reference is never initialized.
+	 */
+	public static OrganizationDTO toOrganizationDTO(Organization organization, SectorDTO sectorDTO) {
 		OrganizationDTO organizationDTO = new OrganizationDTO();
 		organizationDTO.setOrganizationId(organization.getOrganizationId());
 		organizationDTO.setOrganizationName(organization.getOrganizationName());
@@ -36,7 +44,7 @@ public class DTOMapper {
 		organizationDTO.setCountry(organization.getCountry());
 		organizationDTO.setWebsiteURL(organization.getWebsiteURL());
 		organizationDTO.setOrganizationSize(organization.getOrganizationSize());
-		organizationDTO.setSector(toSectorDTO(organization.getSector()));
+		organizationDTO.setSector(sectorDTO);
 		organizationDTO.setPrimaryContactName(organization.getPrimaryContactName());
 		organizationDTO.setPrimaryContactPosition(organization.getPrimaryContactPosition());
 		organizationDTO.setPrimaryContactNumber(organization.getPrimaryContactNumber());
@@ -2,67 +2,54 @@ package sg.edu.nus.iss.edgp.org.management.utility;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.json.simple.JSONObject;
-import org.json.simple.parser.JSONParser;
-import org.json.simple.parser.ParseException;
 import org.springframework.stereotype.Component;
 
 import lombok.RequiredArgsConstructor;
 import sg.edu.nus.iss.edgp.org.management.connector.AdminAPICall;
+import sg.edu.nus.iss.edgp.org.management.connector.UserProfileCache;
 import sg.edu.nus.iss.edgp.org.management.pojo.User;
+import sg.edu.nus.iss.edgp.org.management.pojo.UserProfileResponse;
 
 @Component
 @RequiredArgsConstructor
 public class JSONReader {
 	
 	private final AdminAPICall apiCall;
+	private final UserProfileCache userProfileCache;
 	private static final Logger logger = LoggerFactory.getLogger(JSONReader.class);
 
-	public JSONObject getActiveUserInfo(String userId, String authorizationHeader) {
-        JSONObject jsonResponse = new JSONObject();
-		String responseStr = apiCall.validateActiveUser(userId, authorizationHeader);
-		try {
-			JSONParser parser = new JSONParser();
-			jsonResponse = (JSONObject) parser.parse(responseStr);
-			return jsonResponse;
-		} catch (ParseException e) {	
-			logger.error("Error parsing JSON response for getActiveUserDetails...", e);
-
-		}
-		return jsonResponse;
+	public UserProfileResponse getActiveUserInfo(String userId, String authorizationHeader) {
+		UserProfileResponse profile = userProfileCache.get(userId, key -> fetchActiveUserInfo(key, authorizationHeader));
+		return profile != null ? profile : new UserProfileResponse();
 	}
 	
-	public String getMessageFromResponse(JSONObject jsonResponse) {
-		return (String) jsonResponse.get("message");
-	}
-
-	public Boolean getSuccessFromResponse(JSONObject jsonResponse) {
-		return (Boolean) jsonResponse.get("success");
+	private UserProfileResponse fetchActiveUserInfo(String userId, String authorizationHeader) {
+		UserProfileResponse profile = apiCall.validateActiveUser(userId, authorizationHeader);
+		if (profile != null && profile.getSuccess() != null) {
+			return profile;
+		}
+		logger.error("Unexpected JSON response for getActiveUserDetails...");
+		return null;
 	}
 	
-	public User getUserObject(JSONObject userJSONObject) {
-		User var = new User();
-		JSONObject data = getDataFromResponse(userJSONObject);
-		if (data != null) {
-			logger.info("User data");
-			String userName = GeneralUtility.makeNotNull(data.get("username").toString());
-			String email = GeneralUtility.makeNotNull(data.get("email").toString());
-			String role = GeneralUtility.makeNotNull(data.get("role").toString());
-			String userID = GeneralUtility.makeNotNull(data.get("userID").toString());
-			var.setUserId(userID);
-			var.setEmail(email);
-			var.setRole(role);
-			var.setUsername(userName);
-		}
+	public String getMessageFromResponse(UserProfileResponse profile) {
+		return profile.getMessage();
+	}
 
-		return var;
+	public Boolean getSuccessFromResponse(UserProfileResponse profile) {
+		return profile.getSuccess();
 	}
 	
-
-	public JSONObject getDataFromResponse(JSONObject jsonResponse) {
-		if (jsonResponse != null && !jsonResponse.isEmpty()) {
-			return (JSONObject) jsonResponse.get("data");
+	public User getUserObject(UserProfileResponse profile) {
+		User user = profile.getData();
+		if (user == null) {
+			return new User();
 		}
-		return null;
+		logger.info("User data");
+		user.setUserId(GeneralUtility.makeNotNull(user.getUserId()));
+		user.setEmail(GeneralUtility.makeNotNull(user.getEmail()));
+		user.setRole(GeneralUtility.makeNotNull(user.getRole()));
+		user.setUsername(GeneralUtility.makeNotNull(user.getUsername()));
+		return user;
 	}
 }
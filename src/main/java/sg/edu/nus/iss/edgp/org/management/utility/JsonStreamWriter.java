@@ -0,0 +1,60 @@
+package sg.edu.nus.iss.edgp.org.management.utility;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Writes values one at a time to an output stream, either as a single JSON
+ * array or as newline-delimited JSON. Nothing is buffered beyond the
+ * generator's own buffer. {@link #finish()} closes the array; a writer that is
+ * closed without finishing leaves the array open, so a stream that failed
+ * half-way never reads as a complete document.
+ */
+public class JsonStreamWriter implements Closeable {
+
+	private final JsonGenerator generator;
+	private final boolean ndjson;
+
+	public JsonStreamWriter(ObjectMapper objectMapper, OutputStream outputStream, boolean ndjson) throws IOException {
+		this.ndjson = ndjson;
+		this.generator = objectMapper.getFactory().createGenerator(outputStream);
+		this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+		this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+		this.generator.setRootValueSeparator(null);
+		if (!ndjson) {
+			this.generator.writeStartArray();
+		}
+	}
+
+	/**
+	 * Writes one value; I/O failures such as a client disconnect are rethrown
+	 * unchecked so the caller can use this as a {@code Consumer}.
+	 */
+	public void write(Object value) {
+		try {
+			generator.writeObject(value);
+			if (ndjson) {
+				generator.writeRaw('\n');
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	public void finish() throws IOException {
+		if (!ndjson) {
+			generator.writeEndArray();
+		}
+		generator.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		generator.close();
+	}
+}
@@ -0,0 +1,193 @@
+package sg.edu.nus.iss.edgp.org.management.utility;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import sg.edu.nus.iss.edgp.org.management.dto.OrganizationRequest;
+import sg.edu.nus.iss.edgp.org.management.entity.Sector;
+
+/**
+ * Reads organizations for a bulk import one row at a time from either a JSON
+ * array of create requests or a CSV file with a header row, so the upload is
+ * never held in memory. A row whose values cannot be mapped is returned with
+ * an error instead of failing the import; a file that cannot be parsed at all
+ * throws {@link IllegalArgumentException}.
+ */
+public abstract class OrganizationImportReader implements Iterator<OrganizationImportReader.Row>, Closeable {
+
+	public record Row(int rowNumber, OrganizationRequest request, String error) {
+	}
+
+	private Row next;
+	private int rowNumber;
+
+	public static OrganizationImportReader json(ObjectMapper objectMapper, InputStream inputStream) throws IOException {
+		return new JsonReader(objectMapper, inputStream);
+	}
+
+	public static OrganizationImportReader csv(InputStream inputStream) throws IOException {
+		return new CsvImportReader(inputStream);
+	}
+
+	/**
+	 * Reads the next row, or returns {@code null} at the end of the input.
+	 */
+	protected abstract Row read(int rowNumber) throws IOException;
+
+	@Override
+	public boolean hasNext() {
+		if (next == null) {
+			try {
+				next = read(rowNumber + 1);
+			} catch (JsonProcessingException e) {
+				throw new IllegalArgumentException("Malformed import file after row " + rowNumber + ": "
+						+ e.getOriginalMessage(), e);
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			if (next != null) {
+				rowNumber++;
+			}
+		}
+		return next != null;
+	}
+
+	@Override
+	public Row next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		Row row = next;
+		next = null;
+		return row;
+	}
+
+	private static class JsonReader extends OrganizationImportReader {
+
+		private final ObjectMapper objectMapper;
+		private final JsonParser parser;
+
+		JsonReader(ObjectMapper objectMapper, InputStream inputStream) throws IOException {
+			this.objectMapper = objectMapper;
+			this.parser = objectMapper.getFactory().createParser(inputStream);
+			if (parser.nextToken() != JsonToken.START_ARRAY) {
+				throw new IllegalArgumentException("Import file must be a JSON array of organizations");
+			}
+		}
+
+		@Override
+		protected Row read(int rowNumber) throws IOException {
+			JsonToken token = parser.nextToken();
+			if (token == null || token == JsonToken.END_ARRAY) {
+				return null;
+			}
+			JsonNode node = parser.readValueAsTree();
+			try {
+				return new Row(rowNumber, objectMapper.treeToValue(node, OrganizationRequest.class), null);
+			} catch (JsonProcessingException e) {
+				return new Row(rowNumber, null, "Invalid organization: " + e.getOriginalMessage());
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			parser.close();
+		}
+	}
+
+	private static class CsvImportReader extends OrganizationImportReader {
+
+		private final CsvReader reader;
+		private final Map<String, Integer> columns = new HashMap<>();
+
+		CsvImportReader(InputStream inputStream) throws IOException {
+			this.reader = new CsvReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+			List<String> header = reader.readRecord();
+			if (header == null) {
+				throw new IllegalArgumentException("Import file must start with a CSV header row");
+			}
+			for (int i = 0; i < header.size(); i++) {
+				columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+			}
+			if (!columns.containsKey("organizationname")) {
+				throw new IllegalArgumentException("CSV header must include organizationName");
+			}
+		}
+
+		@Override
+		protected Row read(int rowNumber) throws IOException {
+			List<String> record;
+			try {
+				record = reader.readRecord();
+				while (record != null && record.size() == 1 && record.get(0).isBlank()) {
+					record = reader.readRecord();
+				}
+			} catch (IOException e) {
+				throw new IllegalArgumentException("Malformed CSV after row " + (rowNumber - 1) + ": " + e.getMessage(),
+						e);
+			}
+			if (record == null) {
+				return null;
+			}
+
+			OrganizationRequest request = new OrganizationRequest();
+			request.setOrganizationName(value(record, "organizationName"));
+			request.setAddress(value(record, "address"));
+			request.setContactNumber(value(record, "contactNumber"));
+			request.setUniqueEntityNumber(value(record, "uniqueEntityNumber"));
+			request.setStreetAddress(value(record, "streetAddress"));
+			request.setCity(value(record, "city"));
+			request.setPostalCode(value(record, "postalCode"));
+			request.setCountry(value(record, "country"));
+			request.setWebsiteURL(value(record, "websiteURL"));
+			request.setPrimaryContactName(value(record, "primaryContactName"));
+			request.setPrimaryContactPosition(value(record, "primaryContactPosition"));
+			request.setPrimaryContactEmail(value(record, "primaryContactEmail"));
+			request.setPrimaryContactNumber(value(record, "primaryContactNumber"));
+			request.setRemark(value(record, "remark"));
+			Sector sector = new Sector();
+			sector.setSectorId(value(record, "sectorId"));
+			request.setSector(sector);
+
+			String organizationSize = value(record, "organizationSize");
+			if (organizationSize != null && !organizationSize.isBlank()) {
+				try {
+					request.setOrganizationSize(Integer.parseInt(organizationSize.trim()));
+				} catch (NumberFormatException e) {
+					return new Row(rowNumber, request, "Invalid organizationSize: " + organizationSize);
+				}
+			}
+			return new Row(rowNumber, request, null);
+		}
+
+		private String value(List<String> record, String column) {
+			Integer index = columns.get(column.toLowerCase(Locale.ROOT));
+			if (index == null || index >= record.size()) {
+				return null;
+			}
+			String value = record.get(index);
+			return value.isEmpty() ? null : value;
+		}
+
+		@Override
+		public void close() throws IOException {
+			reader.close();
+		}
+	}
+}
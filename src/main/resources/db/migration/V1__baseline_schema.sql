@@ -0,0 +1,49 @@
+-- Schema as previously generated by Hibernate (ddl-auto=update) from the
+-- Sector and Organization entities. Existing databases are baselined at this
+-- version instead of running it.
+
+CREATE TABLE sector (
+    sector_id VARCHAR(255) NOT NULL,
+    sector_name VARCHAR(255) NOT NULL,
+    sector_code VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    created_date_time DATETIME NOT NULL,
+    created_by VARCHAR(255) NOT NULL,
+    last_updated_date_time DATETIME NOT NULL,
+    last_updated_by VARCHAR(255) NOT NULL,
+    remark VARCHAR(255),
+    is_active BOOLEAN DEFAULT TRUE NOT NULL,
+    CONSTRAINT pk_sector PRIMARY KEY (sector_id),
+    CONSTRAINT uk_sector_name UNIQUE (sector_name),
+    CONSTRAINT uk_sector_code UNIQUE (sector_code)
+);
+
+CREATE TABLE organization (
+    organization_id VARCHAR(255) NOT NULL,
+    organization_name VARCHAR(255) NOT NULL,
+    address VARCHAR(255) NOT NULL,
+    contact_number VARCHAR(255),
+    unique_entity_number VARCHAR(255) NOT NULL,
+    street_address VARCHAR(255),
+    city VARCHAR(255),
+    postal_code VARCHAR(255),
+    country VARCHAR(255),
+    websiteurl VARCHAR(255),
+    organization_size INTEGER,
+    sector_id VARCHAR(255),
+    primary_contact_name VARCHAR(255) NOT NULL,
+    primary_contact_position VARCHAR(255),
+    primary_contact_email VARCHAR(255) NOT NULL,
+    primary_contact_number VARCHAR(255) NOT NULL,
+    created_date_time DATETIME NOT NULL,
+    created_by VARCHAR(255) NOT NULL,
+    last_updated_date_time DATETIME NOT NULL,
+    last_updated_by VARCHAR(255) NOT NULL,
+    remark VARCHAR(255),
+    is_active BOOLEAN DEFAULT TRUE NOT NULL,
+    CONSTRAINT pk_organization PRIMARY KEY (organization_id),
+    CONSTRAINT uk_organization_name UNIQUE (organization_name),
+    CONSTRAINT uk_organization_uen UNIQUE (unique_entity_number)
+);
+
+ALTER TABLE organization ADD CONSTRAINT fk_organization_sector FOREIGN KEY (sector_id) REFERENCES sector (sector_id);
@@ -0,0 +1,3 @@
+-- Active sector list, its count and the streamed export:
+-- WHERE is_active = ? ORDER BY sector_name.
+CREATE INDEX idx_sector_active_name ON sector (is_active, sector_name, sector_id);
@@ -2,16 +2,11 @@ package sg.edu.nus.iss.edgp.org.management;
 
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.test.context.ActiveProfiles;
-import org.springframework.test.context.bean.override.mockito.MockitoBean;
 
 @SpringBootTest
 @ActiveProfiles("test")
 class EdgpOrgManagementApplicationTests {
-	
-	@MockitoBean
-    private JwtDecoder jwtDecoder;
 
 	@Test
 	void contextLoads() {
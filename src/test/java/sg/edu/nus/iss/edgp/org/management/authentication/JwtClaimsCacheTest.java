@@ -0,0 +1,71 @@
+package sg.edu.nus.iss.edgp.org.management.authentication;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.Date;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class JwtClaimsCacheTest {
+
+	private JwtClaimsCache claimsCache;
+	private SimpleMeterRegistry meterRegistry;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		claimsCache = new JwtClaimsCache(100, meterRegistry);
+	}
+
+	@Test
+	void testGetVerifiesTokenOnlyOnce() {
+		AtomicInteger verifications = new AtomicInteger();
+		Claims claims = Jwts.claims().subject("user123").expiration(new Date(System.currentTimeMillis() + 60000))
+				.build();
+
+		for (int i = 0; i < 5; i++) {
+			Claims result = claimsCache.get("token", token -> {
+				verifications.incrementAndGet();
+				return claims;
+			});
+			assertEquals("user123", result.getSubject());
+		}
+
+		assertEquals(1, verifications.get());
+		assertEquals(4.0, meterRegistry.get("cache.gets").tag("cache", JwtClaimsCache.CACHE_NAME)
+				.tag("result", "hit").functionCounter().count());
+		assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", JwtClaimsCache.CACHE_NAME)
+				.tag("result", "miss").functionCounter().count());
+	}
+
+	@Test
+	void testGetDoesNotCacheVerificationFailures() {
+		AtomicInteger verifications = new AtomicInteger();
+		Claims expiredClaims = Jwts.claims().subject("user123").build();
+
+		for (int i = 0; i < 2; i++) {
+			assertThrows(ExpiredJwtException.class, () -> claimsCache.get("expired", token -> {
+				verifications.incrementAndGet();
+				throw new ExpiredJwtException(null, expiredClaims, "JWT expired");
+			}));
+		}
+
+		assertEquals(2, verifications.get());
+	}
+
+	@Test
+	void testGetKeepsDistinctTokensApart() {
+		Claims first = Jwts.claims().subject("first").build();
+		Claims second = Jwts.claims().subject("second").build();
+
+		assertEquals("first", claimsCache.get("token-1", token -> first).getSubject());
+		assertEquals("second", claimsCache.get("token-2", token -> second).getSubject());
+	}
+}
@@ -7,10 +7,12 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletResponse;
 import sg.edu.nus.iss.edgp.org.management.dto.AuditDTO;
+import sg.edu.nus.iss.edgp.org.management.exception.AdminServiceUnavailableException;
 import sg.edu.nus.iss.edgp.org.management.service.impl.AuditService;
 import sg.edu.nus.iss.edgp.org.management.service.impl.JwtService;
 
 import java.io.IOException;
+import java.util.Set;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,9 +20,11 @@ import org.mockito.*;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
 
 import org.springframework.security.core.context.SecurityContextHolder;
 
@@ -63,6 +67,9 @@ public class JwtFilterTest {
 		when(auditService.createAuditDTO("", "/test", "GET")).thenReturn(auditDTO);
 		when(jwtService.getUserDetail(anyString(), eq(token))).thenReturn(userDetails);
 		when(jwtService.validateToken(eq(token), eq(userDetails))).thenReturn(true);
+		when(jwtService.extractAllClaims(token)).thenReturn(Jwts.claims().subject("user-1")
+				.add(JwtService.USER_NAME, "John").add(JwtService.ORG_ID, "org-1")
+				.add(JwtService.SCOPE, "manage:org view:org").build());
 		when(userDetails.getAuthorities()).thenReturn(null);
 
 		jwtFilter.doFilterInternal(request, response, filterChain);
@@ -71,6 +78,39 @@ public class JwtFilterTest {
 		assertNotNull(SecurityContextHolder.getContext().getAuthentication());
 		assertTrue(
 				SecurityContextHolder.getContext().getAuthentication() instanceof UsernamePasswordAuthenticationToken);
+
+		AuthenticatedPrincipal principal = (AuthenticatedPrincipal) request
+				.getAttribute(AuthenticatedPrincipal.REQUEST_ATTRIBUTE);
+		assertNotNull(principal);
+		assertEquals("user-1", principal.getUserId());
+		assertEquals("John", principal.getUserName());
+		assertEquals("org-1", principal.getOrgId());
+		assertEquals(Set.of("manage:org", "view:org"), principal.getScopes());
+		assertSame(principal, SecurityContextHolder.getContext().getAuthentication().getPrincipal());
+	}
+
+	@Test
+	void testDoFilterInternal_BuildsScopeAndRoleAuthorities() throws JwtException, IllegalArgumentException, Exception {
+		String token = "valid.jwt.token";
+		request.addHeader("Authorization", "Bearer " + token);
+		request.setRequestURI("/test");
+		request.setMethod("GET");
+
+		UserDetails adminUser = org.springframework.security.core.userdetails.User.withUsername("john@example.com")
+				.password("").roles("ADMIN").build();
+		when(auditService.createAuditDTO("", "/test", "GET")).thenReturn(new AuditDTO());
+		when(jwtService.getUserDetail(anyString(), eq(token))).thenReturn(adminUser);
+		when(jwtService.validateToken(eq(token), eq(adminUser))).thenReturn(true);
+		when(jwtService.extractAllClaims(token)).thenReturn(Jwts.claims().subject("user-1")
+				.add(JwtService.SCOPE, "manage:org view:org").build());
+
+		jwtFilter.doFilterInternal(request, response, filterChain);
+
+		Set<String> authorities = AuthorityUtils
+				.authorityListToSet(SecurityContextHolder.getContext().getAuthentication().getAuthorities());
+		assertEquals(Set.of("ROLE_ADMIN", "SCOPE_manage:org", "SCOPE_view:org"), authorities);
+		assertEquals("user-1", SecurityContextHolder.getContext().getAuthentication().getName());
+		verify(filterChain).doFilter(request, response);
 	}
 
 	@Test
@@ -105,5 +145,26 @@ public class JwtFilterTest {
 		verify(auditService).logAudit(eq(auditDTO), eq(HttpServletResponse.SC_UNAUTHORIZED),
 				eq("Invalid or expired JWT token"), anyString());
 		assertEquals(HttpServletResponse.SC_UNAUTHORIZED, response.getStatus());
+		assertNull(request.getAttribute(AuthenticatedPrincipal.REQUEST_ATTRIBUTE));
+	}
+
+	@Test
+	void testDoFilterInternal_AdminServiceUnavailable() throws JwtException, IllegalArgumentException, Exception {
+		String token = "valid.jwt.token";
+		request.addHeader("Authorization", "Bearer " + token);
+		request.setRequestURI("/test");
+		request.setMethod("GET");
+
+		AuditDTO auditDTO = new AuditDTO();
+		when(auditService.createAuditDTO("", "/test", "GET")).thenReturn(auditDTO);
+		when(jwtService.getUserDetail(anyString(), eq(token)))
+				.thenThrow(new AdminServiceUnavailableException("Admin service is unavailable, please retry later."));
+
+		jwtFilter.doFilterInternal(request, response, filterChain);
+
+		verify(auditService).logAudit(eq(auditDTO), eq(HttpServletResponse.SC_SERVICE_UNAVAILABLE),
+				eq("Admin service is unavailable, please retry later."), anyString());
+		verify(filterChain, never()).doFilter(request, response);
+		assertEquals(HttpServletResponse.SC_SERVICE_UNAVAILABLE, response.getStatus());
 	}
 }
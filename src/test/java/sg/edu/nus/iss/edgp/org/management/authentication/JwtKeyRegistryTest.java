@@ -0,0 +1,157 @@
+package sg.edu.nus.iss.edgp.org.management.authentication;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.util.Base64;
+import java.util.Date;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import sg.edu.nus.iss.edgp.org.management.configuration.JwtConfig;
+
+class JwtKeyRegistryTest {
+
+	@TempDir
+	Path keyDirectory;
+
+	private JwtConfig jwtConfig;
+	private JwtClaimsCache claimsCache;
+	private KeyPair defaultKeyPair;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		defaultKeyPair = generateKeyPair();
+		jwtConfig = mock(JwtConfig.class);
+		when(jwtConfig.getJWTPubliceKey()).thenReturn(encode(defaultKeyPair));
+		when(jwtConfig.getJwtPublicKeyLocation()).thenReturn(keyDirectory.toString());
+		claimsCache = mock(JwtClaimsCache.class);
+	}
+
+	@Test
+	void testDefaultKeyVerifiesTokenWithoutKid() {
+		JwtKeyRegistry registry = new JwtKeyRegistry(jwtConfig, claimsCache, new SimpleMeterRegistry());
+
+		String token = Jwts.builder().subject("user123").expiration(expiry()).signWith(defaultKeyPair.getPrivate())
+				.compact();
+
+		assertEquals("user123", registry.getParser().parseSignedClaims(token).getPayload().getSubject());
+	}
+
+	@Test
+	void testKeyFileIsSelectedByKid() throws Exception {
+		KeyPair rotatedKeyPair = generateKeyPair();
+		Files.writeString(keyDirectory.resolve("2025-01.pem"), pem(rotatedKeyPair));
+
+		JwtKeyRegistry registry = new JwtKeyRegistry(jwtConfig, claimsCache, new SimpleMeterRegistry());
+
+		String token = Jwts.builder().header().keyId("2025-01").and().subject("user123").expiration(expiry())
+				.signWith(rotatedKeyPair.getPrivate()).compact();
+		assertEquals("user123", registry.getParser().parseSignedClaims(token).getPayload().getSubject());
+	}
+
+	@Test
+	void testUnknownKidFallsBackToDefaultKey() {
+		JwtKeyRegistry registry = new JwtKeyRegistry(jwtConfig, claimsCache, new SimpleMeterRegistry());
+
+		String token = Jwts.builder().header().keyId("unknown").and().subject("user123").expiration(expiry())
+				.signWith(defaultKeyPair.getPrivate()).compact();
+
+		assertEquals("user123", registry.getParser().parseSignedClaims(token).getPayload().getSubject());
+	}
+
+	@Test
+	void testUnknownKidSignedWithOtherKeyIsRejected() throws Exception {
+		JwtKeyRegistry registry = new JwtKeyRegistry(jwtConfig, claimsCache, new SimpleMeterRegistry());
+
+		String token = Jwts.builder().header().keyId("unknown").and().subject("user123").expiration(expiry())
+				.signWith(generateKeyPair().getPrivate()).compact();
+
+		assertThrows(JwtException.class, () -> registry.getParser().parseSignedClaims(token));
+	}
+
+	@Test
+	void testUnknownKidWithoutDefaultKeyIsRejected() throws Exception {
+		when(jwtConfig.getJWTPubliceKey()).thenReturn(null);
+		JwtKeyRegistry registry = new JwtKeyRegistry(jwtConfig, claimsCache, new SimpleMeterRegistry());
+
+		String token = Jwts.builder().header().keyId("unknown").and().subject("user123").expiration(expiry())
+				.signWith(defaultKeyPair.getPrivate()).compact();
+
+		assertThrows(JwtException.class, () -> registry.getParser().parseSignedClaims(token));
+	}
+
+	@Test
+	void testReloadPicksUpRotatedKeyAndDropsRemovedKey() throws Exception {
+		KeyPair firstKeyPair = generateKeyPair();
+		Path firstKey = keyDirectory.resolve("first.pem");
+		Files.writeString(firstKey, pem(firstKeyPair));
+		JwtKeyRegistry registry = new JwtKeyRegistry(jwtConfig, claimsCache, new SimpleMeterRegistry());
+		assertTrue(registry.getKeys().containsKey("first"));
+
+		KeyPair secondKeyPair = generateKeyPair();
+		Files.delete(firstKey);
+		Path secondKey = keyDirectory.resolve("second.pem");
+		Files.writeString(secondKey, pem(secondKeyPair));
+		Files.setLastModifiedTime(secondKey, FileTime.fromMillis(System.currentTimeMillis() + 1000));
+		registry.reload();
+
+		assertFalse(registry.getKeys().containsKey("first"));
+		String token = Jwts.builder().header().keyId("second").and().subject("user123").expiration(expiry())
+				.signWith(secondKeyPair.getPrivate()).compact();
+		assertEquals("user123", registry.getParser().parseSignedClaims(token).getPayload().getSubject());
+		verify(claimsCache, times(1)).invalidateAll();
+	}
+
+	@Test
+	void testReloadWithoutChangesKeepsSnapshot() throws Exception {
+		Files.writeString(keyDirectory.resolve("first.pem"), pem(generateKeyPair()));
+		JwtKeyRegistry registry = new JwtKeyRegistry(jwtConfig, claimsCache, new SimpleMeterRegistry());
+
+		var snapshot = registry.getKeys();
+		registry.reload();
+
+		assertSame(snapshot, registry.getKeys());
+		verify(claimsCache, never()).invalidateAll();
+	}
+
+	@Test
+	void testInvalidKeyFileIsSkipped() throws Exception {
+		Files.writeString(keyDirectory.resolve("broken.pem"), "not-a-key");
+		when(jwtConfig.getJWTPubliceKey()).thenReturn("bbbb");
+
+		JwtKeyRegistry registry = new JwtKeyRegistry(jwtConfig, claimsCache, new SimpleMeterRegistry());
+
+		assertTrue(registry.getKeys().isEmpty());
+	}
+
+	private static KeyPair generateKeyPair() throws Exception {
+		KeyPairGenerator keyGen = KeyPairGenerator.getInstance("RSA");
+		keyGen.initialize(2048);
+		return keyGen.generateKeyPair();
+	}
+
+	private static String encode(KeyPair keyPair) {
+		return Base64.getEncoder().encodeToString(keyPair.getPublic().getEncoded());
+	}
+
+	private static String pem(KeyPair keyPair) {
+		return "-----BEGIN PUBLIC KEY-----\n"
+				+ Base64.getMimeEncoder(64, "\n".getBytes()).encodeToString(keyPair.getPublic().getEncoded())
+				+ "\n-----END PUBLIC KEY-----\n";
+	}
+
+	private static Date expiry() {
+		return new Date(System.currentTimeMillis() + 60000);
+	}
+}
@@ -0,0 +1,145 @@
+package sg.edu.nus.iss.edgp.org.management.aws.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import sg.edu.nus.iss.edgp.org.management.dto.AuditDTO;
+import sg.edu.nus.iss.edgp.org.management.enums.AuditResponseStatus;
+
+class AuditMessageEncoderTest {
+
+	private static final int MAX_MESSAGE_SIZE = 256 * 1024;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final AuditMessageEncoder encoder = new AuditMessageEncoder(MAX_MESSAGE_SIZE);
+
+	private static AuditDTO audit(String remarks) {
+		AuditDTO auditDTO = new AuditDTO();
+		auditDTO.setStatusCode(200);
+		auditDTO.setUserId("user-1");
+		auditDTO.setUsername("alice");
+		auditDTO.setActivityType("Org-Create");
+		auditDTO.setActivityDescription("Organization created \"Acme\"");
+		auditDTO.setRequestActionEndpoint("/api/orgs");
+		auditDTO.setResponseStatus(AuditResponseStatus.SUCCESS);
+		auditDTO.setRequestHTTPVerb("POST");
+		auditDTO.setRemarks(remarks);
+		return auditDTO;
+	}
+
+	private static String repeat(String value, int times) {
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < times; i++) {
+			builder.append(value);
+		}
+		return builder.toString();
+	}
+
+	@Test
+	void testEncode_matchesObjectMapper() throws Exception {
+		AuditDTO auditDTO = audit("line one\nline two\t\"quoted\" \\ caf\u00e9 \u4f60\u597d \ud83d\ude00 \u0001");
+
+		JsonNode expected = objectMapper.readTree(objectMapper.writeValueAsString(auditDTO));
+		JsonNode actual = objectMapper.readTree(encoder.encode(auditDTO));
+
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	void testEncode_matchesObjectMapperWithNullFields() throws Exception {
+		AuditDTO auditDTO = new AuditDTO();
+		auditDTO.setRemarks(null);
+
+		JsonNode expected = objectMapper.readTree(objectMapper.writeValueAsString(auditDTO));
+		JsonNode actual = objectMapper.readTree(encoder.encode(auditDTO));
+
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	void testEncode_matchesObjectMapperForSummary() throws Exception {
+		AuditDTO auditDTO = audit("Aggregated 3 audit events");
+		auditDTO.setEventCount(3);
+		auditDTO.setFirstOccurredAt("2025-01-01T00:00:00Z");
+		auditDTO.setLastOccurredAt("2025-01-01T00:01:00Z");
+		auditDTO.setDistinctUserIds(List.of("user-1", "user-2"));
+
+		JsonNode expected = objectMapper.readTree(objectMapper.writeValueAsString(auditDTO));
+		JsonNode actual = objectMapper.readTree(encoder.encode(auditDTO));
+
+		assertEquals(expected, actual);
+		assertFalse(encoder.encode(audit("single")).contains("eventCount"));
+	}
+
+	@Test
+	void testEncode_reusesBufferAcrossMessages() throws Exception {
+		String first = encoder.encode(audit(repeat("a", 5000)));
+		String second = encoder.encode(audit("short"));
+
+		assertEquals(5000, objectMapper.readTree(first).get("remarks").asText().length());
+		assertEquals("short", objectMapper.readTree(second).get("remarks").asText());
+	}
+
+	@Test
+	void testEncode_doesNotTruncateMessageAtTheLimit() throws Exception {
+		String prefix = encoder.encode(audit(""));
+		int room = MAX_MESSAGE_SIZE - prefix.getBytes(StandardCharsets.UTF_8).length;
+		String remarks = repeat("a", room);
+
+		String message = encoder.encode(audit(remarks));
+
+		assertEquals(MAX_MESSAGE_SIZE, message.getBytes(StandardCharsets.UTF_8).length);
+		assertEquals(remarks, objectMapper.readTree(message).get("remarks").asText());
+	}
+
+	@Test
+	void testEncode_truncatesRemarksToFitLimit() throws Exception {
+		AuditDTO auditDTO = audit(repeat("a", 300_000));
+
+		String message = encoder.encode(auditDTO);
+
+		assertTrue(message.getBytes(StandardCharsets.UTF_8).length <= MAX_MESSAGE_SIZE);
+		String remarks = objectMapper.readTree(message).get("remarks").asText();
+		assertTrue(remarks.endsWith("..."));
+		assertTrue(remarks.length() > MAX_MESSAGE_SIZE - 1024);
+		assertEquals("alice", objectMapper.readTree(message).get("username").asText());
+		assertEquals(300_000, auditDTO.getRemarks().length());
+	}
+
+	@Test
+	void testEncode_truncatesOnCodePointBoundary() throws Exception {
+		String emoji = "\ud83d\ude00";
+		for (int shift = 0; shift < 4; shift++) {
+			String message = encoder.encode(audit(repeat("a", shift) + repeat(emoji, 70_000)));
+
+			assertTrue(message.getBytes(StandardCharsets.UTF_8).length <= MAX_MESSAGE_SIZE);
+			String remarks = objectMapper.readTree(message).get("remarks").asText();
+			assertTrue(remarks.endsWith(emoji + "..."));
+			assertEquals(-1, remarks.indexOf('\ufffd'));
+		}
+	}
+
+	@Test
+	void testEncode_truncatesWithoutSplittingEscapes() throws Exception {
+		String message = encoder.encode(audit(repeat("\"", 200_000)));
+
+		assertTrue(message.getBytes(StandardCharsets.UTF_8).length <= MAX_MESSAGE_SIZE);
+		String remarks = objectMapper.readTree(message).get("remarks").asText();
+		assertTrue(remarks.endsWith("\"..."));
+	}
+
+	@Test
+	void testEncodeMessage_reportsUtf8Length() throws Exception {
+		AuditMessage message = encoder.encodeMessage(audit("ascii caf\u00e9 \u4f60\u597d \ud83d\ude00 \ud83d"));
+
+		assertEquals(message.body().getBytes(StandardCharsets.UTF_8).length, message.bytes());
+		assertEquals(encoder.encode(audit("ascii caf\u00e9 \u4f60\u597d \ud83d\ude00 \ud83d")), message.body());
+	}
+}
@@ -0,0 +1,159 @@
+package sg.edu.nus.iss.edgp.org.management.aws.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import sg.edu.nus.iss.edgp.org.management.dto.AuditDTO;
+import sg.edu.nus.iss.edgp.org.management.service.IAuditBlobStore;
+import sg.edu.nus.iss.edgp.org.management.service.impl.LocalFileAuditBlobStore;
+
+class AuditPayloadCodecTest {
+
+	private static final int MAX_MESSAGE_SIZE = 256 * 1024;
+
+	@TempDir
+	Path blobDirectory;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private SimpleMeterRegistry meterRegistry;
+	private IAuditBlobStore blobStore;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		blobStore = new LocalFileAuditBlobStore(blobDirectory.toString());
+	}
+
+	private AuditPayloadCodec codec(boolean compression, boolean claimCheck) {
+		return new AuditPayloadCodec(compression, claimCheck, blobStore, meterRegistry);
+	}
+
+	private static AuditDTO audit(String remarks) {
+		AuditDTO auditDTO = new AuditDTO();
+		auditDTO.setUserId("user-1");
+		auditDTO.setActivityType("Org-Create Organization");
+		auditDTO.setRemarks(remarks);
+		return auditDTO;
+	}
+
+	private static String compressibleRemarks() {
+		StringBuilder builder = new StringBuilder();
+		while (builder.length() < 400_000) {
+			builder.append("organization record unchanged; ");
+		}
+		return builder.toString();
+	}
+
+	private static String randomRemarks() {
+		Random random = new Random(42);
+		StringBuilder builder = new StringBuilder();
+		for (int i = 0; i < 400_000; i++) {
+			builder.append((char) ('!' + random.nextInt(90)));
+		}
+		return builder.toString().replace("\\", "/").replace("\"", "'");
+	}
+
+	private double encodedCount(String encoding) {
+		return meterRegistry.get("audit.codec.encoded").tag("encoding", encoding).counter().count();
+	}
+
+	@Test
+	void testEncode_smallMessageIsPlainJson() throws Exception {
+		String message = codec(true, true).encode(audit("small")).body();
+
+		assertEquals("small", objectMapper.readTree(message).get("remarks").asText());
+		assertFalse(message.contains(AuditPayloadCodec.ENCODING_FIELD));
+		assertEquals(1.0, encodedCount("plain"));
+	}
+
+	@Test
+	void testEncode_compressesWhenThatFits() throws Exception {
+		AuditPayloadCodec codec = codec(true, true);
+		String remarks = compressibleRemarks();
+
+		String message = codec.encode(audit(remarks)).body();
+
+		assertTrue(message.length() <= MAX_MESSAGE_SIZE);
+		assertEquals(AuditPayloadCodec.GZIP, objectMapper.readTree(message).get(AuditPayloadCodec.ENCODING_FIELD).asText());
+		assertEquals(remarks, objectMapper.readTree(codec.decode(message)).get("remarks").asText());
+		assertEquals(1.0, encodedCount("gzip"));
+	}
+
+	@Test
+	void testEncode_storesClaimCheckWhenCompressionIsNotEnough() throws Exception {
+		AuditPayloadCodec codec = codec(true, true);
+		String remarks = randomRemarks();
+
+		String message = codec.encode(audit(remarks)).body();
+
+		JsonNode envelope = objectMapper.readTree(message);
+		assertEquals(AuditPayloadCodec.CLAIM_CHECK, envelope.get(AuditPayloadCodec.ENCODING_FIELD).asText());
+		assertTrue(message.length() < 1024);
+		assertEquals(remarks, objectMapper.readTree(codec.decode(message)).get("remarks").asText());
+		assertEquals(codec.decode(message),
+				new String(blobStore.get(envelope.get("blobKey").asText()), StandardCharsets.UTF_8));
+		assertEquals(1.0, encodedCount("claim_check"));
+	}
+
+	@Test
+	void testEncode_claimCheckWithoutCompression() throws Exception {
+		String message = codec(false, true).encode(audit(compressibleRemarks())).body();
+
+		assertEquals(AuditPayloadCodec.CLAIM_CHECK,
+				objectMapper.readTree(message).get(AuditPayloadCodec.ENCODING_FIELD).asText());
+	}
+
+	@Test
+	void testEncode_truncatesWhenDisabled() throws Exception {
+		String message = codec(false, false).encode(audit(randomRemarks())).body();
+
+		assertTrue(message.getBytes(StandardCharsets.UTF_8).length <= MAX_MESSAGE_SIZE);
+		assertTrue(objectMapper.readTree(message).get("remarks").asText().endsWith("..."));
+		assertEquals(1.0, encodedCount("truncated"));
+	}
+
+	@Test
+	void testEncode_truncatesWhenBlobStoreFails() throws Exception {
+		IAuditBlobStore failingStore = mock(IAuditBlobStore.class);
+		when(failingStore.put(any())).thenThrow(new IOException("disk full"));
+		AuditPayloadCodec codec = new AuditPayloadCodec(true, true, failingStore, meterRegistry);
+
+		String message = codec.encode(audit(randomRemarks())).body();
+
+		assertTrue(objectMapper.readTree(message).get("remarks").asText().endsWith("..."));
+		assertEquals(1.0, encodedCount("truncated"));
+	}
+
+	@Test
+	void testEncode_reportsUtf8LengthForEveryEncoding() throws Exception {
+		AuditPayloadCodec codec = codec(true, true);
+		List<AuditMessage> messages = List.of(codec.encode(audit("caf\u00e9 \ud83d\ude00")),
+				codec.encode(audit(compressibleRemarks())), codec.encode(audit(randomRemarks())),
+				codec(false, false).encode(audit(randomRemarks() + "\u4f60\u597d")));
+
+		for (AuditMessage message : messages) {
+			assertEquals(message.body().getBytes(StandardCharsets.UTF_8).length, message.bytes());
+		}
+	}
+
+	@Test
+	void testDecode_plainMessageIsReturnedAsIs() throws Exception {
+		String message = codec(true, true).encode(audit("small")).body();
+
+		assertEquals(message, codec(true, true).decode(message));
+	}
+}
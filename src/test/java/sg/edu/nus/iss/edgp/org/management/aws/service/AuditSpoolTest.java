@@ -0,0 +1,180 @@
+package sg.edu.nus.iss.edgp.org.management.aws.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AuditSpoolTest {
+
+	private static final int SEGMENT_SIZE = 1024 * 1024;
+
+	@TempDir
+	Path directory;
+
+	private AuditSpool open(long maxBytes) {
+		return new AuditSpool(directory.toString(), SEGMENT_SIZE, maxBytes, new SimpleMeterRegistry());
+	}
+
+	private List<Path> segmentFiles() throws Exception {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.filter(path -> path.getFileName().toString().endsWith(".spool")).sorted()
+					.collect(Collectors.toList());
+		}
+	}
+
+	private static String payload(int index, int size) {
+		StringBuilder builder = new StringBuilder("message " + index + " ");
+		while (builder.length() < size) {
+			builder.append('x');
+		}
+		return builder.toString();
+	}
+
+	@Test
+	void testAppendReadAcknowledge_preservesOrder() {
+		AuditSpool spool = open(8 * SEGMENT_SIZE);
+		assertTrue(spool.isEmpty());
+
+		for (int i = 0; i < 5; i++) {
+			assertTrue(spool.append("message " + i));
+		}
+		assertFalse(spool.isEmpty());
+
+		assertEquals(List.of("message 0", "message 1", "message 2"), spool.read(3, 1024));
+		assertEquals(List.of("message 0", "message 1", "message 2"), spool.read(3, 1024));
+		spool.acknowledge();
+
+		assertEquals(List.of("message 3", "message 4"), spool.read(10, 1024));
+		spool.acknowledge();
+		assertTrue(spool.isEmpty());
+		assertTrue(spool.read(10, 1024).isEmpty());
+	}
+
+	@Test
+	void testRead_respectsByteLimit() {
+		AuditSpool spool = open(8 * SEGMENT_SIZE);
+		spool.append(payload(0, 600));
+		spool.append(payload(1, 600));
+
+		assertEquals(1, spool.read(10, 1000).size());
+	}
+
+	@Test
+	void testAppend_rotatesSegmentsAndDeletesConsumedOnes() throws Exception {
+		AuditSpool spool = open(8 * SEGMENT_SIZE);
+		for (int i = 0; i < 5; i++) {
+			assertTrue(spool.append(payload(i, 300 * 1024)));
+		}
+		assertEquals(2, spool.getSegmentCount());
+		assertEquals(2, segmentFiles().size());
+
+		assertEquals(3, spool.read(3, Integer.MAX_VALUE).size());
+		assertTrue(spool.read(4, Integer.MAX_VALUE).get(3).startsWith("message 3 "));
+		spool.acknowledge();
+
+		assertEquals(1, spool.getSegmentCount());
+		assertEquals(1, segmentFiles().size());
+		assertTrue(spool.read(10, Integer.MAX_VALUE).get(0).startsWith("message 4 "));
+	}
+
+	@Test
+	void testAppend_rejectsWhenFull() {
+		AuditSpool spool = open(2 * SEGMENT_SIZE);
+		int accepted = 0;
+		while (spool.append(payload(accepted, 300 * 1024))) {
+			accepted++;
+		}
+
+		assertEquals(6, accepted);
+		assertFalse(spool.append(payload(99, 300 * 1024)));
+
+		spool.read(3, Integer.MAX_VALUE);
+		spool.acknowledge();
+		assertTrue(spool.append(payload(6, 300 * 1024)));
+	}
+
+	@Test
+	void testAppend_rejectsRecordLargerThanSegment() {
+		AuditSpool spool = open(8 * SEGMENT_SIZE);
+
+		assertFalse(spool.append(payload(0, SEGMENT_SIZE)));
+		assertTrue(spool.isEmpty());
+	}
+
+	@Test
+	void testRecover_replaysOnlyUnacknowledgedRecords() {
+		AuditSpool spool = open(8 * SEGMENT_SIZE);
+		for (int i = 0; i < 4; i++) {
+			spool.append("message " + i);
+		}
+		spool.read(2, 1024);
+		spool.acknowledge();
+		spool.read(2, 1024);
+
+		AuditSpool recovered = open(8 * SEGMENT_SIZE);
+
+		assertEquals(List.of("message 2", "message 3"), recovered.read(10, 1024));
+		assertTrue(recovered.append("message 4"));
+		assertEquals(List.of("message 2", "message 3", "message 4"), recovered.read(10, 1024));
+	}
+
+	@Test
+	void testRecover_acrossSegments() {
+		AuditSpool spool = open(8 * SEGMENT_SIZE);
+		for (int i = 0; i < 5; i++) {
+			spool.append(payload(i, 300 * 1024));
+		}
+		spool.read(2, Integer.MAX_VALUE);
+		spool.acknowledge();
+
+		AuditSpool recovered = open(8 * SEGMENT_SIZE);
+
+		List<String> records = recovered.read(10, Integer.MAX_VALUE);
+		assertEquals(3, records.size());
+		assertTrue(records.get(0).startsWith("message 2 "));
+		assertTrue(records.get(2).startsWith("message 4 "));
+	}
+
+	@Test
+	void testRecover_discardsTornTailRecord() throws Exception {
+		AuditSpool spool = open(8 * SEGMENT_SIZE);
+		spool.append("message 0");
+		spool.append("message 1");
+		spool.close();
+
+		int secondRecordPayload = 8 + "message 0".length() + 8;
+		try (RandomAccessFile file = new RandomAccessFile(segmentFiles().get(0).toFile(), "rw")) {
+			file.seek(secondRecordPayload);
+			file.write('X');
+		}
+
+		AuditSpool recovered = open(8 * SEGMENT_SIZE);
+
+		assertEquals(List.of("message 0"), recovered.read(10, 1024));
+		assertTrue(recovered.append("message 2"));
+		assertEquals(List.of("message 0", "message 2"), recovered.read(10, 1024));
+
+		AuditSpool reopened = open(8 * SEGMENT_SIZE);
+		assertEquals(List.of("message 0", "message 2"), reopened.read(10, 1024));
+	}
+
+	@Test
+	void testUnavailableDirectory_rejectsAppends() throws Exception {
+		Path file = Files.createFile(directory.resolve("not-a-directory"));
+		AuditSpool spool = new AuditSpool(file.toString(), SEGMENT_SIZE, 8 * SEGMENT_SIZE, new SimpleMeterRegistry());
+
+		assertFalse(spool.append("message"));
+		assertTrue(spool.read(10, 1024).isEmpty());
+		assertTrue(spool.isEmpty());
+	}
+}
@@ -1,65 +1,212 @@
 package sg.edu.nus.iss.edgp.org.management.aws.service;
 
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.ArgumentCaptor;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import sg.edu.nus.iss.edgp.org.management.dto.AuditDTO;
+import sg.edu.nus.iss.edgp.org.management.enums.AuditBackpressurePolicy;
 import software.amazon.awssdk.services.sqs.SqsClient;
-import software.amazon.awssdk.services.sqs.model.SendMessageRequest;
-import software.amazon.awssdk.services.sqs.model.SendMessageResponse;
+import software.amazon.awssdk.services.sqs.model.BatchResultErrorEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequestEntry;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
 
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 class SQSPublishingServiceTest {
 
+	private static final String QUEUE_URL = "https://sqs.ap-southeast-1.amazonaws.com/11/AuditMock";
+	private static final long NO_TIMED_FLUSH = 60_000;
+
 	private SqsClient sqsClient;
+	private SimpleMeterRegistry meterRegistry;
 	private SQSPublishingService publishingService;
+	private AuditSpool spool;
+
+	@TempDir
+	Path spoolDirectory;
+	private final List<SendMessageBatchRequest> sentBatches = Collections.synchronizedList(new ArrayList<>());
 
 	@BeforeEach
 	void setUp() {
 		sqsClient = mock(SqsClient.class);
-		publishingService = new SQSPublishingService(sqsClient);
+		meterRegistry = new SimpleMeterRegistry();
+		spool = new AuditSpool(spoolDirectory.toString(), 1024 * 1024, 8 * 1024 * 1024, meterRegistry);
+		when(sqsClient.sendMessageBatch(any(SendMessageBatchRequest.class))).thenAnswer(invocation -> {
+			SendMessageBatchRequest request = invocation.getArgument(0);
+			sentBatches.add(request);
+			return SendMessageBatchResponse.builder().successful(request.entries().stream()
+					.map(entry -> SendMessageBatchResultEntry.builder().id(entry.id()).messageId("m-" + entry.id())
+							.build())
+					.collect(Collectors.toList())).build();
+		});
+		publishingService = newPublisher(100, 10, NO_TIMED_FLUSH, AuditBackpressurePolicy.DROP_OLDEST);
+	}
+
+	@AfterEach
+	void tearDown() {
+		publishingService.shutdown();
+	}
+
+	private SQSPublishingService newPublisher(int capacity, int batchSize, long flushIntervalMs,
+			AuditBackpressurePolicy policy) {
+		return new SQSPublishingService(sqsClient, QUEUE_URL, capacity, batchSize, flushIntervalMs, policy, 5,
+				new AuditPayloadCodec(false, false, null, meterRegistry), spool, 50, meterRegistry);
+	}
+
+	private static AuditDTO audit(String remarks) {
+		AuditDTO auditDTO = new AuditDTO();
+		auditDTO.setRemarks(remarks);
+		return auditDTO;
+	}
+
+	private List<String> sentBodies() {
+		synchronized (sentBatches) {
+			return sentBatches.stream().flatMap(batch -> batch.entries().stream())
+					.map(SendMessageBatchRequestEntry::messageBody).collect(Collectors.toList());
+		}
+	}
+
+	@Test
+	void testSendMessage_DoesNotCallSqsOnCallerThread() {
+		publishingService.sendMessage(audit("This is a test message"));
+
+		verifyNoInteractions(sqsClient);
+		assertEquals(1, publishingService.getQueueSize());
 	}
 
 	@Test
 	void testSendMessage_NormalCase() throws Exception {
-		AuditDTO auditDTO = new AuditDTO();
-		auditDTO.setRemarks("This is a test message");
+		publishingService.sendMessage(audit("This is a test message"));
+		publishingService.flush();
+
+		assertEquals(1, sentBatches.size());
+		SendMessageBatchRequest actualRequest = sentBatches.get(0);
+		assertEquals(QUEUE_URL, actualRequest.queueUrl());
+		assertEquals(5, actualRequest.entries().get(0).delaySeconds());
+		assertTrue(actualRequest.entries().get(0).messageBody().contains("This is a test message"));
+		assertEquals(1.0, meterRegistry.get("audit.sqs.published").counter().count());
+	}
+
+	@Test
+	void testSendMessage_PublishesBatchesOfAtMostTen() {
+		for (int i = 0; i < 25; i++) {
+			publishingService.sendMessage(audit("message " + i));
+		}
+		publishingService.flush();
+
+		List<Integer> batchSizes = sentBatches.stream().map(batch -> batch.entries().size())
+				.collect(Collectors.toList());
+		assertTrue(batchSizes.stream().allMatch(size -> size <= 10));
+		assertEquals(25, batchSizes.stream().mapToInt(Integer::intValue).sum());
+		assertEquals(25, sentBodies().size());
+	}
+
+	@Test
+	void testSendMessage_FlushesWhenBatchIsFull() {
+		for (int i = 0; i < 10; i++) {
+			publishingService.sendMessage(audit("message " + i));
+		}
+
+		verify(sqsClient, timeout(2000).times(1)).sendMessageBatch(any(SendMessageBatchRequest.class));
+		assertEquals(10, sentBatches.get(0).entries().size());
+	}
+
+	@Test
+	void testSendMessage_FlushesAfterInterval() {
+		publishingService.shutdown();
+		publishingService = newPublisher(100, 10, 50, AuditBackpressurePolicy.DROP_OLDEST);
+
+		publishingService.sendMessage(audit("lonely message"));
+
+		verify(sqsClient, timeout(2000).times(1)).sendMessageBatch(any(SendMessageBatchRequest.class));
+		assertTrue(sentBodies().get(0).contains("lonely message"));
+	}
+
+	@Test
+	void testSendMessage_DropNewestWhenFull() {
+		publishingService.shutdown();
+		publishingService = newPublisher(2, 10, NO_TIMED_FLUSH, AuditBackpressurePolicy.DROP_NEWEST);
+
+		publishingService.sendMessage(audit("first"));
+		publishingService.sendMessage(audit("second"));
+		publishingService.sendMessage(audit("third"));
+		publishingService.flush();
+
+		List<String> bodies = sentBodies();
+		assertEquals(2, bodies.size());
+		assertTrue(bodies.get(0).contains("first"));
+		assertTrue(bodies.get(1).contains("second"));
+		assertEquals(1.0, meterRegistry.get("audit.sqs.dropped").tag("reason", "queue_full").counter().count());
+		assertEquals(0.0, meterRegistry.get("audit.sqs.dropped").tag("reason", "spool_full").counter().count());
+	}
+
+	@Test
+	void testSendMessage_DropOldestWhenFull() {
+		publishingService.shutdown();
+		publishingService = newPublisher(2, 10, NO_TIMED_FLUSH, AuditBackpressurePolicy.DROP_OLDEST);
+
+		publishingService.sendMessage(audit("first"));
+		publishingService.sendMessage(audit("second"));
+		publishingService.sendMessage(audit("third"));
+		publishingService.flush();
+
+		List<String> bodies = sentBodies();
+		assertEquals(2, bodies.size());
+		assertTrue(bodies.get(0).contains("second"));
+		assertTrue(bodies.get(1).contains("third"));
+	}
+
+	@Test
+	void testSendMessage_CallerRunsWhenFull() {
+		publishingService.shutdown();
+		publishingService = newPublisher(1, 10, NO_TIMED_FLUSH, AuditBackpressurePolicy.CALLER_RUNS);
 
-		SendMessageResponse mockResponse = SendMessageResponse.builder().messageId("1234").build();
-		when(sqsClient.sendMessage(any(SendMessageRequest.class))).thenReturn(mockResponse);
+		publishingService.sendMessage(audit("queued"));
+		publishingService.sendMessage(audit("sent inline"));
 
-		publishingService.sendMessage(auditDTO);
+		assertEquals(1, sentBatches.size());
+		assertTrue(sentBodies().get(0).contains("sent inline"));
+		assertEquals(1, publishingService.getQueueSize());
+	}
 
-		ArgumentCaptor<SendMessageRequest> captor = ArgumentCaptor.forClass(SendMessageRequest.class);
-		verify(sqsClient, times(1)).sendMessage(captor.capture());
+	@Test
+	void testShutdown_DrainsQueue() {
+		for (int i = 0; i < 3; i++) {
+			publishingService.sendMessage(audit("message " + i));
+		}
 
-		SendMessageRequest actualRequest = captor.getValue();
-		assertTrue(actualRequest.messageBody().contains("This is a test message"));
+		publishingService.shutdown();
+
+		assertEquals(3, sentBodies().size());
+		assertEquals(0, publishingService.getQueueSize());
 	}
 
 	@Test
 	void testSendMessage_TooLargeMessage_TruncatesRemarks() throws Exception {
-		AuditDTO auditDTO = new AuditDTO();
 		StringBuilder longRemarks = new StringBuilder();
 		for (int i = 0; i < 300_000; i++) {
 			longRemarks.append("a");
 		}
-		auditDTO.setRemarks(longRemarks.toString());
-
-		SendMessageResponse mockResponse = SendMessageResponse.builder().messageId("999").build();
-		when(sqsClient.sendMessage(any(SendMessageRequest.class))).thenReturn(mockResponse);
 
-		publishingService.sendMessage(auditDTO);
+		publishingService.sendMessage(audit(longRemarks.toString()));
+		publishingService.flush();
 
-		ArgumentCaptor<SendMessageRequest> captor = ArgumentCaptor.forClass(SendMessageRequest.class);
-		verify(sqsClient, times(1)).sendMessage(captor.capture());
-
-		String finalMessage = captor.getValue().messageBody();
+		String finalMessage = sentBodies().get(0);
 		byte[] messageBytes = finalMessage.getBytes(StandardCharsets.UTF_8);
 		assertTrue(messageBytes.length <= 256 * 1024);
 		assertTrue(finalMessage.contains("..."));
@@ -67,11 +214,113 @@ class SQSPublishingServiceTest {
 
 	@Test
 	void testSendMessage_WhenExceptionThrown_LogsError() {
-		AuditDTO auditDTO = new AuditDTO();
-		auditDTO.setRemarks("will fail");
+		doThrow(new RuntimeException("SQS unavailable")).when(sqsClient)
+				.sendMessageBatch(any(SendMessageBatchRequest.class));
 
-		when(sqsClient.sendMessage(any(SendMessageRequest.class))).thenThrow(new RuntimeException("SQS unavailable"));
+		assertDoesNotThrow(() -> publishingService.sendMessage(audit("will fail")));
+		assertDoesNotThrow(() -> publishingService.flush());
+		assertFalse(spool.isEmpty());
+	}
+
+	@Test
+	void testSendMessage_SpoolsDuringOutageAndReplaysInOrder() throws Exception {
+		SendMessageBatchResponseAnswer sqs = new SendMessageBatchResponseAnswer();
+		sqs.available = false;
+		doAnswer(sqs).when(sqsClient).sendMessageBatch(any(SendMessageBatchRequest.class));
+
+		for (int i = 0; i < 15; i++) {
+			publishingService.sendMessage(audit("message " + i));
+		}
+		publishingService.flush();
+		assertFalse(spool.isEmpty());
+		assertTrue(sentBodies().isEmpty());
+
+		sqs.available = true;
 
-		assertDoesNotThrow(() -> publishingService.sendMessage(auditDTO));
+		long deadline = System.currentTimeMillis() + 3000;
+		while (!spool.isEmpty() && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		List<String> bodies = sentBodies();
+		assertEquals(15, bodies.size());
+		for (int i = 0; i < 15; i++) {
+			assertTrue(bodies.get(i).contains("\"message " + i + "\""), bodies.get(i));
+		}
+		assertTrue(spool.isEmpty());
+		assertEquals(15.0, meterRegistry.get("audit.spool.replayed").counter().count());
+	}
+
+	@Test
+	void testSendMessage_QueuesLiveTrafficBehindSpoolUntilReplayed() throws Exception {
+		SendMessageBatchResponseAnswer sqs = new SendMessageBatchResponseAnswer();
+		sqs.available = false;
+		doAnswer(sqs).when(sqsClient).sendMessageBatch(any(SendMessageBatchRequest.class));
+
+		publishingService.sendMessage(audit("message 0"));
+		publishingService.flush();
+		publishingService.sendMessage(audit("message 1"));
+		publishingService.flush();
+
+		sqs.available = true;
+		for (int i = 2; i < 6; i++) {
+			publishingService.sendMessage(audit("message " + i));
+			publishingService.flush();
+		}
+
+		long deadline = System.currentTimeMillis() + 3000;
+		while (!spool.isEmpty() && System.currentTimeMillis() < deadline) {
+			Thread.sleep(10);
+		}
+		List<String> bodies = sentBodies();
+		assertEquals(6, bodies.size());
+		for (int i = 0; i < 6; i++) {
+			assertTrue(bodies.get(i).contains("\"message " + i + "\""), bodies.get(i));
+		}
+	}
+
+	@Test
+	void testSendMessage_SpoolsOnlyRejectedEntries() {
+		doReturn(SendMessageBatchResponse.builder()
+				.successful(SendMessageBatchResultEntry.builder().id("0").messageId("m-0").build())
+				.failed(BatchResultErrorEntry.builder().id("1").code("InternalError").senderFault(false).build())
+				.build()).when(sqsClient).sendMessageBatch(any(SendMessageBatchRequest.class));
+
+		publishingService.sendMessage(audit("accepted"));
+		publishingService.sendMessage(audit("rejected"));
+		publishingService.flush();
+
+		List<String> spooled = spool.read(10, 256 * 1024);
+		assertEquals(1, spooled.size());
+		assertTrue(spooled.get(0).contains("rejected"));
+	}
+
+	@Test
+	void testSendMessage_SpoolPolicyWhenFull() {
+		publishingService.shutdown();
+		publishingService = newPublisher(1, 10, NO_TIMED_FLUSH, AuditBackpressurePolicy.SPOOL);
+
+		publishingService.sendMessage(audit("queued"));
+		publishingService.sendMessage(audit("spooled"));
+
+		verifyNoInteractions(sqsClient);
+		assertTrue(spool.read(10, 256 * 1024).get(0).contains("spooled"));
+	}
+
+	private class SendMessageBatchResponseAnswer implements Answer<SendMessageBatchResponse> {
+
+		private volatile boolean available = true;
+
+		@Override
+		public SendMessageBatchResponse answer(InvocationOnMock invocation) {
+			if (!available) {
+				throw new RuntimeException("SQS unavailable");
+			}
+			SendMessageBatchRequest request = invocation.getArgument(0);
+			sentBatches.add(request);
+			return SendMessageBatchResponse.builder().successful(request.entries().stream()
+					.map(entry -> SendMessageBatchResultEntry.builder().id(entry.id()).messageId("m-" + entry.id())
+							.build())
+					.collect(Collectors.toList())).build();
+		}
 	}
 }
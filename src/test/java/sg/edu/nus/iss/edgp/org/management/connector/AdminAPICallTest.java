@@ -1,70 +1,228 @@
 package sg.edu.nus.iss.edgp.org.management.connector;
 
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.*;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
 import java.net.http.HttpClient;
-import java.net.http.HttpRequest;
-import java.net.http.HttpResponse;
-
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntUnaryOperator;
+
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.*;
+
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import sg.edu.nus.iss.edgp.org.management.exception.AdminServiceUnavailableException;
+import sg.edu.nus.iss.edgp.org.management.pojo.User;
+import sg.edu.nus.iss.edgp.org.management.pojo.UserProfileResponse;
 
 public class AdminAPICallTest {
 
-	private AdminAPICall adminAPICall;
+	private static final String USER_FOUND = "{\"success\":true,\"message\":\"User found\",\"data\":{\"userID\":\"user123\","
+			+ "\"username\":\"john\",\"email\":\"john@example.com\",\"role\":\"ADMIN\",\"lastLogin\":\"2025-01-01\"},"
+			+ "\"traceId\":\"abc\"}";
 
-	@Mock
-	private HttpClient httpClient;
+	private HttpServer server;
+	private ExecutorService serverExecutor;
+	private AdminAPICall adminAPICall;
+	private SimpleMeterRegistry meterRegistry;
+	private AdminCircuitBreaker circuitBreaker;
+	private final AtomicInteger requests = new AtomicInteger();
+	private final AtomicReference<String> receivedUserId = new AtomicReference<>();
+	private volatile int status = 200;
+	private volatile String responseBody = USER_FOUND;
+	private volatile IntUnaryOperator delayMsByRequest = request -> 0;
 
-	@Mock
-	private HttpResponse<String> httpResponse;
+	@BeforeEach
+	void setUp() throws IOException {
+		serverExecutor = Executors.newCachedThreadPool();
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.setExecutor(serverExecutor);
+		server.createContext("/mock-auth/users/profile", exchange -> {
+			int request = requests.incrementAndGet();
+			receivedUserId.set(exchange.getRequestHeaders().getFirst("X-User-Id"));
+			try {
+				Thread.sleep(delayMsByRequest.applyAsInt(request));
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			byte[] body = responseBody.getBytes(StandardCharsets.UTF_8);
+			exchange.sendResponseHeaders(status, body.length);
+			try (OutputStream outputStream = exchange.getResponseBody()) {
+				outputStream.write(body);
+			}
+		});
+		server.start();
+
+		meterRegistry = new SimpleMeterRegistry();
+		circuitBreaker = new AdminCircuitBreaker(10, 4, 50, 60000, meterRegistry);
+		adminAPICall = newAdminAPICall(4, false, circuitBreaker);
+	}
 
-	@Mock
-	private HttpClient httpClientMock;
+	@AfterEach
+	void tearDown() {
+		adminAPICall.shutdown();
+		server.stop(0);
+		serverExecutor.shutdownNow();
+	}
 
-	@Mock
-	private HttpResponse<String> httpResponseMock;
+	private AdminAPICall newAdminAPICall(int maxConnections, boolean hedgeEnabled,
+			AdminCircuitBreaker circuitBreaker) {
+		return new AdminAPICall("http://localhost:" + server.getAddress().getPort() + "/mock-auth", 1000, 3000,
+				maxConnections, 50, HttpClient.Version.HTTP_1_1, hedgeEnabled, 0.95, 100, circuitBreaker,
+				meterRegistry);
+	}
 
-	@BeforeEach
-	void setUp() {
-		MockitoAnnotations.openMocks(this);
-		adminAPICall = new AdminAPICall();
+	@Test
+	void testValidateActiveUser_DecodesProfileIgnoringUnknownFields() {
+		UserProfileResponse result = adminAPICall.validateActiveUser("user123", "Bearer xyz");
+
+		assertTrue(result.getSuccess());
+		assertEquals("User found", result.getMessage());
+		assertEquals(200, result.getStatusCode());
+		User user = result.getData();
+		assertEquals("user123", user.getUserId());
+		assertEquals("john", user.getUsername());
+		assertEquals("john@example.com", user.getEmail());
+		assertEquals("ADMIN", user.getRole());
+		assertEquals("user123", receivedUserId.get());
+		assertEquals(1, meterRegistry.get("admin.api.requests").tag("outcome", "2xx").timer().count());
+		assertEquals(0.0, meterRegistry.get("admin.api.inflight").gauge().value());
+	}
 
-		try {
-			java.lang.reflect.Field field = AdminAPICall.class.getDeclaredField("adminURL");
-			field.setAccessible(true);
-			field.set(adminAPICall, "http://fake-auth-url.com/");
-		} catch (Exception e) {
-			throw new RuntimeException(e);
+	@Test
+	void testValidateActiveUser_ReusesClientAcrossCalls() {
+		for (int i = 0; i < 3; i++) {
+			assertNotNull(adminAPICall.validateActiveUser("user" + i, "Bearer xyz"));
 		}
+
+		assertEquals(3, meterRegistry.get("admin.api.requests").tag("outcome", "2xx").timer().count());
+		assertEquals(0, meterRegistry.get("admin.api.requests").tag("outcome", "4xx").timer().count());
+		assertEquals(7, meterRegistry.get("admin.api.requests").timers().size());
+	}
+
+	@Test
+	void testValidateActiveUser_UnreadableBodyReturnsNull() {
+		responseBody = "invalid-json";
+
+		assertNull(adminAPICall.validateActiveUser("user123", "Bearer xyz"));
+		assertEquals(AdminCircuitBreaker.State.CLOSED, circuitBreaker.getState());
 	}
 
 	@Test
-	void testValidateActiveUser_ExceptionHandling() throws Exception {
-		when(httpClient.send(any(HttpRequest.class), ArgumentMatchers.<HttpResponse.BodyHandler<String>>any()))
-				.thenThrow(new RuntimeException("Connection error"));
+	void testValidateActiveUser_ClientErrorKeepsStatusCode() {
+		status = 401;
+		responseBody = "{\"success\":false,\"message\":\"Unauthorized\"}";
 
-		String result = adminAPICall.validateActiveUser("user123", "Bearer xyz");
+		UserProfileResponse result = adminAPICall.validateActiveUser("user123", "Bearer expired");
 
-		assertEquals("", result);
+		assertFalse(result.getSuccess());
+		assertEquals(401, result.getStatusCode());
+		assertEquals(AdminCircuitBreaker.State.CLOSED, circuitBreaker.getState());
 	}
 
 	@Test
-	void testHttpClientSendReturnsExpectedResponse() throws Exception {
-		String expectedResponseBody = "{\"status\":\"active\"}";
+	void testValidateActiveUser_ServerErrorThrowsUnavailable() {
+		status = 503;
 
-		when(httpResponseMock.body()).thenReturn(expectedResponseBody);
+		assertThrows(AdminServiceUnavailableException.class,
+				() -> adminAPICall.validateActiveUser("user123", "Bearer xyz"));
+		assertEquals(1, meterRegistry.get("admin.api.requests").tag("outcome", "5xx").timer().count());
+	}
 
-		when(httpClientMock.send(any(HttpRequest.class), Mockito.<HttpResponse.BodyHandler<String>>any()))
-				.thenReturn(httpResponseMock);
+	@Test
+	void testValidateActiveUser_ExceptionHandling() {
+		server.stop(0);
 
-		HttpRequest request = HttpRequest.newBuilder().uri(new java.net.URI("http://example.com")).GET().build();
+		assertThrows(AdminServiceUnavailableException.class,
+				() -> adminAPICall.validateActiveUser("user123", "Bearer xyz"));
+		assertEquals(1, meterRegistry.get("admin.api.requests").tag("outcome", "error").timer().count());
+	}
+
+	@Test
+	void testValidateActiveUser_OpenCircuitFailsFast() {
+		status = 500;
+		for (int i = 0; i < 4; i++) {
+			assertThrows(AdminServiceUnavailableException.class,
+					() -> adminAPICall.validateActiveUser("user123", "Bearer xyz"));
+		}
+		assertEquals(4, requests.get());
+
+		assertThrows(AdminServiceUnavailableException.class,
+				() -> adminAPICall.validateActiveUser("user123", "Bearer xyz"));
+
+		assertEquals(4, requests.get());
+		assertEquals(1.0, meterRegistry.get("admin.api.circuit.state").gauge().value());
+		assertEquals(1.0,
+				meterRegistry.get("admin.api.rejected").tag("reason", "circuit_open").counter().count());
+	}
+
+	@Test
+	void testValidateActiveUser_InterruptBeforePermissionIsNotACircuitFailure() {
+		Thread.currentThread().interrupt();
+		try {
+			assertThrows(AdminServiceUnavailableException.class,
+					() -> adminAPICall.validateActiveUser("user123", "Bearer xyz"));
+			assertTrue(Thread.currentThread().isInterrupted());
+		} finally {
+			Thread.interrupted();
+		}
+
+		assertEquals(0, requests.get());
+		assertEquals(0.0, circuitBreaker.getFailureRate());
+		assertEquals(AdminCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+	}
+
+	@Test
+	void testValidateActiveUser_FullBulkheadRejects() throws Exception {
+		adminAPICall.shutdown();
+		adminAPICall = newAdminAPICall(1, false, new AdminCircuitBreaker(10, 4, 50, 60000, meterRegistry));
+		CountDownLatch started = new CountDownLatch(1);
+		delayMsByRequest = request -> {
+			started.countDown();
+			return 500;
+		};
+
+		ExecutorService caller = Executors.newSingleThreadExecutor();
+		try {
+			Future<UserProfileResponse> slowCall = caller.submit(() -> adminAPICall.validateActiveUser("user1", "Bearer xyz"));
+			assertTrue(started.await(2, TimeUnit.SECONDS));
 
-		HttpResponse<String> response = httpClientMock.send(request, HttpResponse.BodyHandlers.ofString());
-		String actualBody = response.body();
+			assertThrows(AdminServiceUnavailableException.class,
+					() -> adminAPICall.validateActiveUser("user2", "Bearer xyz"));
 
-		assertEquals(expectedResponseBody, actualBody);
+			assertTrue(slowCall.get(3, TimeUnit.SECONDS).getSuccess());
+			assertEquals(1.0,
+					meterRegistry.get("admin.api.rejected").tag("reason", "bulkhead_full").counter().count());
+		} finally {
+			caller.shutdownNow();
+		}
+	}
+
+	@Test
+	void testValidateActiveUser_HedgesSlowRequest() {
+		adminAPICall.shutdown();
+		adminAPICall = newAdminAPICall(4, true, new AdminCircuitBreaker(10, 4, 50, 60000, meterRegistry));
+		delayMsByRequest = request -> request == 1 ? 2500 : 0;
+
+		long start = System.nanoTime();
+		UserProfileResponse result = adminAPICall.validateActiveUser("user123", "Bearer xyz");
+		long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+		assertTrue(result.getSuccess());
+		assertTrue(elapsedMs < 2000, "hedged call should not wait for the slow request: " + elapsedMs + "ms");
+		assertEquals(2, requests.get());
+		assertEquals(1.0, meterRegistry.get("admin.api.hedged").counter().count());
 	}
 }
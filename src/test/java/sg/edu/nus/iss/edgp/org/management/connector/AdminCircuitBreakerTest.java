@@ -0,0 +1,93 @@
+package sg.edu.nus.iss.edgp.org.management.connector;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AdminCircuitBreakerTest {
+
+	private AdminCircuitBreaker circuitBreaker;
+	private SimpleMeterRegistry meterRegistry;
+
+	@BeforeEach
+	void setUp() {
+		meterRegistry = new SimpleMeterRegistry();
+		circuitBreaker = new AdminCircuitBreaker(10, 4, 50, 50, meterRegistry);
+	}
+
+	@Test
+	void testStaysClosedBelowMinimumCalls() {
+		for (int i = 0; i < 3; i++) {
+			assertTrue(circuitBreaker.tryAcquirePermission());
+			circuitBreaker.onFailure();
+		}
+
+		assertEquals(AdminCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+	}
+
+	@Test
+	void testOpensWhenFailureRateReachesThreshold() {
+		circuitBreaker.onSuccess();
+		circuitBreaker.onSuccess();
+		circuitBreaker.onFailure();
+		assertEquals(AdminCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+
+		circuitBreaker.onFailure();
+
+		assertEquals(AdminCircuitBreaker.State.OPEN, circuitBreaker.getState());
+		assertFalse(circuitBreaker.tryAcquirePermission());
+		assertEquals(1.0, meterRegistry.get("admin.api.circuit.state").gauge().value());
+	}
+
+	@Test
+	void testSlidingWindowForgetsOldFailures() {
+		circuitBreaker = new AdminCircuitBreaker(4, 4, 75, 50, meterRegistry);
+		circuitBreaker.onFailure();
+		circuitBreaker.onFailure();
+		circuitBreaker.onSuccess();
+		circuitBreaker.onSuccess();
+		circuitBreaker.onSuccess();
+		circuitBreaker.onFailure();
+
+		assertEquals(AdminCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+		assertEquals(25.0, circuitBreaker.getFailureRate());
+	}
+
+	@Test
+	void testHalfOpenAllowsSingleTrialAndClosesOnSuccess() throws InterruptedException {
+		openCircuit();
+		Thread.sleep(80);
+
+		assertTrue(circuitBreaker.tryAcquirePermission());
+		assertEquals(AdminCircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+		assertFalse(circuitBreaker.tryAcquirePermission());
+
+		circuitBreaker.onSuccess();
+
+		assertEquals(AdminCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+		assertTrue(circuitBreaker.tryAcquirePermission());
+		assertEquals(0.0, circuitBreaker.getFailureRate());
+	}
+
+	@Test
+	void testHalfOpenReopensOnFailure() throws InterruptedException {
+		openCircuit();
+		Thread.sleep(80);
+
+		assertTrue(circuitBreaker.tryAcquirePermission());
+		circuitBreaker.onFailure();
+
+		assertEquals(AdminCircuitBreaker.State.OPEN, circuitBreaker.getState());
+		assertFalse(circuitBreaker.tryAcquirePermission());
+	}
+
+	private void openCircuit() {
+		for (int i = 0; i < 4; i++) {
+			circuitBreaker.onFailure();
+		}
+		assertEquals(AdminCircuitBreaker.State.OPEN, circuitBreaker.getState());
+	}
+}
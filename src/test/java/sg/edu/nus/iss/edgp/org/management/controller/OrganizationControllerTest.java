@@ -10,17 +10,29 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import sg.edu.nus.iss.edgp.org.management.authentication.AuthenticatedPrincipal;
 import sg.edu.nus.iss.edgp.org.management.dto.*;
+import sg.edu.nus.iss.edgp.org.management.enums.CountMode;
+import sg.edu.nus.iss.edgp.org.management.exception.DuplicateOrganizationException;
 import sg.edu.nus.iss.edgp.org.management.exception.OrganizationServiceException;
 import sg.edu.nus.iss.edgp.org.management.service.impl.AuditService;
 import sg.edu.nus.iss.edgp.org.management.service.impl.JwtService;
+import sg.edu.nus.iss.edgp.org.management.service.impl.OrganizationImportService;
 import sg.edu.nus.iss.edgp.org.management.service.impl.OrganizationService;
 import sg.edu.nus.iss.edgp.org.management.strategy.impl.OrganizationValidationStrategy;
+import sg.edu.nus.iss.edgp.org.management.utility.OrganizationImportReader;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
@@ -28,8 +40,10 @@ import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 
 @WebMvcTest(OrganizationController.class)
 @AutoConfigureMockMvc(addFilters = false)
@@ -41,6 +55,9 @@ class OrganizationControllerTest {
 	@MockitoBean
 	private OrganizationService organizationService;
 
+	@MockitoBean
+	private OrganizationImportService organizationImportService;
+
 	@MockitoBean
 	private JwtService jwtService;
 
@@ -65,12 +82,12 @@ class OrganizationControllerTest {
 		ValidationResult validResult = new ValidationResult();
 		validResult.setValid(true);
 
-		when(jwtService.extractSubject("valid-token")).thenReturn("user-123");
 		when(organizationValidationStrategy.validateCreation(any())).thenReturn(validResult);
 		when(organizationService.createOrganization(any(), any())).thenReturn(dto);
 		when(auditService.createAuditDTO(any(), any(), any())).thenReturn(audit);
 
-		mockMvc.perform(post("/api/orgs").header(HttpHeaders.AUTHORIZATION, "Bearer valid-token")
+		mockMvc.perform(post("/api/orgs")
+				.requestAttr(AuthenticatedPrincipal.REQUEST_ATTRIBUTE, principal("user-123")).header(HttpHeaders.AUTHORIZATION, "Bearer valid-token")
 				.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(request)))
 				.andExpect(status().isOk()).andExpect(jsonPath("$.success").value(true))
 				.andExpect(jsonPath("$.data.organizationName").value("Test Org"));
@@ -86,11 +103,11 @@ class OrganizationControllerTest {
 		invalidResult.setMessage("Validation failed");
 		invalidResult.setStatus(org.springframework.http.HttpStatus.BAD_REQUEST);
 
-		when(jwtService.extractSubject("valid-token")).thenReturn("user-123");
 		when(organizationValidationStrategy.validateCreation(any())).thenReturn(invalidResult);
 		when(auditService.createAuditDTO(any(), any(), any())).thenReturn(audit);
 
-		mockMvc.perform(post("/api/orgs").header(HttpHeaders.AUTHORIZATION, "Bearer valid-token")
+		mockMvc.perform(post("/api/orgs")
+				.requestAttr(AuthenticatedPrincipal.REQUEST_ATTRIBUTE, principal("user-123")).header(HttpHeaders.AUTHORIZATION, "Bearer valid-token")
 				.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(request)))
 				.andExpect(status().isBadRequest()).andExpect(jsonPath("$.success").value(false))
 				.andExpect(jsonPath("$.message").value("Validation failed"));
@@ -104,18 +121,39 @@ class OrganizationControllerTest {
 		ValidationResult validResult = new ValidationResult();
 		validResult.setValid(true);
 
-		when(jwtService.extractSubject("valid-token")).thenReturn("user-123");
 		when(organizationValidationStrategy.validateCreation(any())).thenReturn(validResult);
 		when(organizationService.createOrganization(any(), any()))
 				.thenThrow(new OrganizationServiceException("Internal error"));
 		when(auditService.createAuditDTO(any(), any(), any())).thenReturn(audit);
 
-		mockMvc.perform(post("/api/orgs").header(HttpHeaders.AUTHORIZATION, "Bearer valid-token")
+		mockMvc.perform(post("/api/orgs")
+				.requestAttr(AuthenticatedPrincipal.REQUEST_ATTRIBUTE, principal("user-123")).header(HttpHeaders.AUTHORIZATION, "Bearer valid-token")
 				.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(request)))
 				.andExpect(status().isInternalServerError()).andExpect(jsonPath("$.success").value(false))
 				.andExpect(jsonPath("$.message").value("Internal error"));
 	}
 
+	@Test
+	void createOrganization_duplicate_returnsBadRequest() throws Exception {
+		OrganizationRequest request = new OrganizationRequest();
+
+		AuditDTO audit = new AuditDTO();
+		ValidationResult validResult = new ValidationResult();
+		validResult.setValid(true);
+
+		when(organizationValidationStrategy.validateCreation(any())).thenReturn(validResult);
+		when(organizationService.createOrganization(any(), any())).thenThrow(new DuplicateOrganizationException(
+				DuplicateOrganizationException.DUPLICATE_NAME_MESSAGE, new RuntimeException("duplicate key")));
+		when(auditService.createAuditDTO(any(), any(), any())).thenReturn(audit);
+
+		mockMvc.perform(post("/api/orgs")
+				.requestAttr(AuthenticatedPrincipal.REQUEST_ATTRIBUTE, principal("user-123")).header(HttpHeaders.AUTHORIZATION, "Bearer valid-token")
+				.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(request)))
+				.andExpect(status().isBadRequest()).andExpect(jsonPath("$.success").value(false))
+				.andExpect(jsonPath("$.message").value(DuplicateOrganizationException.DUPLICATE_NAME_MESSAGE));
+		verify(auditService).logAudit(audit, 400, DuplicateOrganizationException.DUPLICATE_NAME_MESSAGE, "Bearer valid-token");
+	}
+
 	@Test
 	void retrieveActiveOrganizationList_success_withData() throws Exception {
 		SearchRequest searchRequest = new SearchRequest();
@@ -175,10 +213,11 @@ class OrganizationControllerTest {
 		String authorizationHeader = "Bearer fake-jwt-token";
 		String orgId = "ORG123";
 
-		when(organizationValidationStrategy.validateObject(orgId, authorizationHeader)).thenReturn(validationResult);
+		when(organizationValidationStrategy.validateObject(eq(orgId), any())).thenReturn(validationResult);
 
 		mockMvc.perform(
-				get("/api/orgs/my-organization").header("Authorization", authorizationHeader).header("X-Org-Id", orgId))
+				get("/api/orgs/my-organization")
+						.requestAttr(AuthenticatedPrincipal.REQUEST_ATTRIBUTE, principal("user-123")).header("Authorization", authorizationHeader).header("X-Org-Id", orgId))
 				.andExpect(status().isForbidden()).andExpect(jsonPath("$.message").value("Access Denied"));
 	}
 	
@@ -193,7 +232,7 @@ class OrganizationControllerTest {
         OrganizationDTO orgDTO = new OrganizationDTO();
         orgDTO.setOrganizationName("TestOrg");
 
-        when(organizationValidationStrategy.validateObject(orgId, authorizationHeader))
+        when(organizationValidationStrategy.validateObject(eq(orgId), any()))
             .thenReturn(validationResult);
 
         when(organizationService.findByOrganizationId(orgId))
@@ -201,6 +240,7 @@ class OrganizationControllerTest {
 
         // Act & Assert
         mockMvc.perform(get("/api/orgs/my-organization")
+                .requestAttr(AuthenticatedPrincipal.REQUEST_ATTRIBUTE, principal("user-123"))
                 .header("Authorization", authorizationHeader)
                 .header("X-Org-Id", orgId))
             .andExpect(status().isOk())
@@ -219,12 +259,13 @@ class OrganizationControllerTest {
 		ValidationResult validationResult = new ValidationResult();
 		validationResult.setValid(true);
 
-		when(organizationValidationStrategy.validateObject(orgId, authorizationHeader)).thenReturn(validationResult);
+		when(organizationValidationStrategy.validateObject(eq(orgId), any())).thenReturn(validationResult);
 
 		when(organizationService.findByOrganizationId(orgId)).thenThrow(new OrganizationServiceException("Unexpected error"));
 
 		mockMvc.perform(
-				get("/api/orgs/my-organization").header("Authorization", authorizationHeader).header("X-Org-Id", orgId))
+				get("/api/orgs/my-organization")
+						.requestAttr(AuthenticatedPrincipal.REQUEST_ATTRIBUTE, principal("user-123")).header("Authorization", authorizationHeader).header("X-Org-Id", orgId))
 				.andExpect(status().isInternalServerError()).andExpect(jsonPath("$.message").value("Unexpected error"));
 	}
     
@@ -244,12 +285,12 @@ class OrganizationControllerTest {
         ValidationResult valid = new ValidationResult();
         valid.setValid(true);
 
-        when(jwtService.extractSubject(anyString())).thenReturn(userId);
         when(auditService.createAuditDTO(any(), any(), any())).thenReturn(new AuditDTO());
         when(organizationValidationStrategy.validateUpdating(any())).thenReturn(valid);
         when(organizationService.updateOrganization(any(), eq(userId), eq(orgId))).thenReturn(responseDto);
 
         mockMvc.perform(put("/api/orgs")
+                .requestAttr(AuthenticatedPrincipal.REQUEST_ATTRIBUTE, principal(userId))
                         .header("Authorization", "Bearer test-token")
                         .header("X-Org-Id", orgId)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -271,11 +312,11 @@ class OrganizationControllerTest {
         invalid.setMessage("Invalid data");
         invalid.setStatus(HttpStatus.BAD_REQUEST);
 
-        when(jwtService.extractSubject(anyString())).thenReturn("user-001");
         when(auditService.createAuditDTO(any(), any(), any())).thenReturn(new AuditDTO());
         when(organizationValidationStrategy.validateUpdating(any())).thenReturn(invalid);
 
         mockMvc.perform(put("/api/orgs")
+                .requestAttr(AuthenticatedPrincipal.REQUEST_ATTRIBUTE, principal("user-001"))
                         .header("Authorization", "Bearer test-token")
                         .header("X-Org-Id", orgId)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -295,13 +336,13 @@ class OrganizationControllerTest {
         ValidationResult valid = new ValidationResult();
         valid.setValid(true);
 
-        when(jwtService.extractSubject(anyString())).thenReturn("user-001");
         when(auditService.createAuditDTO(any(), any(), any())).thenReturn(new AuditDTO());
         when(organizationValidationStrategy.validateUpdating(any())).thenReturn(valid);
         when(organizationService.updateOrganization(any(), anyString(), anyString()))
                 .thenThrow(new OrganizationServiceException("Database error"));
 
         mockMvc.perform(put("/api/orgs")
+                .requestAttr(AuthenticatedPrincipal.REQUEST_ATTRIBUTE, principal("user-001"))
                         .header("Authorization", "Bearer test-token")
                         .header("X-Org-Id", orgId)
                         .contentType(MediaType.APPLICATION_JSON)
@@ -325,11 +366,11 @@ class OrganizationControllerTest {
         List<OrganizationDTO> orgList = List.of(orgDTO);
         Map<Long, List<OrganizationDTO>> resultMap = Map.of(1L, orgList);
 
-        when(jwtService.extractSubject("valid.jwt.token")).thenReturn(userId);
         when(auditService.createAuditDTO(any(), any(), any())).thenReturn(new AuditDTO());
         when(organizationService.findActiveOrganizationListByUserId(eq(userId), any())).thenReturn(resultMap);
 
         mockMvc.perform(get("/api/orgs/users")
+                .requestAttr(AuthenticatedPrincipal.REQUEST_ATTRIBUTE, principal(userId))
                         .param("page", "1")
                         .param("size", "10")
                         .header("Authorization", token))
@@ -346,11 +387,11 @@ class OrganizationControllerTest {
 
         Map<Long, List<OrganizationDTO>> resultMap = Map.of(0L, List.of());
 
-        when(jwtService.extractSubject("valid.jwt.token")).thenReturn(userId);
         when(auditService.createAuditDTO(any(), any(), any())).thenReturn(new AuditDTO());
         when(organizationService.findActiveOrganizationListByUserId(eq(userId), any())).thenReturn(resultMap);
 
         mockMvc.perform(get("/api/orgs/users")
+                .requestAttr(AuthenticatedPrincipal.REQUEST_ATTRIBUTE, principal(userId))
                         .param("page", "1")
                         .param("size", "10")
                         .header("Authorization", token))
@@ -365,12 +406,12 @@ class OrganizationControllerTest {
         String token = "Bearer invalid.jwt.token";
         String userId = "user-123";
 
-        when(jwtService.extractSubject(anyString())).thenReturn(userId);
         when(auditService.createAuditDTO(any(), any(), any())).thenReturn(new AuditDTO());
         when(organizationService.findActiveOrganizationListByUserId(eq(userId), any()))
                 .thenThrow(new OrganizationServiceException("Internal failure"));
 
         mockMvc.perform(get("/api/orgs/users")
+                .requestAttr(AuthenticatedPrincipal.REQUEST_ATTRIBUTE, principal(userId))
                         .param("page", "1")
                         .param("size", "10")
                         .header("Authorization", token))
@@ -378,4 +419,413 @@ class OrganizationControllerTest {
                 .andExpect(jsonPath("$.success").value(false))
                 .andExpect(jsonPath("$.message").value("Internal failure"));
     }
+
+    @Test
+    void retrieveActiveOrganizationList_withCursor_returnsNextCursor() throws Exception {
+        OrganizationDTO dto = new OrganizationDTO();
+        dto.setOrganizationName("Beta");
+        OrganizationCursor cursor = new OrganizationCursor("Alpha", "org-1");
+
+        when(auditService.createAuditDTO(any(), any(), any())).thenReturn(new AuditDTO());
+        when(organizationService.retrieveActiveOrganizationListAfter(cursor, 1))
+                .thenReturn(new CursorPage<>(List.of(dto), "next-token", true));
+
+        mockMvc.perform(get("/api/orgs").header(HttpHeaders.AUTHORIZATION, "Bearer valid-token")
+                        .param("after", cursor.encode())
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].organizationName").value("Beta"))
+                .andExpect(jsonPath("$.nextCursor").value("next-token"))
+                .andExpect(jsonPath("$.hasNext").value(true));
+    }
+
+    @Test
+    void retrieveActiveOrganizationList_withoutCursor_omitsCursorFields() throws Exception {
+        OrganizationDTO dto = new OrganizationDTO();
+        dto.setOrganizationName("Test Org");
+
+        when(auditService.createAuditDTO(any(), any(), any())).thenReturn(new AuditDTO());
+        when(organizationService.retrievePaginatedActiveOrganizationList(any())).thenReturn(Map.of(1L, List.of(dto)));
+
+        mockMvc.perform(get("/api/orgs").header(HttpHeaders.AUTHORIZATION, "Bearer valid-token").param("page", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextCursor").doesNotExist())
+                .andExpect(jsonPath("$.hasNext").doesNotExist());
+    }
+
+    @Test
+    void retrieveActiveOrganizationList_invalidCursor_returnsBadRequest() throws Exception {
+        when(auditService.createAuditDTO(any(), any(), any())).thenReturn(new AuditDTO());
+
+        mockMvc.perform(get("/api/orgs").header(HttpHeaders.AUTHORIZATION, "Bearer valid-token")
+                        .param("after", "not a cursor!"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invalid pagination cursor."));
+    }
+
+    @Test
+    void retrieveActiveOrganizationList_serviceIllegalArgument_returnsServerError() throws Exception {
+        when(auditService.createAuditDTO(any(), any(), any())).thenReturn(new AuditDTO());
+        when(organizationService.retrieveActiveOrganizationListAfter(any(), anyInt()))
+                .thenThrow(new IllegalArgumentException("Page size must not be less than one"));
+
+        mockMvc.perform(get("/api/orgs").header(HttpHeaders.AUTHORIZATION, "Bearer valid-token")
+                        .param("after", new OrganizationCursor("Alpha", "org-1").encode()))
+                .andExpect(status().isInternalServerError());
+    }
+
+    @Test
+    void getOrganizationListByUserId_withEmptyCursor_startsFromFirstPage() throws Exception {
+        String userId = "user-123";
+        OrganizationDTO dto = new OrganizationDTO();
+        dto.setOrganizationName("Alpha");
+
+        when(auditService.createAuditDTO(any(), any(), any())).thenReturn(new AuditDTO());
+        when(organizationService.findActiveOrganizationListByUserIdAfter(userId, OrganizationCursor.START, 50))
+                .thenReturn(new CursorPage<>(List.of(dto), null, false));
+
+        mockMvc.perform(get("/api/orgs/users")
+                .requestAttr(AuthenticatedPrincipal.REQUEST_ATTRIBUTE, principal(userId))
+                        .param("after", "")
+                        .header("Authorization", "Bearer valid.jwt.token"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].organizationName").value("Alpha"))
+                .andExpect(jsonPath("$.hasNext").value(false))
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    void retrieveActiveOrganizationList_countModeNone_returnsHasNext() throws Exception {
+        OrganizationDTO dto = new OrganizationDTO();
+        dto.setOrganizationName("Test Org");
+
+        when(auditService.createAuditDTO(any(), any(), any())).thenReturn(new AuditDTO());
+        when(organizationService.retrievePaginatedActiveOrganizationList(any(), eq(CountMode.NONE)))
+                .thenReturn(new PageResult<>(List.of(dto), null, true));
+
+        mockMvc.perform(get("/api/orgs").header(HttpHeaders.AUTHORIZATION, "Bearer valid-token")
+                        .param("page", "3")
+                        .param("size", "1")
+                        .param("countMode", "NONE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data[0].organizationName").value("Test Org"))
+                .andExpect(jsonPath("$.totalRecord").value(1))
+                .andExpect(jsonPath("$.hasNext").value(true));
+    }
+
+    @Test
+    void getOrganizationListByUserId_countModeCached_returnsCachedTotal() throws Exception {
+        String userId = "user-123";
+        OrganizationDTO dto = new OrganizationDTO();
+        dto.setOrganizationName("Test Org");
+
+        when(auditService.createAuditDTO(any(), any(), any())).thenReturn(new AuditDTO());
+        when(organizationService.findActiveOrganizationListByUserId(eq(userId), any(), eq(CountMode.CACHED)))
+                .thenReturn(new PageResult<>(List.of(dto), 25L, true));
+
+        mockMvc.perform(get("/api/orgs/users")
+                .requestAttr(AuthenticatedPrincipal.REQUEST_ATTRIBUTE, principal(userId))
+                        .param("countMode", "CACHED")
+                        .header("Authorization", "Bearer valid.jwt.token"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalRecord").value(25))
+                .andExpect(jsonPath("$.hasNext").value(true));
+    }
+
+	@Test
+	void streamActiveOrganizationList_writesJsonArray() throws Exception {
+		OrganizationDTO first = new OrganizationDTO();
+		first.setOrganizationName("Alpha");
+		OrganizationDTO second = new OrganizationDTO();
+		second.setOrganizationName("Beta");
+
+		when(auditService.createAuditDTO(any(), any(), any())).thenReturn(new AuditDTO());
+		when(organizationService.streamActiveOrganizationList(any())).thenAnswer(invocation -> {
+			Consumer<OrganizationDTO> consumer = invocation.getArgument(0);
+			consumer.accept(first);
+			consumer.accept(second);
+			return 2L;
+		});
+
+		MvcResult result = mockMvc.perform(get("/api/orgs/stream").header(HttpHeaders.AUTHORIZATION, "Bearer valid-token"))
+				.andExpect(request().asyncStarted()).andReturn();
+
+		mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk())
+				.andExpect(content().contentType(MediaType.APPLICATION_JSON))
+				.andExpect(jsonPath("$.length()").value(2))
+				.andExpect(jsonPath("$[1].organizationName").value("Beta"));
+		verify(auditService).logAudit(any(), eq(200), eq("Successfully streamed 2 active organizations."), any());
+	}
+
+	@Test
+	void streamActiveOrganizationList_writesNdjsonWhenAccepted() throws Exception {
+		OrganizationDTO dto = new OrganizationDTO();
+		dto.setOrganizationName("Alpha");
+
+		when(auditService.createAuditDTO(any(), any(), any())).thenReturn(new AuditDTO());
+		when(organizationService.streamActiveOrganizationList(any())).thenAnswer(invocation -> {
+			Consumer<OrganizationDTO> consumer = invocation.getArgument(0);
+			consumer.accept(dto);
+			consumer.accept(dto);
+			return 2L;
+		});
+
+		MvcResult result = mockMvc.perform(get("/api/orgs/stream").header(HttpHeaders.AUTHORIZATION, "Bearer valid-token")
+				.accept(MediaType.APPLICATION_NDJSON)).andExpect(request().asyncStarted()).andReturn();
+
+		String body = mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk())
+				.andExpect(content().contentType(MediaType.APPLICATION_NDJSON)).andReturn().getResponse()
+				.getContentAsString();
+		String[] lines = body.split("\n");
+		assertEquals(2, lines.length);
+		assertEquals("Alpha", objectMapper.readTree(lines[0]).get("organizationName").asText());
+	}
+
+	@Test
+	void streamActiveOrganizationList_serviceException_auditsFailure() throws Exception {
+		when(auditService.createAuditDTO(any(), any(), any())).thenReturn(new AuditDTO());
+		when(organizationService.streamActiveOrganizationList(any()))
+				.thenThrow(new OrganizationServiceException("Stream failed"));
+
+		MvcResult result = mockMvc.perform(get("/api/orgs/stream").header(HttpHeaders.AUTHORIZATION, "Bearer valid-token"))
+				.andExpect(request().asyncStarted()).andReturn();
+
+		assertInstanceOf(OrganizationServiceException.class, result.getAsyncResult());
+		verify(auditService).logAudit(any(), eq(500), eq("Stream failed"), any());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void importOrganizations_csv_returnsReportAndAuditsEachChunk() throws Exception {
+		when(auditService.createAuditDTO(any(), any(), any())).thenReturn(new AuditDTO());
+		when(organizationImportService.importOrganizations(any(), eq("user-123"), any())).thenAnswer(invocation -> {
+			Iterator<OrganizationImportReader.Row> rows = invocation.getArgument(0);
+			Consumer<List<OrganizationImportRowResult>> listener = invocation.getArgument(2);
+			OrganizationImportReader.Row first = rows.next();
+			OrganizationImportReader.Row second = rows.next();
+			List<OrganizationImportRowResult> results = List.of(
+					new OrganizationImportRowResult(first.rowNumber(), first.request().getOrganizationName(), "org-1",
+							true, "Organization imported."),
+					new OrganizationImportRowResult(second.rowNumber(), second.request().getOrganizationName(), null,
+							false, "Duplicate organization name earlier in the import file."));
+			listener.accept(results);
+			return new OrganizationImportReport(2, 1, 1, results);
+		});
+
+		mockMvc.perform(post("/api/orgs/import")
+				.requestAttr(AuthenticatedPrincipal.REQUEST_ATTRIBUTE, principal("user-123"))
+				.header(HttpHeaders.AUTHORIZATION, "Bearer valid-token").contentType("text/csv")
+				.content("organizationName,uniqueEntityNumber\nAcme,UEN1\nAcme,UEN2\n"))
+				.andExpect(status().isOk()).andExpect(jsonPath("$.totalRecord").value(2))
+				.andExpect(jsonPath("$.message").value("Imported 1 of 2 organizations."))
+				.andExpect(jsonPath("$.data.rows[0].organizationId").value("org-1"))
+				.andExpect(jsonPath("$.data.rows[1].imported").value(false));
+
+		verify(auditService).logAudit(any(), eq(400), eq("Imported 1 of 2 organizations in rows 1-2."), any());
+	}
+
+	@Test
+	void importOrganizations_malformedAfterImportedRows_returnsMultiStatusWithReport() throws Exception {
+		when(auditService.createAuditDTO(any(), any(), any())).thenReturn(new AuditDTO());
+		List<OrganizationImportRowResult> results = List
+				.of(new OrganizationImportRowResult(1, "Acme", "org-1", true, "Organization imported."));
+		when(organizationImportService.importOrganizations(any(), eq("user-123"), any()))
+				.thenReturn(new OrganizationImportReport(1, 1, 0, results, 2, "Malformed import file after row 1"));
+
+		mockMvc.perform(post("/api/orgs/import")
+				.requestAttr(AuthenticatedPrincipal.REQUEST_ATTRIBUTE, principal("user-123"))
+				.header(HttpHeaders.AUTHORIZATION, "Bearer valid-token").contentType(MediaType.APPLICATION_JSON)
+				.content("[{\"organizationName\":\"Acme\"},{\"organizationName\":"))
+				.andExpect(status().isMultiStatus()).andExpect(jsonPath("$.success").value(false))
+				.andExpect(jsonPath("$.message")
+						.value("Imported 1 of 1 organizations. Malformed import file after row 1"))
+				.andExpect(jsonPath("$.data.failedRowNumber").value(2))
+				.andExpect(jsonPath("$.data.rows[0].organizationId").value("org-1"));
+
+		verify(auditService).logAudit(any(), eq(207),
+				eq("Imported 1 of 1 organizations. Malformed import file after row 1"), any());
+	}
+
+	@Test
+	void importOrganizations_malformedBeforeAnyImport_returnsBadRequestWithReport() throws Exception {
+		when(auditService.createAuditDTO(any(), any(), any())).thenReturn(new AuditDTO());
+		when(organizationImportService.importOrganizations(any(), eq("user-123"), any()))
+				.thenReturn(new OrganizationImportReport(0, 0, 0, List.of(), 1, "Malformed import file after row 0"));
+
+		mockMvc.perform(post("/api/orgs/import")
+				.requestAttr(AuthenticatedPrincipal.REQUEST_ATTRIBUTE, principal("user-123"))
+				.header(HttpHeaders.AUTHORIZATION, "Bearer valid-token").contentType(MediaType.APPLICATION_JSON)
+				.content("[{\"organizationName\":"))
+				.andExpect(status().isBadRequest()).andExpect(jsonPath("$.data.failedRowNumber").value(1))
+				.andExpect(jsonPath("$.data.errorMessage").value("Malformed import file after row 0"));
+	}
+
+	@Test
+	void importOrganizations_jsonNotAnArray_returnsBadRequest() throws Exception {
+		when(auditService.createAuditDTO(any(), any(), any())).thenReturn(new AuditDTO());
+
+		mockMvc.perform(post("/api/orgs/import")
+				.requestAttr(AuthenticatedPrincipal.REQUEST_ATTRIBUTE, principal("user-123"))
+				.header(HttpHeaders.AUTHORIZATION, "Bearer valid-token").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"organizationName\":\"Acme\"}"))
+				.andExpect(status().isBadRequest()).andExpect(jsonPath("$.success").value(false));
+
+		verify(auditService).logAudit(any(), eq(400), eq("Import file must be a JSON array of organizations"), any());
+	}
+
+	@Test
+	void importOrganizations_serviceException_returnsServerError() throws Exception {
+		when(auditService.createAuditDTO(any(), any(), any())).thenReturn(new AuditDTO());
+		when(organizationImportService.importOrganizations(any(), any(), any()))
+				.thenThrow(new OrganizationServiceException("Import failed"));
+
+		mockMvc.perform(post("/api/orgs/import")
+				.requestAttr(AuthenticatedPrincipal.REQUEST_ATTRIBUTE, principal("user-123"))
+				.header(HttpHeaders.AUTHORIZATION, "Bearer valid-token").contentType(MediaType.APPLICATION_JSON)
+				.content("[]"))
+				.andExpect(status().isInternalServerError()).andExpect(jsonPath("$.message").value("Import failed"));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	void bulkUpdateOrganizations_success_auditsEachBatch() throws Exception {
+		OrganizationBulkUpdateRequest bulkRequest = new OrganizationBulkUpdateRequest();
+		bulkRequest.setOrganizationIds(List.of("org-1", "org-2", "org-3"));
+		bulkRequest.setActive(false);
+		ValidationResult validResult = new ValidationResult();
+		validResult.setValid(true);
+		BulkUpdateBatchResult first = new BulkUpdateBatchResult(1, 2, 2);
+		BulkUpdateBatchResult second = new BulkUpdateBatchResult(2, 1, 1);
+
+		when(auditService.createAuditDTO(any(), any(), any())).thenReturn(new AuditDTO());
+		when(organizationValidationStrategy.validateBulkUpdate(any())).thenReturn(validResult);
+		when(organizationService.bulkUpdateOrganizations(any(), eq("user-123"), any())).thenAnswer(invocation -> {
+			Consumer<BulkUpdateBatchResult> listener = invocation.getArgument(2);
+			listener.accept(first);
+			listener.accept(second);
+			return new BulkUpdateReport(3, 3, List.of(first, second));
+		});
+
+		mockMvc.perform(put("/api/orgs/bulk")
+				.requestAttr(AuthenticatedPrincipal.REQUEST_ATTRIBUTE, principal("user-123"))
+				.header(HttpHeaders.AUTHORIZATION, "Bearer valid-token").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(bulkRequest)))
+				.andExpect(status().isOk()).andExpect(jsonPath("$.totalRecord").value(3))
+				.andExpect(jsonPath("$.message").value("Updated 3 of 3 organizations."))
+				.andExpect(jsonPath("$.data.batches.length()").value(2));
+
+		verify(auditService).logAudit(any(), eq(200), eq("Updated 2 of 2 organizations in batch 1."), any());
+		verify(auditService).logAudit(any(), eq(200), eq("Updated 1 of 1 organizations in batch 2."), any());
+	}
+
+	@Test
+	void bulkUpdateOrganizations_validationFailure() throws Exception {
+		ValidationResult invalidResult = new ValidationResult();
+		invalidResult.setValid(false);
+		invalidResult.setMessage("Bad Request: Provide either organization IDs or a current sector ID.");
+		invalidResult.setStatus(HttpStatus.BAD_REQUEST);
+
+		when(auditService.createAuditDTO(any(), any(), any())).thenReturn(new AuditDTO());
+		when(organizationValidationStrategy.validateBulkUpdate(any())).thenReturn(invalidResult);
+
+		mockMvc.perform(put("/api/orgs/bulk")
+				.requestAttr(AuthenticatedPrincipal.REQUEST_ATTRIBUTE, principal("user-123"))
+				.header(HttpHeaders.AUTHORIZATION, "Bearer valid-token").contentType(MediaType.APPLICATION_JSON)
+				.content("{}"))
+				.andExpect(status().isBadRequest()).andExpect(jsonPath("$.success").value(false));
+
+		verify(auditService).logAudit(any(), eq(400), eq(invalidResult.getMessage()), any());
+	}
+
+	@Test
+	void bulkDeactivateOrganizations_forcesInactiveWithoutSectorChange() throws Exception {
+		OrganizationBulkUpdateRequest bulkRequest = new OrganizationBulkUpdateRequest();
+		bulkRequest.setCurrentSectorId("sector-1");
+		bulkRequest.setSectorId("sector-2");
+		bulkRequest.setActive(true);
+		ValidationResult validResult = new ValidationResult();
+		validResult.setValid(true);
+
+		when(auditService.createAuditDTO(any(), any(), any())).thenReturn(new AuditDTO());
+		when(organizationValidationStrategy.validateBulkUpdate(any())).thenReturn(validResult);
+		when(organizationService.bulkUpdateOrganizations(any(), any(), any()))
+				.thenReturn(new BulkUpdateReport(0, 0, List.of()));
+
+		mockMvc.perform(put("/api/orgs/bulk/deactivate")
+				.requestAttr(AuthenticatedPrincipal.REQUEST_ATTRIBUTE, principal("user-123"))
+				.header(HttpHeaders.AUTHORIZATION, "Bearer valid-token").contentType(MediaType.APPLICATION_JSON)
+				.content(objectMapper.writeValueAsString(bulkRequest)))
+				.andExpect(status().isOk());
+
+		verify(organizationService).bulkUpdateOrganizations(
+				argThat(req -> Boolean.FALSE.equals(req.getActive()) && req.getSectorId() == null
+						&& "sector-1".equals(req.getCurrentSectorId())),
+				eq("user-123"), any());
+	}
+
+	@Test
+	void bulkUpdateOrganizations_serviceException() throws Exception {
+		ValidationResult validResult = new ValidationResult();
+		validResult.setValid(true);
+
+		when(auditService.createAuditDTO(any(), any(), any())).thenReturn(new AuditDTO());
+		when(organizationValidationStrategy.validateBulkUpdate(any())).thenReturn(validResult);
+		when(organizationService.bulkUpdateOrganizations(any(), any(), any()))
+				.thenThrow(new OrganizationServiceException("An error occurred while bulk updating organizations"));
+
+		mockMvc.perform(put("/api/orgs/bulk")
+				.requestAttr(AuthenticatedPrincipal.REQUEST_ATTRIBUTE, principal("user-123"))
+				.header(HttpHeaders.AUTHORIZATION, "Bearer valid-token").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"organizationIds\":[\"org-1\"],\"active\":false}"))
+				.andExpect(status().isInternalServerError())
+				.andExpect(jsonPath("$.message").value("An error occurred while bulk updating organizations"));
+	}
+
+	@Test
+	void bulkUpdateOrganizations_laterBatchFails_returnsMultiStatusWithReport() throws Exception {
+		ValidationResult validResult = new ValidationResult();
+		validResult.setValid(true);
+		BulkUpdateBatchResult first = new BulkUpdateBatchResult(1, 2, 2);
+		String error = "Batch 2 could not be applied and was rolled back; later batches were not attempted.";
+
+		when(auditService.createAuditDTO(any(), any(), any())).thenReturn(new AuditDTO());
+		when(organizationValidationStrategy.validateBulkUpdate(any())).thenReturn(validResult);
+		when(organizationService.bulkUpdateOrganizations(any(), any(), any()))
+				.thenReturn(new BulkUpdateReport(3, 2, List.of(first), 2, error, false));
+
+		mockMvc.perform(put("/api/orgs/bulk")
+				.requestAttr(AuthenticatedPrincipal.REQUEST_ATTRIBUTE, principal("user-123"))
+				.header(HttpHeaders.AUTHORIZATION, "Bearer valid-token").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"organizationIds\":[\"org-1\",\"org-2\",\"org-3\"],\"active\":false}"))
+				.andExpect(status().isMultiStatus()).andExpect(jsonPath("$.success").value(false))
+				.andExpect(jsonPath("$.totalRecord").value(2))
+				.andExpect(jsonPath("$.data.failedBatchNumber").value(2))
+				.andExpect(jsonPath("$.data.errorMessage").value(error))
+				.andExpect(jsonPath("$.data.batches.length()").value(1));
+
+		verify(auditService).logAudit(any(), eq(207), eq("Updated 2 of 3 organizations. " + error), any());
+	}
+
+	@Test
+	void bulkUpdateOrganizations_firstBatchConflicts_returnsConflict() throws Exception {
+		ValidationResult validResult = new ValidationResult();
+		validResult.setValid(true);
+		String error = "Batch 1 conflicts with the current data and was rolled back; later batches were not attempted.";
+
+		when(auditService.createAuditDTO(any(), any(), any())).thenReturn(new AuditDTO());
+		when(organizationValidationStrategy.validateBulkUpdate(any())).thenReturn(validResult);
+		when(organizationService.bulkUpdateOrganizations(any(), any(), any()))
+				.thenReturn(new BulkUpdateReport(1, 0, List.of(), 1, error, true));
+
+		mockMvc.perform(put("/api/orgs/bulk")
+				.requestAttr(AuthenticatedPrincipal.REQUEST_ATTRIBUTE, principal("user-123"))
+				.header(HttpHeaders.AUTHORIZATION, "Bearer valid-token").contentType(MediaType.APPLICATION_JSON)
+				.content("{\"organizationIds\":[\"org-1\"],\"sectorId\":\"sector-2\"}"))
+				.andExpect(status().isConflict()).andExpect(jsonPath("$.data.failedBatchNumber").value(1))
+				.andExpect(jsonPath("$.data.conflict").doesNotExist());
+	}
+
+	private AuthenticatedPrincipal principal(String userId) {
+		return AuthenticatedPrincipal.builder().userId(userId).build();
+	}
 }
@@ -0,0 +1,27 @@
+package sg.edu.nus.iss.edgp.org.management.exception;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdminServiceUnavailableExceptionTest {
+
+	@Test
+	void testConstructorWithMessage() {
+		String message = "Admin service is unavailable";
+		AdminServiceUnavailableException exception = new AdminServiceUnavailableException(message);
+
+		assertEquals(message, exception.getMessage());
+		assertNull(exception.getCause());
+	}
+
+	@Test
+	void testConstructorWithMessageAndCause() {
+		String message = "Admin service call failed";
+		Throwable cause = new RuntimeException("Connection refused");
+
+		AdminServiceUnavailableException exception = new AdminServiceUnavailableException(message, cause);
+
+		assertEquals(message, exception.getMessage());
+		assertEquals(cause, exception.getCause());
+	}
+}
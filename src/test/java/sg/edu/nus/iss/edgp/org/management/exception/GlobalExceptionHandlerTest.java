@@ -5,16 +5,14 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.test.context.ActiveProfiles;
-import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 
 import sg.edu.nus.iss.edgp.org.management.dto.APIResponse;
 
-import static org.junit.Assert.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -28,8 +26,6 @@ public class GlobalExceptionHandlerTest {
 	@Autowired
     private GlobalExceptionHandler globalExceptionHandler;
 
-	@MockitoBean
-    private JwtDecoder jwtDecoder;
 
 
 	@Test
@@ -57,6 +53,17 @@ public class GlobalExceptionHandlerTest {
         assertEquals("Failed to get data. Test exception message", responseEntity.getBody().getMessage());
     }
 	
+	@SuppressWarnings("rawtypes")
+	@Test
+    void testHandleAdminServiceUnavailableException() {
+        AdminServiceUnavailableException ex = new AdminServiceUnavailableException("Admin service is unavailable");
+
+        ResponseEntity<APIResponse> responseEntity = globalExceptionHandler.handleAdminServiceUnavailableException(ex);
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, responseEntity.getStatusCode());
+        assertEquals("Admin service is unavailable", responseEntity.getBody().getMessage());
+    }
+	
 	@SuppressWarnings("rawtypes")
 	@Test
     void testIllegalArgumentException() {
@@ -0,0 +1,187 @@
+package sg.edu.nus.iss.edgp.org.management.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import jakarta.persistence.EntityManagerFactory;
+import sg.edu.nus.iss.edgp.org.management.dto.OrganizationDTO;
+import sg.edu.nus.iss.edgp.org.management.entity.Organization;
+import sg.edu.nus.iss.edgp.org.management.entity.Sector;
+import sg.edu.nus.iss.edgp.org.management.utility.DTOMapper;
+
+/**
+ * Guards the number of SQL statements per organization page, so loading the
+ * sector of each row never turns into one extra query per organization, and
+ * checks that the DTO projections match {@link DTOMapper}.
+ */
+@DataJpaTest(properties = { "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.properties.hibernate.generate_statistics=true" })
+class OrganizationRepositoryTest {
+
+	private static final int SECTORS = 5;
+	private static final int ORGANIZATIONS = 60;
+	private static final String USER_ID = "user-1";
+
+	@Autowired
+	private OrganizationRepository organizationRepository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+	private Sector[] sectors;
+
+	@BeforeEach
+	void setUp() {
+		sectors = new Sector[SECTORS];
+		for (int i = 0; i < SECTORS; i++) {
+			Sector sector = new Sector();
+			sector.setSectorName("Sector " + i);
+			sector.setSectorCode("S" + i);
+			sector.setCreatedBy(USER_ID);
+			sector.setLastUpdatedBy(USER_ID);
+			sector.setLastUpdatedDateTime(LocalDateTime.now());
+			sectors[i] = entityManager.persist(sector);
+		}
+		for (int i = 0; i < ORGANIZATIONS; i++) {
+			Organization organization = new Organization();
+			organization.setOrganizationName(String.format("Organization %03d", i));
+			organization.setAddress("Address " + i);
+			organization.setUniqueEntityNumber("UEN" + i);
+			organization.setSector(sectors[i % SECTORS]);
+			organization.setPrimaryContactName("Contact " + i);
+			organization.setPrimaryContactEmail("contact" + i + "@example.org");
+			organization.setPrimaryContactNumber("8000" + i);
+			organization.setCreatedBy(USER_ID);
+			organization.setLastUpdatedBy(USER_ID);
+			organization.setLastUpdatedDateTime(LocalDateTime.now());
+			entityManager.persist(organization);
+		}
+		entityManager.flush();
+		entityManager.clear();
+
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	void testPaginatedActiveList_loadsSectorsWithPageQuery() {
+		Pageable pageable = PageRequest.of(0, 50, Sort.by("organizationName").ascending());
+
+		Page<OrganizationDTO> page = organizationRepository.findPaginatedActiveOrganizationList(true, pageable);
+		List<OrganizationDTO> organizationDTOList = page.getContent();
+
+		assertEquals(50, organizationDTOList.size());
+		assertEquals("Sector 0", organizationDTOList.get(0).getSector().getSectorName());
+		assertEquals(2, statistics.getPrepareStatementCount(), "page query plus count query");
+	}
+
+	@Test
+	void testOrganizationListByUser_loadsSectorsWithPageQuery() {
+		Pageable pageable = PageRequest.of(1, 20, Sort.by("organizationName").ascending());
+
+		Page<OrganizationDTO> page = organizationRepository.findOrganizationListByUserId(USER_ID, true, pageable);
+
+		assertEquals(20, page.getNumberOfElements());
+		assertEquals(ORGANIZATIONS, page.getTotalElements());
+		assertEquals("Organization 020", page.getContent().get(0).getOrganizationName());
+		assertNotNull(page.getContent().get(0).getSector().getSectorName());
+		assertEquals(2, statistics.getPrepareStatementCount(), "page query plus count query");
+	}
+
+	@Test
+	void testActiveSliceAndKeysetPage_useSingleQuery() {
+		Pageable pageable = PageRequest.of(0, 50, Sort.by("organizationName").ascending());
+		assertEquals(50, organizationRepository.findActiveOrganizationSlice(true, pageable).getNumberOfElements());
+		assertEquals(1, statistics.getPrepareStatementCount());
+
+		statistics.clear();
+		assertEquals(51, organizationRepository.findActiveOrganizationListAfter(true, "", "", PageRequest.of(0, 51))
+				.size());
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void testActiveListWithoutPagination_usesSingleQuery() {
+		List<OrganizationDTO> organizationDTOList = organizationRepository.findActiveOrganizationList(true);
+
+		assertEquals(ORGANIZATIONS, organizationDTOList.size());
+		assertEquals(1, statistics.getPrepareStatementCount());
+		assertEquals(0, statistics.getEntityLoadCount(), "projections must not hydrate entities");
+	}
+
+	@Test
+	void testStreamActiveList_readsInNameOrderWithSingleQuery() {
+		List<String> names;
+		try (Stream<OrganizationDTO> organizations = organizationRepository.streamActiveOrganizationList(true)) {
+			names = organizations.map(OrganizationDTO::getOrganizationName).collect(Collectors.toList());
+		}
+
+		assertEquals(ORGANIZATIONS, names.size());
+		assertEquals("Organization 000", names.get(0));
+		assertEquals("Organization 059", names.get(ORGANIZATIONS - 1));
+		assertEquals(1, statistics.getPrepareStatementCount());
+		assertEquals(0, statistics.getEntityLoadCount(), "streamed rows must not be managed");
+	}
+
+	@Test
+	void testProjection_matchesDTOMapper() {
+		Organization organization = organizationRepository.findByOrganizationName("Organization 007");
+		OrganizationDTO expected = DTOMapper.toOrganizationDTO(organization);
+
+		OrganizationDTO actual = organizationRepository.findOrganizationDTOById(organization.getOrganizationId());
+
+		assertEquals(expected.getOrganizationId(), actual.getOrganizationId());
+		assertEquals(expected.getOrganizationName(), actual.getOrganizationName());
+		assertEquals(expected.getAddress(), actual.getAddress());
+		assertEquals(expected.getUniqueEntityNumber(), actual.getUniqueEntityNumber());
+		assertEquals(expected.getOrganizationSize(), actual.getOrganizationSize());
+		assertEquals(expected.getPrimaryContactName(), actual.getPrimaryContactName());
+		assertEquals(expected.getPrimaryContactNumber(), actual.getPrimaryContactNumber());
+		assertEquals(expected.getPrimaryContactEmail(), actual.getPrimaryContactEmail());
+		assertEquals(expected.getActive(), actual.getActive());
+		assertEquals(expected.getSector().getSectorID(), actual.getSector().getSectorID());
+		assertEquals(expected.getSector().getSectorName(), actual.getSector().getSectorName());
+		assertEquals(expected.getSector().getSectorCode(), actual.getSector().getSectorCode());
+		assertEquals(expected.getSector().getCreatedBy(), actual.getSector().getCreatedBy());
+		assertEquals(expected.getSector().getActive(), actual.getSector().getActive());
+	}
+
+	@Test
+	void testBulkUpdate_reassignsAndDeactivatesWithOneStatementPerChange() {
+		List<String> organizationIds = organizationRepository.findOrganizationIdsBySectorId(sectors[0].getSectorId());
+		assertEquals(ORGANIZATIONS / SECTORS, organizationIds.size());
+		statistics.clear();
+
+		int updated = organizationRepository.updateOrganizations(organizationIds,
+				entityManager.getEntityManager().getReference(Sector.class, sectors[1].getSectorId()), false, "user-2",
+				LocalDateTime.now());
+
+		assertEquals(ORGANIZATIONS / SECTORS, updated);
+		assertEquals(2, statistics.getPrepareStatementCount());
+		assertTrue(organizationRepository.findOrganizationIdsBySectorId(sectors[0].getSectorId()).isEmpty());
+		assertEquals(ORGANIZATIONS - organizationIds.size(), organizationRepository.countActiveOrganizations(true));
+		Organization moved = organizationRepository.findByOrganizationId(organizationIds.get(0));
+		assertEquals(sectors[1].getSectorId(), moved.getSector().getSectorId());
+		assertEquals("user-2", moved.getLastUpdatedBy());
+	}
+}
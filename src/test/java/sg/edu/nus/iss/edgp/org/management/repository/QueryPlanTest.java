@@ -0,0 +1,161 @@
+package sg.edu.nus.iss.edgp.org.management.repository;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import javax.sql.DataSource;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import sg.edu.nus.iss.edgp.org.management.dto.OrganizationDTO;
+import sg.edu.nus.iss.edgp.org.management.dto.SectorDTO;
+
+/**
+ * Runs the hot repository queries against the schema built by the Flyway
+ * migrations, records the SQL Hibernate sends and fails when H2's EXPLAIN
+ * plan for any of it falls back to a full table scan. Hibernate validates the
+ * entities against the migrated schema on startup. The schema here is always
+ * fresh; MigrationUpgradeTest covers databases baselined at V1.
+ */
+@DataJpaTest(properties = { "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.hibernate.ddl-auto=validate",
+		"spring.jpa.properties.hibernate.session_factory.statement_inspector="
+				+ "sg.edu.nus.iss.edgp.org.management.repository.QueryPlanTest$RecordingStatementInspector" })
+class QueryPlanTest {
+
+	private static final String USER_ID = "user-1";
+	private static final String TABLE_SCAN = ".tableScan";
+
+	public static class RecordingStatementInspector implements StatementInspector {
+
+		static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+		@Override
+		public String inspect(String sql) {
+			STATEMENTS.add(sql);
+			return sql;
+		}
+	}
+
+	@Autowired
+	private OrganizationRepository organizationRepository;
+
+	@Autowired
+	private SectorRepository sectorRepository;
+
+	@Autowired
+	private DataSource dataSource;
+
+	private final Pageable organizationPage = PageRequest.of(1, 20, Sort.by("organizationName").ascending());
+	private final Pageable sectorPage = PageRequest.of(1, 20, Sort.by("sectorName").ascending());
+
+	@BeforeEach
+	void setUp() {
+		RecordingStatementInspector.STATEMENTS.clear();
+	}
+
+	private List<String> explain(Runnable query) throws Exception {
+		RecordingStatementInspector.STATEMENTS.clear();
+		query.run();
+		List<String> statements = new ArrayList<>(RecordingStatementInspector.STATEMENTS);
+		assertFalse(statements.isEmpty(), "query did not reach the database");
+
+		List<String> plans = new ArrayList<>();
+		try (Connection connection = dataSource.getConnection()) {
+			for (String sql : statements) {
+				try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + sql)) {
+					int parameters = statement.getParameterMetaData().getParameterCount();
+					for (int i = 1; i <= parameters; i++) {
+						statement.setObject(i, "1");
+					}
+					try (ResultSet resultSet = statement.executeQuery()) {
+						resultSet.next();
+						plans.add(resultSet.getString(1));
+					}
+				}
+			}
+		}
+		return plans;
+	}
+
+	private void assertUsesIndexes(Runnable query) throws Exception {
+		for (String plan : explain(query)) {
+			assertFalse(plan.contains(TABLE_SCAN), () -> "Full table scan in plan:\n" + plan);
+		}
+	}
+
+	@Test
+	void testActiveOrganizationQueries_useActiveNameIndex() throws Exception {
+		assertUsesIndexes(() -> organizationRepository.findPaginatedActiveOrganizationList(true, organizationPage));
+		assertUsesIndexes(() -> organizationRepository.findActiveOrganizationSlice(true, organizationPage));
+		assertUsesIndexes(() -> organizationRepository.countActiveOrganizations(true));
+		assertUsesIndexes(() -> organizationRepository.findActiveOrganizationList(true));
+		assertUsesIndexes(() -> organizationRepository.findActiveOrganizationListAfter(true, "Acme", "org-1",
+				PageRequest.of(0, 21)));
+		assertUsesIndexes(() -> {
+			try (Stream<OrganizationDTO> organizations = organizationRepository.streamActiveOrganizationList(true)) {
+				organizations.count();
+			}
+		});
+
+		List<String> plans = explain(() -> organizationRepository.findActiveOrganizationList(true));
+		assertTrue(plans.get(0).toUpperCase().contains("IDX_ORGANIZATION_ACTIVE_NAME"), plans.get(0));
+	}
+
+	@Test
+	void testOrganizationsByCreatorQueries_useCreatorIndex() throws Exception {
+		assertUsesIndexes(() -> organizationRepository.findOrganizationListByUserId(USER_ID, true, organizationPage));
+		assertUsesIndexes(() -> organizationRepository.findOrganizationSliceByUserId(USER_ID, true, organizationPage));
+		assertUsesIndexes(() -> organizationRepository.countOrganizationsByUserId(USER_ID, true));
+		assertUsesIndexes(() -> organizationRepository.findOrganizationListByUserIdAfter(USER_ID, true, "Acme",
+				"org-1", PageRequest.of(0, 21)));
+
+		List<String> plans = explain(() -> organizationRepository.countOrganizationsByUserId(USER_ID, true));
+		assertTrue(plans.get(0).toUpperCase().contains("IDX_ORGANIZATION_CREATOR_ACTIVE_NAME"), plans.get(0));
+	}
+
+	@Test
+	void testOrganizationLookups_useKeys() throws Exception {
+		assertUsesIndexes(() -> organizationRepository.findOrganizationDTOById("org-1"));
+		assertUsesIndexes(() -> organizationRepository.findByOrganizationId("org-1"));
+		assertUsesIndexes(() -> organizationRepository.findByOrganizationName("Acme"));
+		assertUsesIndexes(() -> organizationRepository.findByUniqueEntityNumber("UEN1"));
+	}
+
+	@Test
+	void testActiveSectorQueries_useActiveNameIndex() throws Exception {
+		assertUsesIndexes(() -> sectorRepository.findPaginatedActiveSectorList(true, sectorPage));
+		assertUsesIndexes(() -> sectorRepository.findActiveSectorSlice(true, sectorPage));
+		assertUsesIndexes(() -> sectorRepository.countActiveSectors(true));
+		assertUsesIndexes(() -> sectorRepository.findActiveSectorList(true));
+		assertUsesIndexes(() -> {
+			try (Stream<SectorDTO> sectors = sectorRepository.streamActiveSectorList(true)) {
+				sectors.count();
+			}
+		});
+
+		List<String> plans = explain(() -> sectorRepository.countActiveSectors(true));
+		assertTrue(plans.get(0).toUpperCase().contains("IDX_SECTOR_ACTIVE_NAME"), plans.get(0));
+	}
+
+	@Test
+	void testSectorLookups_useKeys() throws Exception {
+		assertUsesIndexes(() -> sectorRepository.findBySectorId("sector-1"));
+		assertUsesIndexes(() -> sectorRepository.findSectorDTOById("sector-1"));
+		assertUsesIndexes(() -> sectorRepository.findBySectorIdAndIsActive("sector-1", true));
+	}
+}
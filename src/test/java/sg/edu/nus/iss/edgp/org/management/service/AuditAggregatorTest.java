@@ -0,0 +1,179 @@
+package sg.edu.nus.iss.edgp.org.management.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import sg.edu.nus.iss.edgp.org.management.dto.AuditDTO;
+import sg.edu.nus.iss.edgp.org.management.enums.AuditResponseStatus;
+import sg.edu.nus.iss.edgp.org.management.service.impl.AuditAggregator;
+
+class AuditAggregatorTest {
+
+	private IAuditSink auditSink;
+	private SimpleMeterRegistry meterRegistry;
+	private AuditAggregator aggregator;
+
+	@BeforeEach
+	void setUp() {
+		auditSink = mock(IAuditSink.class);
+		meterRegistry = new SimpleMeterRegistry();
+		aggregator = newAggregator(true, 2);
+	}
+
+	private AuditAggregator newAggregator(boolean enabled, int maxDistinctUsers) {
+		return new AuditAggregator(enabled, List.of("/api/orgs", "/api/orgs/sectors"),
+				List.of("Retrieve Active Organization List", "Retrieve Sector List", "Retrieve Sector by sector id"),
+				"Org- ", maxDistinctUsers, auditSink, meterRegistry);
+	}
+
+	private static AuditDTO audit(String activityType, String endpoint, String verb, int statusCode, String userId) {
+		AuditDTO auditDTO = new AuditDTO();
+		auditDTO.setActivityType(activityType);
+		auditDTO.setRequestActionEndpoint(endpoint);
+		auditDTO.setRequestHTTPVerb(verb);
+		auditDTO.setStatusCode(statusCode);
+		auditDTO.setResponseStatus(statusCode == 200 ? AuditResponseStatus.SUCCESS : AuditResponseStatus.FAILED);
+		auditDTO.setActivityDescription("Successfully retrieved.");
+		auditDTO.setUserId(userId);
+		auditDTO.setUsername("name-" + userId);
+		return auditDTO;
+	}
+
+	private static AuditDTO read(String userId) {
+		return audit("Org-Retrieve Active Organization List", "/api/orgs", "GET", 200, userId);
+	}
+
+	@Test
+	void testOffer_collapsesIdenticalReadsIntoOneSummary() {
+		assertTrue(aggregator.offer(read("u1")));
+		assertTrue(aggregator.offer(read("u2")));
+		assertTrue(aggregator.offer(read("u1")));
+		verifyNoInteractions(auditSink);
+
+		aggregator.flush();
+
+		ArgumentCaptor<AuditDTO> captor = ArgumentCaptor.forClass(AuditDTO.class);
+		verify(auditSink).sendMessage(captor.capture());
+		AuditDTO summary = captor.getValue();
+		assertEquals(3, summary.getEventCount());
+		assertEquals(List.of("u1", "u2"), summary.getDistinctUserIds());
+		assertEquals("Org-Retrieve Active Organization List", summary.getActivityType());
+		assertEquals("/api/orgs", summary.getRequestActionEndpoint());
+		assertEquals(AuditResponseStatus.SUCCESS, summary.getResponseStatus());
+		assertFalse(Instant.parse(summary.getFirstOccurredAt()).isAfter(Instant.parse(summary.getLastOccurredAt())));
+		assertEquals("", summary.getUserId());
+		assertEquals(3.0, meterRegistry.get("audit.aggregated").counter().count());
+	}
+
+	@Test
+	void testOffer_keepsSeparateWindowsPerActivityTypeAndEndpoint() {
+		aggregator.offer(read("u1"));
+		aggregator.offer(audit("Org-Retrieve Sector List", "/api/orgs/sectors", "GET", 200, "u1"));
+		aggregator.offer(audit("Org-Retrieve Sector by sector id", "/api/orgs/sectors", "GET", 200, "u1"));
+
+		aggregator.flush();
+
+		verify(auditSink, times(3)).sendMessage(any(AuditDTO.class));
+	}
+
+	@Test
+	void testOffer_singleUserSummaryKeepsUser() {
+		aggregator.offer(read("u1"));
+		aggregator.offer(read("u1"));
+
+		aggregator.flush();
+
+		ArgumentCaptor<AuditDTO> captor = ArgumentCaptor.forClass(AuditDTO.class);
+		verify(auditSink).sendMessage(captor.capture());
+		assertEquals("u1", captor.getValue().getUserId());
+		assertEquals("name-u1", captor.getValue().getUsername());
+	}
+
+	@Test
+	void testOffer_capsDistinctUsers() {
+		aggregator.offer(read("u1"));
+		aggregator.offer(read("u2"));
+		aggregator.offer(read("u3"));
+
+		aggregator.flush();
+
+		ArgumentCaptor<AuditDTO> captor = ArgumentCaptor.forClass(AuditDTO.class);
+		verify(auditSink).sendMessage(captor.capture());
+		assertEquals(3, captor.getValue().getEventCount());
+		assertEquals(List.of("u1", "u2"), captor.getValue().getDistinctUserIds());
+	}
+
+	@Test
+	void testOffer_rejectsWritesFailuresAndOtherEndpoints() {
+		assertFalse(aggregator.offer(audit("Org-Create Organization", "/api/orgs", "POST", 200, "u1")));
+		assertFalse(aggregator.offer(audit("Org-Retrieve Active Organization List", "/api/orgs", "GET", 500, "u1")));
+		assertFalse(aggregator.offer(audit("Org-Retrieve", "/api/orgs/users", "GET", 200, "u1")));
+
+		aggregator.flush();
+
+		verifyNoInteractions(auditSink);
+	}
+
+	@Test
+	void testOffer_rejectsActivityTypesNotConfigured() {
+		assertFalse(aggregator.offer(audit("Org-Retrieve Organization by organization id", "/api/orgs", "GET", 200,
+				"u1")));
+		assertFalse(aggregator.offer(audit("Retrieve Active Organization List", "/api/orgs", "GET", 200, "u1")));
+
+		aggregator.flush();
+
+		verifyNoInteractions(auditSink);
+	}
+
+	@Test
+	void testOffer_differentOutcomeMessagesShareWindow() {
+		AuditDTO found = audit("Org-Retrieve Sector by sector id", "/api/orgs/sectors", "GET", 200, "u1");
+		found.setActivityDescription("Finance is found.");
+		AuditDTO other = audit("Org-Retrieve Sector by sector id", "/api/orgs/sectors", "GET", 200, "u1");
+		other.setActivityDescription("Health is found.");
+		aggregator.offer(found);
+		aggregator.offer(other);
+		aggregator.offer(read("u1"));
+
+		aggregator.flush();
+
+		ArgumentCaptor<AuditDTO> captor = ArgumentCaptor.forClass(AuditDTO.class);
+		verify(auditSink, times(2)).sendMessage(captor.capture());
+		AuditDTO sectorSummary = captor.getAllValues().stream()
+				.filter(summary -> summary.getRequestActionEndpoint().equals("/api/orgs/sectors")).findFirst().get();
+		assertEquals(2, sectorSummary.getEventCount());
+		assertEquals("", sectorSummary.getActivityDescription());
+		AuditDTO organizationSummary = captor.getAllValues().stream()
+				.filter(summary -> summary.getRequestActionEndpoint().equals("/api/orgs")).findFirst().get();
+		assertEquals("Successfully retrieved.", organizationSummary.getActivityDescription());
+	}
+
+	@Test
+	void testOffer_disabled() {
+		aggregator = newAggregator(false, 2);
+
+		assertFalse(aggregator.offer(read("u1")));
+	}
+
+	@Test
+	void testFlush_startsNewWindow() {
+		aggregator.offer(read("u1"));
+		aggregator.flush();
+		aggregator.flush();
+		aggregator.offer(read("u2"));
+		aggregator.shutdown();
+
+		ArgumentCaptor<AuditDTO> captor = ArgumentCaptor.forClass(AuditDTO.class);
+		verify(auditSink, times(2)).sendMessage(captor.capture());
+		assertEquals(1, captor.getAllValues().get(1).getEventCount());
+		assertEquals(List.of("u2"), captor.getAllValues().get(1).getDistinctUserIds());
+	}
+}
@@ -5,11 +5,15 @@ import static org.mockito.Mockito.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
 
-import sg.edu.nus.iss.edgp.org.management.aws.service.SQSPublishingService;
+import sg.edu.nus.iss.edgp.org.management.authentication.AuthenticatedPrincipal;
 import sg.edu.nus.iss.edgp.org.management.dto.AuditDTO;
 import sg.edu.nus.iss.edgp.org.management.enums.AuditResponseStatus;
+import sg.edu.nus.iss.edgp.org.management.service.impl.AuditAggregator;
 import sg.edu.nus.iss.edgp.org.management.service.impl.AuditService;
 import sg.edu.nus.iss.edgp.org.management.service.impl.JwtService;
 
@@ -19,11 +23,14 @@ public class AuditLogServiceTest {
 	private AuditService auditService;
 
 	@Mock
-	private SQSPublishingService sqsPublishingService;
+	private IAuditSink auditSink;
 
 	@Mock
 	private JwtService jwtService;
 
+	@Mock
+	private AuditAggregator auditAggregator;
+
 	@BeforeEach
 	void setUp() {
 		MockitoAnnotations.openMocks(this);
@@ -52,7 +59,7 @@ public class AuditLogServiceTest {
 		assert dto.getResponseStatus() == AuditResponseStatus.SUCCESS;
 		assert dto.getActivityDescription().equals("Success message");
 
-		verify(sqsPublishingService).sendMessage(any(AuditDTO.class));
+		verify(auditSink).sendMessage(any(AuditDTO.class));
 	}
 
 	@Test
@@ -69,7 +76,7 @@ public class AuditLogServiceTest {
 		assert dto.getResponseStatus() == AuditResponseStatus.FAILED;
 		assert dto.getActivityDescription().equals("Error message");
 
-		verify(sqsPublishingService).sendMessage(any(AuditDTO.class));
+		verify(auditSink).sendMessage(any(AuditDTO.class));
 	}
 
 	@Test
@@ -79,7 +86,7 @@ public class AuditLogServiceTest {
 		auditService.sendMessage(dto, "");
 
 		assert dto.getUsername().equals("Invalid Username");
-		verify(sqsPublishingService).sendMessage(dto);
+		verify(auditSink).sendMessage(dto);
 	}
 
 	@Test
@@ -94,7 +101,7 @@ public class AuditLogServiceTest {
 
 		assert dto.getUsername().equals("alice");
 		assert dto.getUserId().equals("101");
-		verify(sqsPublishingService).sendMessage(dto);
+		verify(auditSink).sendMessage(dto);
 	}
 
 	@Test
@@ -107,6 +114,36 @@ public class AuditLogServiceTest {
 		auditService.sendMessage(dto, token);
 
 		// Even on exception, sendMessage is not called with incomplete data
-		verify(sqsPublishingService, times(0)).sendMessage(dto);
+		verify(auditSink, times(0)).sendMessage(dto);
+	}
+
+	@Test
+	void testSendMessageUsesRequestPrincipal() {
+		AuditDTO dto = new AuditDTO();
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.setAttribute(AuthenticatedPrincipal.REQUEST_ATTRIBUTE,
+				AuthenticatedPrincipal.builder().userId("101").userName("alice").build());
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+		try {
+			auditService.sendMessage(dto, "Bearer valid.token.here");
+		} finally {
+			RequestContextHolder.resetRequestAttributes();
+		}
+
+		assert dto.getUsername().equals("alice");
+		assert dto.getUserId().equals("101");
+		verifyNoInteractions(jwtService);
+		verify(auditSink).sendMessage(dto);
+	}
+
+	@Test
+	void testSendMessageSkipsPublishingWhenAggregated() {
+		AuditDTO dto = new AuditDTO();
+		when(auditAggregator.offer(dto)).thenReturn(true);
+
+		auditService.sendMessage(dto, "");
+
+		verify(auditAggregator).offer(dto);
+		verifyNoInteractions(auditSink);
 	}
 }
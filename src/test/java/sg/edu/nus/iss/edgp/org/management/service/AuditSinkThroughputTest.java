@@ -0,0 +1,153 @@
+package sg.edu.nus.iss.edgp.org.management.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import sg.edu.nus.iss.edgp.org.management.aws.service.AuditPayloadCodec;
+import sg.edu.nus.iss.edgp.org.management.aws.service.AuditSpool;
+import sg.edu.nus.iss.edgp.org.management.aws.service.SQSPublishingService;
+import sg.edu.nus.iss.edgp.org.management.dto.AuditDTO;
+import sg.edu.nus.iss.edgp.org.management.enums.AuditBackpressurePolicy;
+import sg.edu.nus.iss.edgp.org.management.enums.AuditResponseStatus;
+import sg.edu.nus.iss.edgp.org.management.service.impl.FileAuditSink;
+import sg.edu.nus.iss.edgp.org.management.service.impl.InMemoryAuditSink;
+import software.amazon.awssdk.services.sqs.SqsClient;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchRequest;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResponse;
+import software.amazon.awssdk.services.sqs.model.SendMessageBatchResultEntry;
+
+/**
+ * End-to-end audit throughput per sink without external services; SQS is
+ * replaced by an in-process client that accepts every batch. Rates are logged
+ * for comparison, the assertions only check that no event was lost.
+ */
+class AuditSinkThroughputTest {
+
+	private static final Logger logger = LoggerFactory.getLogger(AuditSinkThroughputTest.class);
+
+	private static final int THREADS = 4;
+	private static final int EVENTS_PER_THREAD = 20_000;
+	private static final int TOTAL_EVENTS = THREADS * EVENTS_PER_THREAD;
+
+	@TempDir
+	Path directory;
+
+	private static AuditDTO audit(int thread, int index) {
+		AuditDTO auditDTO = new AuditDTO();
+		auditDTO.setStatusCode(200);
+		auditDTO.setUserId("user-" + thread);
+		auditDTO.setUsername("user " + thread);
+		auditDTO.setActivityType("Org-Retrieve Active Organization List");
+		auditDTO.setActivityDescription("Successfully retrieved all active organization list.");
+		auditDTO.setRequestActionEndpoint("/api/orgs");
+		auditDTO.setResponseStatus(AuditResponseStatus.SUCCESS);
+		auditDTO.setRequestHTTPVerb("GET");
+		auditDTO.setRemarks("event " + index);
+		return auditDTO;
+	}
+
+	private double run(String name, IAuditSink sink, Runnable drain) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+		CountDownLatch start = new CountDownLatch(1);
+		try {
+			for (int t = 0; t < THREADS; t++) {
+				int thread = t;
+				executor.submit(() -> {
+					start.await();
+					for (int i = 0; i < EVENTS_PER_THREAD; i++) {
+						sink.sendMessage(audit(thread, i));
+					}
+					return null;
+				});
+			}
+			long begin = System.nanoTime();
+			start.countDown();
+			executor.shutdown();
+			assertTrue(executor.awaitTermination(60, TimeUnit.SECONDS));
+			drain.run();
+			double seconds = (System.nanoTime() - begin) / 1e9;
+			double eventsPerSecond = TOTAL_EVENTS / seconds;
+			logger.info("{} audit sink: {} events in {} ms, {} events/s", name, TOTAL_EVENTS,
+					Math.round(seconds * 1000), Math.round(eventsPerSecond));
+			return eventsPerSecond;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void testInMemorySinkThroughput() throws Exception {
+		InMemoryAuditSink sink = new InMemoryAuditSink(TOTAL_EVENTS);
+
+		assertTrue(run("memory", sink, () -> {
+		}) > 0);
+		assertEquals(TOTAL_EVENTS, sink.getTotalCount());
+	}
+
+	@Test
+	void testFileSinkThroughput() throws Exception {
+		FileAuditSink sink = new FileAuditSink(directory.toString(), 64L * 1024 * 1024, 100);
+
+		assertTrue(run("file", sink, sink::close) > 0);
+
+		long lines = 0;
+		try (Stream<Path> files = Files.list(directory)) {
+			for (Path file : files.collect(Collectors.toList())) {
+				try (Stream<String> fileLines = Files.lines(file)) {
+					lines += fileLines.count();
+				}
+			}
+		}
+		assertEquals(TOTAL_EVENTS, lines);
+	}
+
+	@Test
+	void testSqsSinkThroughput() throws Exception {
+		AtomicLong accepted = new AtomicLong();
+		SqsClient sqsClient = new SqsClient() {
+			@Override
+			public SendMessageBatchResponse sendMessageBatch(SendMessageBatchRequest request) {
+				accepted.addAndGet(request.entries().size());
+				return SendMessageBatchResponse.builder()
+						.successful(request.entries().stream()
+								.map(entry -> SendMessageBatchResultEntry.builder().id(entry.id()).build())
+								.collect(Collectors.toList()))
+						.build();
+			}
+
+			@Override
+			public String serviceName() {
+				return "sqs";
+			}
+
+			@Override
+			public void close() {
+			}
+		};
+		SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+		AuditSpool spool = new AuditSpool(directory.toString(), 1024 * 1024, 8 * 1024 * 1024, meterRegistry);
+		SQSPublishingService sink = new SQSPublishingService(sqsClient, "https://sqs.local/audit", TOTAL_EVENTS, 10,
+				200, AuditBackpressurePolicy.CALLER_RUNS, 0, new AuditPayloadCodec(false, false, null, meterRegistry),
+				spool, 5000, meterRegistry);
+
+		assertTrue(run("sqs", sink, sink::flush) > 0);
+		sink.shutdown();
+
+		assertEquals(TOTAL_EVENTS, accepted.get());
+	}
+}
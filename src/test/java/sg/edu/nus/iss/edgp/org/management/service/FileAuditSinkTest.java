@@ -0,0 +1,90 @@
+package sg.edu.nus.iss.edgp.org.management.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import sg.edu.nus.iss.edgp.org.management.dto.AuditDTO;
+import sg.edu.nus.iss.edgp.org.management.service.impl.FileAuditSink;
+
+class FileAuditSinkTest {
+
+	@TempDir
+	Path directory;
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private static AuditDTO audit(String remarks) {
+		AuditDTO auditDTO = new AuditDTO();
+		auditDTO.setRemarks(remarks);
+		return auditDTO;
+	}
+
+	private List<Path> files() throws Exception {
+		try (Stream<Path> files = Files.list(directory)) {
+			return files.sorted().collect(Collectors.toList());
+		}
+	}
+
+	private List<String> lines() throws Exception {
+		List<String> lines = new ArrayList<>();
+		for (Path file : files()) {
+			lines.addAll(Files.readAllLines(file, StandardCharsets.UTF_8));
+		}
+		return lines;
+	}
+
+	@Test
+	void testSendMessage_writesOneJsonObjectPerLine() throws Exception {
+		FileAuditSink sink = new FileAuditSink(directory.toString(), 1024 * 1024, 10);
+
+		sink.sendMessage(audit("first"));
+		sink.sendMessage(audit("line\nbreak"));
+		sink.close();
+
+		List<String> lines = lines();
+		assertEquals(2, lines.size());
+		assertEquals("first", objectMapper.readTree(lines.get(0)).get("remarks").asText());
+		assertEquals("line\nbreak", objectMapper.readTree(lines.get(1)).get("remarks").asText());
+	}
+
+	@Test
+	void testSendMessage_rollsFilesAndKeepsMaxFiles() throws Exception {
+		FileAuditSink sink = new FileAuditSink(directory.toString(), 1000, 3);
+
+		for (int i = 0; i < 50; i++) {
+			sink.sendMessage(audit("message " + i));
+		}
+		sink.close();
+
+		assertEquals(3, files().size());
+		for (Path file : files()) {
+			assertTrue(Files.size(file) <= 1000);
+		}
+		List<String> lines = lines();
+		assertEquals("message 49", objectMapper.readTree(lines.get(lines.size() - 1)).get("remarks").asText());
+	}
+
+	@Test
+	void testSendMessage_reopensAfterClose() throws Exception {
+		FileAuditSink sink = new FileAuditSink(directory.toString(), 1024 * 1024, 10);
+
+		sink.sendMessage(audit("before"));
+		sink.close();
+		sink.sendMessage(audit("after"));
+		sink.close();
+
+		assertEquals(2, lines().size());
+	}
+}
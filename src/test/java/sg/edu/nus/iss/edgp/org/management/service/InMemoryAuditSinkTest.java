@@ -0,0 +1,74 @@
+package sg.edu.nus.iss.edgp.org.management.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import sg.edu.nus.iss.edgp.org.management.dto.AuditDTO;
+import sg.edu.nus.iss.edgp.org.management.service.impl.InMemoryAuditSink;
+
+class InMemoryAuditSinkTest {
+
+	private static AuditDTO audit(String remarks) {
+		AuditDTO auditDTO = new AuditDTO();
+		auditDTO.setRemarks(remarks);
+		return auditDTO;
+	}
+
+	@Test
+	void testSendMessage_keepsMessagesInOrder() {
+		InMemoryAuditSink sink = new InMemoryAuditSink(8);
+
+		sink.sendMessage(audit("first"));
+		sink.sendMessage(audit("second"));
+
+		List<String> messages = sink.getMessages();
+		assertEquals(2, messages.size());
+		assertTrue(messages.get(0).contains("\"remarks\":\"first\""));
+		assertTrue(messages.get(1).contains("\"remarks\":\"second\""));
+	}
+
+	@Test
+	void testSendMessage_overwritesOldestWhenFull() {
+		InMemoryAuditSink sink = new InMemoryAuditSink(4);
+
+		for (int i = 0; i < 6; i++) {
+			sink.sendMessage(audit("message " + i));
+		}
+
+		List<String> messages = sink.getMessages();
+		assertEquals(4, messages.size());
+		assertTrue(messages.get(0).contains("message 2"));
+		assertTrue(messages.get(3).contains("message 5"));
+		assertEquals(6, sink.getTotalCount());
+	}
+
+	@Test
+	void testCapacity_roundedUpToPowerOfTwo() {
+		assertEquals(8, new InMemoryAuditSink(5).getCapacity());
+		assertEquals(1, new InMemoryAuditSink(1).getCapacity());
+	}
+
+	@Test
+	void testSendMessage_concurrentWriters() throws Exception {
+		InMemoryAuditSink sink = new InMemoryAuditSink(1 << 14);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		for (int t = 0; t < 4; t++) {
+			executor.submit(() -> {
+				for (int i = 0; i < 1000; i++) {
+					sink.sendMessage(audit("message"));
+				}
+			});
+		}
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+		assertEquals(4000, sink.getTotalCount());
+		assertEquals(4000, sink.getMessages().size());
+	}
+}
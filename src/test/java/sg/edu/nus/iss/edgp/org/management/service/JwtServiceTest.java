@@ -4,16 +4,20 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 import java.security.interfaces.RSAPublicKey;
+import java.util.Base64;
 import java.util.Date;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import sg.edu.nus.iss.edgp.org.management.authentication.JwtClaimsCache;
+import sg.edu.nus.iss.edgp.org.management.authentication.JwtKeyRegistry;
 import sg.edu.nus.iss.edgp.org.management.configuration.JwtConfig;
 import sg.edu.nus.iss.edgp.org.management.pojo.User;
+import sg.edu.nus.iss.edgp.org.management.pojo.UserProfileResponse;
 import sg.edu.nus.iss.edgp.org.management.service.impl.JwtService;
 import sg.edu.nus.iss.edgp.org.management.utility.JSONReader;
 
-import org.json.simple.JSONObject;
-
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test; 
 import org.mockito.Mockito;
@@ -21,28 +25,34 @@ import org.springframework.security.core.userdetails.UserDetails;
 
 import java.security.KeyPair;
 import java.security.KeyPairGenerator;
+import java.security.PrivateKey;
 
 public class JwtServiceTest {
 
     private JwtService jwtService;
     private JwtConfig jwtConfig;
+    private JwtKeyRegistry keyRegistry;
     private JSONReader jsonReader;
 
     private RSAPublicKey publicKey;
+    private PrivateKey privateKey;
     private Claims claims;
 
     @BeforeEach
     void setUp() throws Exception {
-        jwtConfig = mock(JwtConfig.class);
-        jsonReader = mock(JSONReader.class);
-        jwtService = new JwtService(jwtConfig, jsonReader);
-
         KeyPairGenerator keyGen = KeyPairGenerator.getInstance("RSA");
         keyGen.initialize(2048);
         KeyPair keyPair = keyGen.generateKeyPair();
         publicKey = (RSAPublicKey) keyPair.getPublic();
+        privateKey = keyPair.getPrivate();
 
-        when(jwtConfig.loadPublicKey()).thenReturn(publicKey);
+        jwtConfig = mock(JwtConfig.class);
+        when(jwtConfig.getJWTPubliceKey()).thenReturn(Base64.getEncoder().encodeToString(publicKey.getEncoded()));
+        when(jwtConfig.getJwtPublicKeyLocation()).thenReturn("");
+        jsonReader = mock(JSONReader.class);
+        JwtClaimsCache claimsCache = new JwtClaimsCache(100, new SimpleMeterRegistry());
+        keyRegistry = spy(new JwtKeyRegistry(jwtConfig, claimsCache, new SimpleMeterRegistry()));
+        jwtService = new JwtService(keyRegistry, jsonReader, claimsCache);
         claims = mock(Claims.class);
     }
 
@@ -111,8 +121,8 @@ public class JwtServiceTest {
         user.setPassword("securepass");
         user.setRole("Customer");
 
-        JSONObject mockResponse = new JSONObject();
-        mockResponse.put("success", true);
+        UserProfileResponse mockResponse = new UserProfileResponse();
+        mockResponse.setSuccess(true);
 
         JwtService spyService = Mockito.spy(jwtService);
         doReturn(userId).when(spyService).extractSubject(token);
@@ -125,4 +135,16 @@ public class JwtServiceTest {
 
         assertEquals(user.getEmail(), userDetails.getUsername());
     }
+
+    @Test
+    void testExtractAllClaimsVerifiesTokenOnce() throws Exception {
+        String token = Jwts.builder().subject("user123").claim(JwtService.USER_NAME, "John Doe")
+                .expiration(new Date(System.currentTimeMillis() + 600000)).signWith(privateKey).compact();
+
+        assertEquals("user123", jwtService.extractSubject(token));
+        assertEquals("John Doe", jwtService.extractUserNameFromToken(token));
+        assertFalse(jwtService.isTokenExpired(token));
+
+        verify(keyRegistry, times(1)).getParser();
+    }
 }
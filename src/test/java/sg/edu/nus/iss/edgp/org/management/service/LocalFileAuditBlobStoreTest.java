@@ -0,0 +1,55 @@
+package sg.edu.nus.iss.edgp.org.management.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import sg.edu.nus.iss.edgp.org.management.service.impl.LocalFileAuditBlobStore;
+
+class LocalFileAuditBlobStoreTest {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void testPutAndGet() throws Exception {
+		LocalFileAuditBlobStore blobStore = new LocalFileAuditBlobStore(directory.toString());
+		byte[] payload = "{\"remarks\":\"large\"}".getBytes(StandardCharsets.UTF_8);
+
+		String key = blobStore.put(payload);
+
+		assertEquals(64, key.length());
+		assertArrayEquals(payload, blobStore.get(key));
+		assertTrue(Files.exists(directory.resolve(key.substring(0, 2)).resolve(key)));
+	}
+
+	@Test
+	void testPut_isContentAddressed() throws Exception {
+		LocalFileAuditBlobStore blobStore = new LocalFileAuditBlobStore(directory.toString());
+
+		String first = blobStore.put("same".getBytes(StandardCharsets.UTF_8));
+		String second = blobStore.put("same".getBytes(StandardCharsets.UTF_8));
+		String other = blobStore.put("other".getBytes(StandardCharsets.UTF_8));
+
+		assertEquals(first, second);
+		assertNotEquals(first, other);
+		try (Stream<Path> files = Files.walk(directory)) {
+			assertEquals(2, files.filter(Files::isRegularFile).count());
+		}
+	}
+
+	@Test
+	void testGet_rejectsInvalidKey() {
+		LocalFileAuditBlobStore blobStore = new LocalFileAuditBlobStore(directory.toString());
+
+		assertThrows(IOException.class, () -> blobStore.get("../../etc/passwd"));
+		assertThrows(IOException.class, () -> blobStore.get(null));
+	}
+}
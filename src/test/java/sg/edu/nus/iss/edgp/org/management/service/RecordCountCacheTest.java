@@ -0,0 +1,54 @@
+package sg.edu.nus.iss.edgp.org.management.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import sg.edu.nus.iss.edgp.org.management.service.impl.RecordCountCache;
+
+class RecordCountCacheTest {
+
+	private final RecordCountCache cache = new RecordCountCache(300, 100, new SimpleMeterRegistry());
+
+	@Test
+	void testGet_countsOncePerFilter() {
+		AtomicInteger queries = new AtomicInteger();
+
+		assertEquals(7, cache.get(RecordCountCache.ACTIVE_ORGANIZATIONS, () -> {
+			queries.incrementAndGet();
+			return 7L;
+		}));
+		assertEquals(7, cache.get(RecordCountCache.ACTIVE_ORGANIZATIONS, () -> {
+			queries.incrementAndGet();
+			return 8L;
+		}));
+		assertEquals(3, cache.get(RecordCountCache.ACTIVE_SECTORS, () -> 3L));
+
+		assertEquals(1, queries.get());
+	}
+
+	@Test
+	void testInvalidate_recountsOnNextGet() {
+		cache.get(RecordCountCache.ACTIVE_SECTORS, () -> 3L);
+
+		cache.invalidate(RecordCountCache.ACTIVE_SECTORS);
+
+		assertEquals(4, cache.get(RecordCountCache.ACTIVE_SECTORS, () -> 4L));
+	}
+
+	@Test
+	void testInvalidateAll_evictsOnlyMatchingPrefix() {
+		cache.get(RecordCountCache.ACTIVE_ORGANIZATIONS, () -> 10L);
+		cache.get(RecordCountCache.organizationsCreatedBy("user-1"), () -> 2L);
+		cache.get(RecordCountCache.ACTIVE_SECTORS, () -> 5L);
+
+		cache.invalidateAll(RecordCountCache.ORGANIZATION_PREFIX);
+
+		assertEquals(11, cache.get(RecordCountCache.ACTIVE_ORGANIZATIONS, () -> 11L));
+		assertEquals(3, cache.get(RecordCountCache.organizationsCreatedBy("user-1"), () -> 3L));
+		assertEquals(5, cache.get(RecordCountCache.ACTIVE_SECTORS, () -> 6L));
+	}
+}
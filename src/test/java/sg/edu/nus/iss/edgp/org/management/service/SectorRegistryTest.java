@@ -0,0 +1,110 @@
+package sg.edu.nus.iss.edgp.org.management.service;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import sg.edu.nus.iss.edgp.org.management.dto.SectorDTO;
+import sg.edu.nus.iss.edgp.org.management.repository.SectorRepository;
+import sg.edu.nus.iss.edgp.org.management.service.impl.SectorRegistry;
+
+@ExtendWith(MockitoExtension.class)
+class SectorRegistryTest {
+
+	@Mock
+	private SectorRepository sectorRepository;
+
+	private SectorRegistry sectorRegistry;
+
+	private static SectorDTO sector(String id, String name, String code, boolean active) {
+		return new SectorDTO(id, name, code, name + " sector", "user-1", "user-1", null, active);
+	}
+
+	@BeforeEach
+	void setUp() {
+		sectorRegistry = new SectorRegistry(sectorRepository);
+		when(sectorRepository.findAllSectorList()).thenReturn(
+				List.of(sector("SEC001", "Finance", "FIN", true), sector("SEC002", "Retail", "RET", false)));
+		sectorRegistry.reload();
+	}
+
+	@Test
+	void findById_servedFromSnapshot() {
+		Optional<SectorDTO> result = sectorRegistry.findById("SEC001");
+
+		assertTrue(result.isPresent());
+		assertEquals("Finance", result.get().getSectorName());
+		verify(sectorRepository, never()).findSectorDTOById(anyString());
+	}
+
+	@Test
+	void findById_missReadsThroughOnce() {
+		when(sectorRepository.findSectorDTOById("SEC003")).thenReturn(Optional.of(sector("SEC003", "Health", "HLT", true)));
+
+		assertTrue(sectorRegistry.findById("SEC003").isPresent());
+		assertTrue(sectorRegistry.findById("SEC003").isPresent());
+
+		verify(sectorRepository, times(1)).findSectorDTOById("SEC003");
+	}
+
+	@Test
+	void findById_unknownId_returnsEmpty() {
+		when(sectorRepository.findSectorDTOById("SEC999")).thenReturn(Optional.empty());
+
+		assertTrue(sectorRegistry.findById("SEC999").isEmpty());
+		assertTrue(sectorRegistry.findById(null).isEmpty());
+	}
+
+	@Test
+	void findActiveById_filtersInactiveSectors() {
+		assertTrue(sectorRegistry.findActiveById("SEC001").isPresent());
+		assertTrue(sectorRegistry.findActiveById("SEC002").isEmpty());
+	}
+
+	@Test
+	void findByNameOrCode_matchesEitherIgnoringCase() {
+		assertEquals(1, sectorRegistry.findByNameOrCode("finance", "XXX").size());
+		assertEquals(1, sectorRegistry.findByNameOrCode("Unknown", "ret").size());
+		assertEquals(1, sectorRegistry.findByNameOrCode("FINANCE", "fin").size());
+		assertEquals(2, sectorRegistry.findByNameOrCode("Finance", "RET").size());
+		assertTrue(sectorRegistry.findByNameOrCode("Unknown", "XXX").isEmpty());
+	}
+
+	@Test
+	void register_replacesPreviousNameAndCode() {
+		sectorRegistry.register(sector("SEC001", "Banking", "BNK", true));
+
+		assertEquals("Banking", sectorRegistry.findById("SEC001").get().getSectorName());
+		assertTrue(sectorRegistry.findByNameOrCode("Finance", "FIN").isEmpty());
+		assertEquals(1, sectorRegistry.findByNameOrCode("banking", "BNK").size());
+	}
+
+	@Test
+	void returnedSectorsAreCopies() {
+		sectorRegistry.findById("SEC001").get().setSectorName("Changed");
+		SectorDTO registered = sector("SEC004", "Energy", "ENG", true);
+		sectorRegistry.register(registered);
+		registered.setActive(false);
+
+		assertEquals("Finance", sectorRegistry.findById("SEC001").get().getSectorName());
+		assertTrue(sectorRegistry.findActiveById("SEC004").isPresent());
+	}
+
+	@Test
+	void reload_failureKeepsCurrentSnapshot() {
+		when(sectorRepository.findAllSectorList()).thenThrow(new RuntimeException("DB error"));
+
+		sectorRegistry.reload();
+
+		assertTrue(sectorRegistry.findById("SEC001").isPresent());
+		verify(sectorRepository, never()).findSectorDTOById(anyString());
+	}
+}
@@ -3,6 +3,9 @@ package sg.edu.nus.iss.edgp.org.management.strategy;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
+import java.util.List;
+import java.util.Set;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,11 +14,12 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 
+import sg.edu.nus.iss.edgp.org.management.authentication.AuthenticatedPrincipal;
+import sg.edu.nus.iss.edgp.org.management.dto.OrganizationBulkUpdateRequest;
 import sg.edu.nus.iss.edgp.org.management.dto.OrganizationRequest;
+import sg.edu.nus.iss.edgp.org.management.dto.SectorDTO;
 import sg.edu.nus.iss.edgp.org.management.dto.ValidationResult;
-import sg.edu.nus.iss.edgp.org.management.entity.Organization;
 import sg.edu.nus.iss.edgp.org.management.entity.Sector;
-import sg.edu.nus.iss.edgp.org.management.service.impl.JwtService;
 import sg.edu.nus.iss.edgp.org.management.service.impl.OrganizationService;
 import sg.edu.nus.iss.edgp.org.management.service.impl.SectorService;
 import sg.edu.nus.iss.edgp.org.management.strategy.impl.OrganizationValidationStrategy;
@@ -29,17 +33,12 @@ class OrganizationValidationStrategyTest {
 
     @Mock
     private SectorService sectorService;
-    
-    @Mock
-    private JwtService jwtService;
 
     @InjectMocks
     private OrganizationValidationStrategy validationStrategy;
 
     private OrganizationRequest validRequest;
     private final String validOrgId = "ORG123";
-    private final String jwtToken = "test.jwt.token";
-    private final String authorizationHeader = "Bearer " + jwtToken;
 
     @BeforeEach
     void setup() {
@@ -59,9 +58,7 @@ class OrganizationValidationStrategyTest {
 
     @Test
     void validateCreation_success() {
-        when(organizationService.findByOrganizationName("Acme Org")).thenReturn(null);
-        when(organizationService.findByUEN("UEN123456")).thenReturn(null);
-        when(sectorService.findBySectorIdAndIsActive("SEC123")).thenReturn(new Sector());
+        when(sectorService.findBySectorIdAndIsActive("SEC123")).thenReturn(new SectorDTO());
 
         ValidationResult result = validationStrategy.validateCreation(validRequest);
 
@@ -81,18 +78,18 @@ class OrganizationValidationStrategyTest {
 
     @Test
     void validateCreation_duplicateName_shouldReturnInvalid() {
-        when(organizationService.findByOrganizationName("Acme Org")).thenReturn(new Organization());
+        when(organizationService.existsByOrganizationName("Acme Org")).thenReturn(true);
 
         ValidationResult result = validationStrategy.validateCreation(validRequest);
 
         assertFalse(result.isValid());
         assertEquals("Duplicate organization name detected. Please enter a unique name.", result.getMessage());
+        verify(organizationService, never()).existsByUEN(any());
     }
 
     @Test
     void validateCreation_duplicateUEN_shouldReturnInvalid() {
-        when(organizationService.findByOrganizationName("Acme Org")).thenReturn(null);
-        when(organizationService.findByUEN("UEN123456")).thenReturn(new Organization());
+        when(organizationService.existsByUEN("UEN123456")).thenReturn(true);
 
         ValidationResult result = validationStrategy.validateCreation(validRequest);
 
@@ -102,8 +99,6 @@ class OrganizationValidationStrategyTest {
 
     @Test
     void validateCreation_invalidSector_shouldReturnInvalid() {
-        when(organizationService.findByOrganizationName("Acme Org")).thenReturn(null);
-        when(organizationService.findByUEN("UEN123456")).thenReturn(null);
         when(sectorService.findBySectorIdAndIsActive("SEC123")).thenReturn(null);
 
         ValidationResult result = validationStrategy.validateCreation(validRequest);
@@ -117,7 +112,7 @@ class OrganizationValidationStrategyTest {
         when(organizationService.findByOrganizationId("ORG001")).thenReturn(new OrganizationDTO() {{
             setOrganizationId("ORG001");
         }});
-        when(sectorService.findBySectorIdAndIsActive("SEC123")).thenReturn(new Sector());
+        when(sectorService.findBySectorIdAndIsActive("SEC123")).thenReturn(new SectorDTO());
 
         ValidationResult result = validationStrategy.validateUpdating(validRequest);
 
@@ -160,24 +155,21 @@ class OrganizationValidationStrategyTest {
     
     @Test
     void validateObject_shouldReturnErrorWhenOrgIdIsBlank() {
-        ValidationResult result = validationStrategy.validateObject("  ", authorizationHeader);
+        ValidationResult result = validationStrategy.validateObject("  ", principal("manage:org", validOrgId));
         assertFalse(result.isValid());
         assertEquals("Bad Request: Organization id cannot be blank.", result.getMessage());
     }
 
     @Test
-    void validateObject_shouldReturnErrorWhenAuthorizationHeaderIsInvalid() {
-        ValidationResult result = validationStrategy.validateObject(validOrgId, "InvalidHeader");
+    void validateObject_shouldReturnErrorWhenPrincipalIsMissing() {
+        ValidationResult result = validationStrategy.validateObject(validOrgId, null);
         assertFalse(result.isValid());
         assertEquals("Invalid Authorization header.", result.getMessage());
     }
 
     @Test
     void validateObject_shouldReturnErrorWhenScopeIsViewAndOrgIdDoesNotMatch() {
-        when(jwtService.extractScopeFromToken(jwtToken)).thenReturn("view:org");
-        when(jwtService.extractOrgIdFromToken(jwtToken)).thenReturn("OTHER_ORG");
-
-        ValidationResult result = validationStrategy.validateObject(validOrgId, authorizationHeader);
+        ValidationResult result = validationStrategy.validateObject(validOrgId, principal("view:org", "OTHER_ORG"));
 
         assertFalse(result.isValid());
         assertEquals("Access Denied. Not authorized to view this organization.", result.getMessage());
@@ -185,21 +177,76 @@ class OrganizationValidationStrategyTest {
 
     @Test
     void validateObject_shouldReturnValidWhenScopeIsViewAndOrgIdMatches() {
-        when(jwtService.extractScopeFromToken(jwtToken)).thenReturn("view:org");
-        when(jwtService.extractOrgIdFromToken(jwtToken)).thenReturn(validOrgId);
-
-        ValidationResult result = validationStrategy.validateObject(validOrgId, authorizationHeader);
+        ValidationResult result = validationStrategy.validateObject(validOrgId, principal("view:org", validOrgId));
 
         assertTrue(result.isValid());
     }
 
     @Test
     void validateObject_shouldReturnValidWhenScopeIsManage() {
-        when(jwtService.extractScopeFromToken(jwtToken)).thenReturn("manage");
-
-        ValidationResult result = validationStrategy.validateObject(validOrgId, authorizationHeader);
+        ValidationResult result = validationStrategy.validateObject(validOrgId, principal("manage", null));
 
         assertTrue(result.isValid());
     }
-}
 
+    @Test
+    void validateObject_shouldReturnErrorWhenScopeIsMissing() {
+        AuthenticatedPrincipal principal = AuthenticatedPrincipal.builder().userId("user-1").build();
+
+        ValidationResult result = validationStrategy.validateObject(validOrgId, principal);
+
+        assertFalse(result.isValid());
+        assertEquals("Access Denied. Not authorized to view this organization.", result.getMessage());
+    }
+
+    @Test
+    void validateBulkUpdate_byIds_success() {
+        OrganizationBulkUpdateRequest bulkRequest = new OrganizationBulkUpdateRequest();
+        bulkRequest.setOrganizationIds(List.of("ORG001", "ORG002"));
+        bulkRequest.setSectorId("SEC123");
+        when(sectorService.findBySectorIdAndIsActive("SEC123")).thenReturn(new SectorDTO());
+
+        assertTrue(validationStrategy.validateBulkUpdate(bulkRequest).isValid());
+    }
+
+    @Test
+    void validateBulkUpdate_idsAndFilterTogether_shouldFail() {
+        OrganizationBulkUpdateRequest bulkRequest = new OrganizationBulkUpdateRequest();
+        bulkRequest.setOrganizationIds(List.of("ORG001"));
+        bulkRequest.setCurrentSectorId("SEC001");
+        bulkRequest.setActive(false);
+
+        ValidationResult result = validationStrategy.validateBulkUpdate(bulkRequest);
+
+        assertFalse(result.isValid());
+        assertEquals("Bad Request: Provide either organization IDs or a current sector ID.", result.getMessage());
+    }
+
+    @Test
+    void validateBulkUpdate_nothingToUpdate_shouldFail() {
+        OrganizationBulkUpdateRequest bulkRequest = new OrganizationBulkUpdateRequest();
+        bulkRequest.setCurrentSectorId("SEC001");
+
+        ValidationResult result = validationStrategy.validateBulkUpdate(bulkRequest);
+
+        assertFalse(result.isValid());
+        assertEquals(HttpStatus.BAD_REQUEST, result.getStatus());
+    }
+
+    @Test
+    void validateBulkUpdate_inactiveTargetSector_shouldFail() {
+        OrganizationBulkUpdateRequest bulkRequest = new OrganizationBulkUpdateRequest();
+        bulkRequest.setCurrentSectorId("SEC001");
+        bulkRequest.setSectorId("SEC999");
+        when(sectorService.findBySectorIdAndIsActive("SEC999")).thenReturn(null);
+
+        ValidationResult result = validationStrategy.validateBulkUpdate(bulkRequest);
+
+        assertFalse(result.isValid());
+        assertEquals("Active Sector not found with this sector name", result.getMessage());
+    }
+
+    private AuthenticatedPrincipal principal(String scope, String orgId) {
+        return AuthenticatedPrincipal.builder().userId("user-1").orgId(orgId).scopes(Set.of(scope)).build();
+    }
+}
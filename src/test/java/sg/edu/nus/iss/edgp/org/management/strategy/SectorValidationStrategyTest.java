@@ -14,10 +14,10 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 
+import sg.edu.nus.iss.edgp.org.management.dto.SectorBulkUpdateRequest;
 import sg.edu.nus.iss.edgp.org.management.dto.SectorDTO;
 import sg.edu.nus.iss.edgp.org.management.dto.SectorRequest;
 import sg.edu.nus.iss.edgp.org.management.dto.ValidationResult;
-import sg.edu.nus.iss.edgp.org.management.entity.Sector;
 import sg.edu.nus.iss.edgp.org.management.service.impl.SectorService;
 import sg.edu.nus.iss.edgp.org.management.strategy.impl.SectorValidationStrategy;
 
@@ -74,7 +74,7 @@ class SectorValidationStrategyTest {
 
 	@Test
 	void validateCreation_duplicateSector_shouldReturnInvalidResult() {
-		when(sectorService.findBySectorNameAndCode("Finance", "FIN")).thenReturn(List.of(new Sector()));
+		when(sectorService.findBySectorNameAndCode("Finance", "FIN")).thenReturn(List.of(new SectorDTO()));
 
 		ValidationResult result = validationStrategy.validateCreation(validRequest);
 
@@ -116,4 +116,36 @@ class SectorValidationStrategyTest {
 		assertEquals("Invalid sector ID.", result.getMessage());
 		assertEquals(HttpStatus.BAD_REQUEST, result.getStatus());
 	}
+
+	@Test
+	void validateBulkUpdate_success() {
+		SectorBulkUpdateRequest bulkRequest = new SectorBulkUpdateRequest();
+		bulkRequest.setSectorIds(List.of("SEC001", "SEC002"));
+		bulkRequest.setActive(false);
+
+		assertTrue(validationStrategy.validateBulkUpdate(bulkRequest).isValid());
+	}
+
+	@Test
+	void validateBulkUpdate_emptyIds_shouldReturnInvalidResult() {
+		SectorBulkUpdateRequest bulkRequest = new SectorBulkUpdateRequest();
+		bulkRequest.setSectorIds(Collections.emptyList());
+		bulkRequest.setActive(false);
+
+		ValidationResult result = validationStrategy.validateBulkUpdate(bulkRequest);
+
+		assertFalse(result.isValid());
+		assertEquals("Bad Request: Sector IDs could not be empty.", result.getMessage());
+	}
+
+	@Test
+	void validateBulkUpdate_missingActiveFlag_shouldReturnInvalidResult() {
+		SectorBulkUpdateRequest bulkRequest = new SectorBulkUpdateRequest();
+		bulkRequest.setSectorIds(List.of("SEC001"));
+
+		ValidationResult result = validationStrategy.validateBulkUpdate(bulkRequest);
+
+		assertFalse(result.isValid());
+		assertEquals(HttpStatus.BAD_REQUEST, result.getStatus());
+	}
 }
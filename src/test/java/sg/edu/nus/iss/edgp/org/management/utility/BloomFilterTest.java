@@ -0,0 +1,82 @@
+package sg.edu.nus.iss.edgp.org.management.utility;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+
+	@Test
+	void testMightContain_neverMissesAddedValues() {
+		BloomFilter filter = new BloomFilter(10_000, 0.01);
+		for (int i = 0; i < 10_000; i++) {
+			filter.put("UEN" + i);
+		}
+
+		for (int i = 0; i < 10_000; i++) {
+			assertTrue(filter.mightContain("UEN" + i));
+		}
+		assertEquals(10_000, filter.getEntryCount());
+	}
+
+	@Test
+	void testMightContain_falsePositiveRateNearTarget() {
+		BloomFilter filter = new BloomFilter(50_000, 0.01);
+		for (int i = 0; i < 50_000; i++) {
+			filter.put("Organization " + i);
+		}
+
+		int falsePositives = 0;
+		int probes = 100_000;
+		for (int i = 0; i < probes; i++) {
+			if (filter.mightContain("Other " + i)) {
+				falsePositives++;
+			}
+		}
+		double observed = (double) falsePositives / probes;
+		assertTrue(observed < 0.02, "observed false-positive rate " + observed);
+		assertEquals(0.01, filter.getExpectedFalsePositiveRate(), 0.005);
+	}
+
+	@Test
+	void testEmptyFilter_containsNothing() {
+		BloomFilter filter = new BloomFilter(100, 0.01);
+
+		assertFalse(filter.mightContain("Acme"));
+		assertEquals(0.0, filter.getExpectedFalsePositiveRate());
+		assertEquals(filter.getBitSize() / 8, filter.getSizeInBytes());
+		assertTrue(filter.getHashCount() >= 1);
+	}
+
+	@Test
+	void testPut_concurrentWritersLoseNoBits() throws Exception {
+		BloomFilter filter = new BloomFilter(40_000, 0.01);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		for (int t = 0; t < 4; t++) {
+			int thread = t;
+			executor.submit(() -> {
+				for (int i = 0; i < 10_000; i++) {
+					filter.put(thread + ":" + i);
+				}
+			});
+		}
+		executor.shutdown();
+		assertTrue(executor.awaitTermination(30, TimeUnit.SECONDS));
+
+		for (int t = 0; t < 4; t++) {
+			for (int i = 0; i < 10_000; i++) {
+				assertTrue(filter.mightContain(t + ":" + i));
+			}
+		}
+	}
+
+	@Test
+	void testConstructor_rejectsInvalidSizing() {
+		assertThrows(IllegalArgumentException.class, () -> new BloomFilter(0, 0.01));
+		assertThrows(IllegalArgumentException.class, () -> new BloomFilter(100, 1.0));
+	}
+}
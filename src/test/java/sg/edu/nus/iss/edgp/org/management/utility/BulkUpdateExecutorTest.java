@@ -0,0 +1,97 @@
+package sg.edu.nus.iss.edgp.org.management.utility;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import sg.edu.nus.iss.edgp.org.management.dto.BulkUpdateBatchResult;
+import sg.edu.nus.iss.edgp.org.management.dto.BulkUpdateReport;
+
+class BulkUpdateExecutorTest {
+
+	@Test
+	void testExecute_splitsIdsIntoBatches() {
+		List<List<String>> updates = new ArrayList<>();
+		List<BulkUpdateBatchResult> reported = new ArrayList<>();
+
+		BulkUpdateReport report = BulkUpdateExecutor.execute(List.of("a", "b", "c", "d", "e"), 2, batch -> {
+			updates.add(List.copyOf(batch));
+			return batch.contains("e") ? 0 : batch.size();
+		}, reported::add);
+
+		assertEquals(List.of(List.of("a", "b"), List.of("c", "d"), List.of("e")), updates);
+		assertEquals(5, report.getMatchedRecords());
+		assertEquals(4, report.getUpdatedRecords());
+		assertEquals(3, report.getBatches().size());
+		assertEquals(reported, report.getBatches());
+		assertEquals(3, reported.get(2).getBatchNumber());
+		assertEquals(1, reported.get(2).getMatchedRecords());
+		assertEquals(0, reported.get(2).getUpdatedRecords());
+	}
+
+	@Test
+	void testExecute_noIds() {
+		BulkUpdateReport report = BulkUpdateExecutor.execute(List.of(), 10, batch -> fail("no batch expected"),
+				batch -> fail("no batch expected"));
+
+		assertEquals(0, report.getMatchedRecords());
+		assertTrue(report.getBatches().isEmpty());
+	}
+
+	@Test
+	void testExecute_failureReportsEarlierBatchesAndStops() {
+		List<BulkUpdateBatchResult> reported = new ArrayList<>();
+		List<List<String>> updates = new ArrayList<>();
+
+		BulkUpdateReport report = BulkUpdateExecutor.execute(List.of("a", "b", "c"), 1, batch -> {
+			updates.add(List.copyOf(batch));
+			if (batch.contains("b")) {
+				throw new IllegalStateException("DB error");
+			}
+			return 1;
+		}, reported::add);
+
+		assertEquals(2, updates.size());
+		assertEquals(1, reported.size());
+		assertTrue(report.isFailed());
+		assertFalse(report.isConflict());
+		assertEquals(2, report.getFailedBatchNumber());
+		assertEquals(reported, report.getBatches());
+		assertEquals(3, report.getMatchedRecords());
+		assertEquals(1, report.getUpdatedRecords());
+		assertEquals("Batch 2 could not be applied and was rolled back; later batches were not attempted.",
+				report.getErrorMessage());
+	}
+
+	@Test
+	void testExecute_constraintViolationIsAConflict() {
+		BulkUpdateReport report = BulkUpdateExecutor.execute(List.of("a"), 1, batch -> {
+			throw new DataIntegrityViolationException("fk_organization_sector");
+		}, batch -> {
+		});
+
+		assertTrue(report.isConflict());
+		assertEquals(1, report.getFailedBatchNumber());
+		assertTrue(report.getBatches().isEmpty());
+	}
+
+	@Test
+	void testExecute_successHasNoFailure() {
+		BulkUpdateReport report = BulkUpdateExecutor.execute(List.of("a"), 1, batch -> 1, batch -> {
+		});
+
+		assertFalse(report.isFailed());
+		assertNull(report.getErrorMessage());
+	}
+
+	@Test
+	void testExecute_rejectsInvalidBatchSize() {
+		assertThrows(IllegalArgumentException.class,
+				() -> BulkUpdateExecutor.execute(List.of("a"), 0, batch -> 1, batch -> {
+				}));
+	}
+}
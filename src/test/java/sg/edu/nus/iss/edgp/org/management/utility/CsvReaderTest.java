@@ -0,0 +1,56 @@
+package sg.edu.nus.iss.edgp.org.management.utility;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class CsvReaderTest {
+
+	@Test
+	void testReadRecord_plainFields() throws Exception {
+		try (CsvReader reader = new CsvReader(new StringReader("name,uen\nAcme,UEN1\n"))) {
+			assertEquals(List.of("name", "uen"), reader.readRecord());
+			assertEquals(List.of("Acme", "UEN1"), reader.readRecord());
+			assertNull(reader.readRecord());
+		}
+	}
+
+	@Test
+	void testReadRecord_quotedFieldsWithCommasQuotesAndLineBreaks() throws Exception {
+		String csv = "\"Acme, Pte Ltd\",\"say \"\"hi\"\"\",\"line1\r\nline2\"\r\nlast,,\r\n";
+		try (CsvReader reader = new CsvReader(new StringReader(csv))) {
+			assertEquals(List.of("Acme, Pte Ltd", "say \"hi\"", "line1\r\nline2"), reader.readRecord());
+			assertEquals(List.of("last", "", ""), reader.readRecord());
+			assertNull(reader.readRecord());
+		}
+	}
+
+	@Test
+	void testReadRecord_lastLineWithoutLineBreak() throws Exception {
+		try (CsvReader reader = new CsvReader(new StringReader("a,b\nc,d"))) {
+			reader.readRecord();
+			assertEquals(List.of("c", "d"), reader.readRecord());
+			assertNull(reader.readRecord());
+		}
+	}
+
+	@Test
+	void testReadRecord_skipsByteOrderMarkAndKeepsEmptyLines() throws Exception {
+		try (CsvReader reader = new CsvReader(new StringReader("\uFEFFname\n\nAcme\n"))) {
+			assertEquals(List.of("name"), reader.readRecord());
+			assertEquals(List.of(""), reader.readRecord());
+			assertEquals(List.of("Acme"), reader.readRecord());
+		}
+	}
+
+	@Test
+	void testReadRecord_unterminatedQuoteFails() {
+		CsvReader reader = new CsvReader(new StringReader("\"Acme\n"));
+
+		assertThrows(IOException.class, reader::readRecord);
+	}
+}
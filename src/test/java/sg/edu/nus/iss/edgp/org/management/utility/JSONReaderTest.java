@@ -3,100 +3,221 @@ package sg.edu.nus.iss.edgp.org.management.utility;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
-import org.json.simple.JSONObject;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import sg.edu.nus.iss.edgp.org.management.connector.AdminAPICall;
+import sg.edu.nus.iss.edgp.org.management.connector.UserProfileCache;
+import sg.edu.nus.iss.edgp.org.management.exception.AdminServiceUnavailableException;
 import sg.edu.nus.iss.edgp.org.management.pojo.User;
+import sg.edu.nus.iss.edgp.org.management.pojo.UserProfileResponse;
 
 class JSONReaderTest {
 
 	@Mock
 	private AdminAPICall apiCall;
 
-	@InjectMocks
 	private JSONReader jsonReader;
 
 	@BeforeEach
 	void setUp() {
 		MockitoAnnotations.openMocks(this);
+		jsonReader = new JSONReader(apiCall, new UserProfileCache(60, 15, 100, new SimpleMeterRegistry()));
+	}
+
+	private static UserProfileResponse profile(Boolean success, String message) {
+		return profile(success, message, 200);
+	}
+
+	private static UserProfileResponse profile(Boolean success, String message, int statusCode) {
+		UserProfileResponse profile = new UserProfileResponse();
+		profile.setSuccess(success);
+		profile.setMessage(message);
+		profile.setStatusCode(statusCode);
+		return profile;
 	}
 
 	@Test
-	void testGetActiveUserInfo_validJson() {
+	void testGetActiveUserInfo_validResponse() {
 		String userId = "123";
 		String authHeader = "Bearer token";
-		String validJson = "{\"success\":true,\"message\":\"User found\",\"data\":{\"username\":\"john\",\"email\":\"john@example.com\",\"role\":\"ADMIN\",\"userID\":\"123\"}}";
 
-		when(apiCall.validateActiveUser(userId, authHeader)).thenReturn(validJson);
+		when(apiCall.validateActiveUser(userId, authHeader)).thenReturn(profile(true, "User found"));
 
-		JSONObject result = jsonReader.getActiveUserInfo(userId, authHeader);
+		UserProfileResponse result = jsonReader.getActiveUserInfo(userId, authHeader);
 
 		assertNotNull(result);
-		assertTrue((Boolean) result.get("success"));
-		assertEquals("User found", result.get("message"));
+		assertTrue(result.getSuccess());
+		assertEquals("User found", result.getMessage());
 	}
 
 	@Test
-	void testGetActiveUserInfo_invalidJson() {
+	void testGetActiveUserInfo_unreadableResponse() {
 		String userId = "123";
 		String authHeader = "Bearer token";
-		String invalidJson = "invalid-json";
 
-		when(apiCall.validateActiveUser(userId, authHeader)).thenReturn(invalidJson);
+		when(apiCall.validateActiveUser(userId, authHeader)).thenReturn(null);
 
-		JSONObject result = jsonReader.getActiveUserInfo(userId, authHeader);
+		UserProfileResponse result = jsonReader.getActiveUserInfo(userId, authHeader);
 
 		assertNotNull(result);
-		assertTrue(result.isEmpty());
+		assertNull(result.getSuccess());
 	}
 
 	@Test
-	void testGetMessageFromResponse() {
-		JSONObject response = new JSONObject();
-		response.put("message", "Operation successful");
+	void testGetActiveUserInfo_cachesActiveUser() {
+		when(apiCall.validateActiveUser("123", "Bearer token")).thenReturn(profile(true, "User found"));
+
+		jsonReader.getActiveUserInfo("123", "Bearer token");
+		UserProfileResponse result = jsonReader.getActiveUserInfo("123", "Bearer other");
+
+		assertTrue(result.getSuccess());
+		verify(apiCall, times(1)).validateActiveUser(anyString(), anyString());
+	}
+
+	@Test
+	void testGetActiveUserInfo_cachesInactiveUser() {
+		when(apiCall.validateActiveUser("123", "Bearer token")).thenReturn(profile(false, "User is inactive"));
+
+		jsonReader.getActiveUserInfo("123", "Bearer token");
+		UserProfileResponse result = jsonReader.getActiveUserInfo("123", "Bearer token");
 
-		String message = jsonReader.getMessageFromResponse(response);
+		assertEquals("User is inactive", result.getMessage());
+		verify(apiCall, times(1)).validateActiveUser("123", "Bearer token");
+	}
+
+	@Test
+	void testGetActiveUserInfo_cachesUnknownUser() {
+		when(apiCall.validateActiveUser("123", "Bearer token")).thenReturn(profile(false, "User not found", 404));
+
+		jsonReader.getActiveUserInfo("123", "Bearer token");
+		jsonReader.getActiveUserInfo("123", "Bearer token");
+
+		verify(apiCall, times(1)).validateActiveUser("123", "Bearer token");
+	}
+
+	@Test
+	void testGetActiveUserInfo_doesNotCacheAuthFailures() {
+		when(apiCall.validateActiveUser("123", "Bearer expired")).thenReturn(profile(false, "Unauthorized", 401));
+		when(apiCall.validateActiveUser("123", "Bearer other")).thenReturn(profile(false, "Forbidden", 403));
+		when(apiCall.validateActiveUser("123", "Bearer token")).thenReturn(profile(true, "User found"));
+
+		assertEquals("Unauthorized", jsonReader.getActiveUserInfo("123", "Bearer expired").getMessage());
+		assertEquals("Forbidden", jsonReader.getActiveUserInfo("123", "Bearer other").getMessage());
+		UserProfileResponse result = jsonReader.getActiveUserInfo("123", "Bearer token");
+
+		assertTrue(result.getSuccess());
+		verify(apiCall).validateActiveUser("123", "Bearer token");
+	}
+
+	@Test
+	void testGetActiveUserInfo_doesNotCacheUnreadableResponse() {
+		when(apiCall.validateActiveUser("123", "Bearer token")).thenReturn(null);
+
+		jsonReader.getActiveUserInfo("123", "Bearer token");
+		jsonReader.getActiveUserInfo("123", "Bearer token");
+
+		verify(apiCall, times(2)).validateActiveUser("123", "Bearer token");
+	}
+
+	@Test
+	void testGetActiveUserInfo_doesNotCacheResponseWithoutSuccessFlag() {
+		when(apiCall.validateActiveUser("123", "Bearer token")).thenReturn(profile(null, "Unexpected"));
+
+		UserProfileResponse result = jsonReader.getActiveUserInfo("123", "Bearer token");
+		jsonReader.getActiveUserInfo("123", "Bearer token");
+
+		assertNull(result.getSuccess());
+		verify(apiCall, times(2)).validateActiveUser("123", "Bearer token");
+	}
+
+	@Test
+	void testGetActiveUserInfo_doesNotCacheUnavailableAdminService() {
+		when(apiCall.validateActiveUser("123", "Bearer token"))
+				.thenThrow(new AdminServiceUnavailableException("Admin service is unavailable, please retry later."))
+				.thenReturn(profile(true, "User found"));
+
+		assertThrows(AdminServiceUnavailableException.class,
+				() -> jsonReader.getActiveUserInfo("123", "Bearer token"));
+		UserProfileResponse result = jsonReader.getActiveUserInfo("123", "Bearer token");
+
+		assertTrue(result.getSuccess());
+		verify(apiCall, times(2)).validateActiveUser("123", "Bearer token");
+	}
+
+	@Test
+	void testGetActiveUserInfo_concurrentLookupsShareOneCall() throws Exception {
+		CountDownLatch release = new CountDownLatch(1);
+		when(apiCall.validateActiveUser("123", "Bearer token")).thenAnswer(invocation -> {
+			release.await();
+			return profile(true, "User found");
+		});
+
+		ExecutorService executor = Executors.newFixedThreadPool(8);
+		try {
+			List<Future<UserProfileResponse>> results = new ArrayList<>();
+			for (int i = 0; i < 8; i++) {
+				results.add(executor.submit(() -> jsonReader.getActiveUserInfo("123", "Bearer token")));
+			}
+			Thread.sleep(100);
+			release.countDown();
+			for (Future<UserProfileResponse> result : results) {
+				assertEquals("User found", result.get().getMessage());
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		verify(apiCall, times(1)).validateActiveUser("123", "Bearer token");
+	}
+
+	@Test
+	void testGetMessageFromResponse() {
+		String message = jsonReader.getMessageFromResponse(profile(true, "Operation successful"));
 
 		assertEquals("Operation successful", message);
 	}
 
 	@Test
 	void testGetSuccessFromResponse() {
-		JSONObject response = new JSONObject();
-		response.put("success", true);
-
-		Boolean success = jsonReader.getSuccessFromResponse(response);
+		Boolean success = jsonReader.getSuccessFromResponse(profile(true, "Operation successful"));
 
 		assertTrue(success);
 	}
 
 	@Test
 	void testGetUserObject() {
-		JSONObject data = new JSONObject();
-		data.put("username", "alice");
-		data.put("email", "alice@example.com");
-		data.put("role", "USER");
-		data.put("userID", "456");
+		User data = new User();
+		data.setUsername("alice");
+		data.setEmail("alice@example.com");
+		data.setRole("USER");
+		data.setUserId(null);
 
-		JSONObject fullResponse = new JSONObject();
-		fullResponse.put("data", data);
+		UserProfileResponse fullResponse = profile(true, "User found");
+		fullResponse.setData(data);
 
 		User user = jsonReader.getUserObject(fullResponse);
 
 		assertEquals("alice", user.getUsername());
 		assertEquals("alice@example.com", user.getEmail());
 		assertEquals("USER", user.getRole());
-		assertEquals("456", user.getUserId());
+		assertEquals("", user.getUserId());
 	}
 
 	@Test
-	void testGetDataFromResponse_nullOrEmpty() {
-		assertNull(jsonReader.getDataFromResponse(null));
+	void testGetUserObject_withoutData() {
+		User user = jsonReader.getUserObject(profile(false, "User is inactive"));
 
-		JSONObject empty = new JSONObject();
-		assertNull(jsonReader.getDataFromResponse(empty));
+		assertNotNull(user);
+		assertEquals("", user.getEmail());
 	}
 }
@@ -0,0 +1,124 @@
+package sg.edu.nus.iss.edgp.org.management.utility;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+class JsonStreamWriterTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	record Row(String id, String name) {
+	}
+
+	@Test
+	void testWrite_jsonArray() throws Exception {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		try (JsonStreamWriter writer = new JsonStreamWriter(objectMapper, output, false)) {
+			writer.write(new Row("org-1", "Alpha"));
+			writer.write(new Row("org-2", "Beta \"B\""));
+			writer.finish();
+		}
+
+		JsonNode array = objectMapper.readTree(output.toByteArray());
+		assertTrue(array.isArray());
+		assertEquals(2, array.size());
+		assertEquals("Beta \"B\"", array.get(1).get("name").asText());
+	}
+
+	@Test
+	void testWrite_emptyJsonArray() throws Exception {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		try (JsonStreamWriter writer = new JsonStreamWriter(objectMapper, output, false)) {
+			writer.finish();
+		}
+
+		assertEquals("[]", output.toString(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void testWrite_ndjson() throws Exception {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		try (JsonStreamWriter writer = new JsonStreamWriter(objectMapper, output, true)) {
+			writer.write(new Row("org-1", "Alpha"));
+			writer.write(new Row("org-2", "line\nbreak"));
+			writer.finish();
+		}
+
+		String[] lines = output.toString(StandardCharsets.UTF_8).split("\n");
+		assertEquals(2, lines.length);
+		assertEquals("org-1", objectMapper.readTree(lines[0]).get("id").asText());
+		assertEquals("line\nbreak", objectMapper.readTree(lines[1]).get("name").asText());
+	}
+
+	@Test
+	void testClose_withoutFinishLeavesArrayOpen() throws Exception {
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		try (JsonStreamWriter writer = new JsonStreamWriter(objectMapper, output, false)) {
+			writer.write(new Row("org-1", "Alpha"));
+		}
+
+		assertFalse(output.toString(StandardCharsets.UTF_8).endsWith("]"));
+	}
+
+	@Test
+	void testClose_doesNotCloseTarget() throws Exception {
+		CountingOutputStream output = new CountingOutputStream();
+		try (JsonStreamWriter writer = new JsonStreamWriter(objectMapper, output, true)) {
+			writer.finish();
+		}
+
+		assertFalse(output.closed);
+	}
+
+	@Test
+	void testWrite_millionRowsWithoutBufferingTheBody() throws Exception {
+		int rows = 1_000_000;
+		CountingOutputStream output = new CountingOutputStream();
+		try (JsonStreamWriter writer = new JsonStreamWriter(objectMapper, output, true)) {
+			IntStream.range(0, rows).mapToObj(i -> new Row("org-" + i, "Organization " + i)).forEach(writer::write);
+			writer.finish();
+		}
+
+		assertEquals(rows, output.newlines);
+		assertTrue(output.writes > 1);
+	}
+
+	private static class CountingOutputStream extends OutputStream {
+
+		private long newlines;
+		private long writes;
+		private boolean closed;
+
+		@Override
+		public void write(int b) {
+			writes++;
+			if (b == '\n') {
+				newlines++;
+			}
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			writes++;
+			for (int i = off; i < off + len; i++) {
+				if (b[i] == '\n') {
+					newlines++;
+				}
+			}
+		}
+
+		@Override
+		public void close() {
+			closed = true;
+		}
+	}
+}
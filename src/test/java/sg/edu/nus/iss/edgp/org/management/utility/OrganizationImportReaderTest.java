@@ -0,0 +1,104 @@
+package sg.edu.nus.iss.edgp.org.management.utility;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import sg.edu.nus.iss.edgp.org.management.utility.OrganizationImportReader.Row;
+
+class OrganizationImportReaderTest {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	private static InputStream input(String content) {
+		return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Test
+	void testJson_readsEachElementAsARow() throws Exception {
+		String json = "[{\"organizationName\":\"Acme\",\"uniqueEntityNumber\":\"UEN1\",\"sector\":{\"sectorId\":\"s1\"}},"
+				+ "{\"organizationName\":\"Beta\",\"organizationSize\":20}]";
+		try (OrganizationImportReader reader = OrganizationImportReader.json(objectMapper, input(json))) {
+			Row first = reader.next();
+			assertEquals(1, first.rowNumber());
+			assertEquals("Acme", first.request().getOrganizationName());
+			assertEquals("s1", first.request().getSector().getSectorId());
+			assertNull(first.error());
+
+			Row second = reader.next();
+			assertEquals(2, second.rowNumber());
+			assertEquals(20, second.request().getOrganizationSize());
+			assertFalse(reader.hasNext());
+		}
+	}
+
+	@Test
+	void testJson_unmappableElementBecomesRowError() throws Exception {
+		String json = "[{\"organizationName\":\"Acme\",\"organizationSize\":\"large\"},{\"organizationName\":\"Beta\"}]";
+		try (OrganizationImportReader reader = OrganizationImportReader.json(objectMapper, input(json))) {
+			Row first = reader.next();
+			assertNull(first.request());
+			assertTrue(first.error().startsWith("Invalid organization"));
+
+			assertEquals("Beta", reader.next().request().getOrganizationName());
+		}
+	}
+
+	@Test
+	void testJson_notAnArrayFails() {
+		assertThrows(IllegalArgumentException.class,
+				() -> OrganizationImportReader.json(objectMapper, input("{\"organizationName\":\"Acme\"}")));
+	}
+
+	@Test
+	void testJson_truncatedInputFailsAfterLastCompleteRow() throws Exception {
+		try (OrganizationImportReader reader = OrganizationImportReader.json(objectMapper,
+				input("[{\"organizationName\":\"Acme\"},{\"organizationName\":"))) {
+			reader.next();
+
+			IllegalArgumentException ex = assertThrows(IllegalArgumentException.class, reader::hasNext);
+			assertTrue(ex.getMessage().startsWith("Malformed import file after row 1"));
+		}
+	}
+
+	@Test
+	void testCsv_mapsColumnsByHeaderIgnoringCase() throws Exception {
+		String csv = "SectorId,ORGANIZATIONNAME,uniqueEntityNumber,organizationSize\n"
+				+ "s1,\"Acme, Pte Ltd\",UEN1,50\n\n" + "s2,Beta,,\n";
+		try (OrganizationImportReader reader = OrganizationImportReader.csv(input(csv))) {
+			Row first = reader.next();
+			assertEquals("Acme, Pte Ltd", first.request().getOrganizationName());
+			assertEquals("UEN1", first.request().getUniqueEntityNumber());
+			assertEquals("s1", first.request().getSector().getSectorId());
+			assertEquals(50, first.request().getOrganizationSize());
+
+			Row second = reader.next();
+			assertEquals(2, second.rowNumber());
+			assertNull(second.request().getUniqueEntityNumber());
+			assertEquals(0, second.request().getOrganizationSize());
+			assertFalse(reader.hasNext());
+		}
+	}
+
+	@Test
+	void testCsv_invalidOrganizationSizeBecomesRowError() throws Exception {
+		try (OrganizationImportReader reader = OrganizationImportReader
+				.csv(input("organizationName,organizationSize\nAcme,many\n"))) {
+			Row row = reader.next();
+			assertEquals("Acme", row.request().getOrganizationName());
+			assertEquals("Invalid organizationSize: many", row.error());
+		}
+	}
+
+	@Test
+	void testCsv_headerWithoutOrganizationNameFails() {
+		assertThrows(IllegalArgumentException.class, () -> OrganizationImportReader.csv(input("name,uen\nAcme,UEN1\n")));
+		assertThrows(IllegalArgumentException.class, () -> OrganizationImportReader.csv(input("")));
+	}
+}